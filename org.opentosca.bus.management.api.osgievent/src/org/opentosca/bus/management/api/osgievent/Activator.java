@@ -4,6 +4,7 @@ import org.apache.camel.core.osgi.OsgiDefaultCamelContext;
 import org.apache.camel.core.osgi.OsgiServiceRegistry;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.opentosca.bus.management.api.osgievent.route.Route;
+import org.opentosca.container.core.common.Settings;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
@@ -30,6 +31,9 @@ public class Activator implements BundleActivator {
 
     public static String apiID;
 
+    public static final PlanInvocationRegistry planInvocationRegistry =
+        new PlanInvocationRegistry(Integer.parseInt(Settings.OPENTOSCA_BUS_MANAGEMENT_PLAN_CONCURRENCY));
+
     final private static Logger LOG = LoggerFactory.getLogger(Activator.class);
 
 
@@ -13,18 +13,16 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.xml.bind.JAXBException;
 import javax.xml.namespace.QName;
 
-import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.spi.Synchronization;
 import org.glassfish.jersey.uri.UriComponent;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.container.core.common.Settings;
@@ -81,11 +79,9 @@ public class MBEventHandler implements EventHandler {
 
     private static Logger LOG = LoggerFactory.getLogger(MBEventHandler.class);
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(5);
-
     private EventAdmin eventAdmin;
 
-    private ConsumerTemplate invokePlan(final String operationName, final String messageID, final boolean async,
+    private CompletableFuture<Object> invokePlan(final String operationName, final String messageID, final boolean async,
                                         final Long serviceInstanceID, final QName serviceTemplateID,
                                         final Object message, final CSARID csarID, final QName planID,
                                         final String planLanguage) {
@@ -117,19 +113,63 @@ public class MBEventHandler implements EventHandler {
             MBEventHandler.LOG.warn("Invocation body is of type: {}", message.getClass());
         }
 
-        // templates to communicate with the Management Bus
-        final ProducerTemplate template = Activator.camelContext.createProducerTemplate();
-        final ConsumerTemplate consumer = Activator.camelContext.createConsumerTemplate();
-
         MBEventHandler.LOG.debug("Correlation id: {}", messageID);
         MBEventHandler.LOG.debug("Sending message {}", message);
 
-        // forward request to the Management Bus
-        final Exchange requestExchange = new DefaultExchange(Activator.camelContext);
-        requestExchange.getIn().setBody(message);
-        requestExchange.getIn().setHeaders(headers);
-        template.asyncSend("direct:invoke", requestExchange);
-        return consumer;
+        // the request is forwarded as soon as the concurrency limit allows it, the response
+        // completes the returned future
+        final CompletableFuture<Object> response = Activator.planInvocationRegistry.submit(messageID, () -> {
+
+            // template to communicate with the Management Bus
+            final ProducerTemplate template = Activator.camelContext.createProducerTemplate();
+
+            // forward request to the Management Bus
+            final Exchange requestExchange = new DefaultExchange(Activator.camelContext);
+            requestExchange.getIn().setBody(message);
+            requestExchange.getIn().setHeaders(headers);
+            template.asyncCallback("direct:invoke", requestExchange, new Synchronization() {
+
+                @Override
+                public void onComplete(final Exchange exchange) {
+                    // the response is sent back separately by the Management Bus
+                }
+
+                @Override
+                public void onFailure(final Exchange exchange) {
+                    Activator.planInvocationRegistry.fail(messageID, exchange.getException());
+                }
+            });
+        });
+
+        MBEventHandler.LOG.debug("In-flight plans: {}, queued plans: {}",
+                                 Activator.planInvocationRegistry.getInFlightPlans(),
+                                 Activator.planInvocationRegistry.getQueuedPlans());
+        return response;
+    }
+
+    private void postResponse(final String topic, final String messageID, final String planLanguage,
+                              final Object response, final Throwable e) {
+        if (e != null) {
+            MBEventHandler.LOG.error("Error occured: {}", e.getMessage(), e);
+            return;
+        }
+
+        MBEventHandler.LOG.debug("Received response for request with id {}.", messageID);
+
+        final Map<String, Object> responseMap = new HashMap<>();
+        responseMap.put("RESPONSE", response);
+        responseMap.put("MESSAGEID", messageID);
+        responseMap.put("PLANLANGUAGE", planLanguage);
+        final Event responseEvent = new Event(topic, responseMap);
+
+        final EventAdmin eventAdmin = this.eventAdmin;
+        if (eventAdmin == null) {
+            MBEventHandler.LOG.warn("No EventAdmin available. Dropping response for request with id {}.", messageID);
+            return;
+        }
+
+        MBEventHandler.LOG.debug("Posting response as OSGi event.");
+        eventAdmin.postEvent(responseEvent);
     }
 
     @Override
@@ -165,36 +205,13 @@ public class MBEventHandler implements EventHandler {
                 final Map<String, String> message =
                     createRequestBody(csarID, serviceTemplateID, serviceInstanceID, inputParameter, messageID);
 
-                final ConsumerTemplate consumer = invokePlan(operationName, messageID, async, serviceInstanceID,
-                                                             serviceTemplateID, message, csarID, planID, planLanguage);
-
-                // Threaded reception of response
-                this.executor.submit(() -> {
-
-                    Object response = null;
+                final CompletableFuture<Object> response = invokePlan(operationName, messageID, async,
+                                                                      serviceInstanceID, serviceTemplateID, message,
+                                                                      csarID, planID, planLanguage);
 
-                    try {
-                        consumer.start();
-                        final Exchange exchange = consumer.receive("direct:response" + messageID);
-                        response = exchange.getIn().getBody();
-                        consumer.stop();
-                    }
-                    catch (final Exception e) {
-                        MBEventHandler.LOG.error("Error occured: {}", e.getMessage(), e);
-                        return;
-                    }
-
-                    MBEventHandler.LOG.debug("Received response for request with id {}.", messageID);
-
-                    final Map<String, Object> responseMap = new HashMap<>();
-                    responseMap.put("RESPONSE", response);
-                    responseMap.put("MESSAGEID", messageID);
-                    responseMap.put("PLANLANGUAGE", planLanguage);
-                    final Event responseEvent = new Event("org_opentosca_plans/responses", responseMap);
-
-                    MBEventHandler.LOG.debug("Posting response as OSGi event.");
-                    this.eventAdmin.postEvent(responseEvent);
-                });
+                // the response event is posted as soon as the plan has finished
+                response.whenComplete((result, e) -> postResponse("org_opentosca_plans/responses", messageID,
+                                                                  planLanguage, result, e));
 
             } else {
                 MBEventHandler.LOG.warn("Unsupported plan language: {}", planLanguage);
@@ -305,37 +322,13 @@ public class MBEventHandler implements EventHandler {
             final Map<String, String> requestBody = createRequestBody(instance.getCsarId(), instance.getTemplateId(),
                                                                       instance.getId(), inputs, correlationID);
 
-            final ConsumerTemplate consumer =
+            final CompletableFuture<Object> response =
                 invokePlan("adapt", correlationID, true, instance.getId(), instance.getTemplateId(), requestBody,
                            instance.getCsarId(), planId, BPELNS);
 
-            // Threaded reception of response
-            this.executor.submit(() -> {
-
-                Object response = null;
-
-                try {
-                    consumer.start();
-                    final Exchange exchange = consumer.receive("direct:response" + correlationID);
-                    response = exchange.getIn().getBody();
-                    consumer.stop();
-                }
-                catch (final Exception e) {
-                    MBEventHandler.LOG.error("Error occured: {}", e.getMessage(), e);
-                    return;
-                }
-
-                MBEventHandler.LOG.debug("Received response for request with id {}.", correlationID);
-
-                final Map<String, Object> responseMap = new HashMap<>();
-                responseMap.put("RESPONSE", response);
-                responseMap.put("MESSAGEID", correlationID);
-                responseMap.put("PLANLANGUAGE", BPELNS);
-                final Event responseEvent = new Event("org_opentosca_situationadaptation/responses", responseMap);
-
-                MBEventHandler.LOG.debug("Posting response as OSGi event.");
-                this.eventAdmin.postEvent(responseEvent);
-            });
+            // the response event is posted as soon as the plan has finished
+            response.whenComplete((result, e) -> postResponse("org_opentosca_situationadaptation/responses",
+                                                              correlationID, BPELNS, result, e));
 
         }
     }
@@ -678,16 +671,7 @@ public class MBEventHandler implements EventHandler {
     }
 
     public void unbindEventAdmin(final EventAdmin eventAdmin) {
-        try {
-            this.executor.shutdown();
-            this.executor.awaitTermination(5, TimeUnit.SECONDS);
-        }
-        catch (final InterruptedException e) {
-            // Ignore
-        }
-        finally {
-            this.executor.shutdownNow();
-        }
         this.eventAdmin = null;
+        Activator.planInvocationRegistry.cancelAll();
     }
 }
@@ -0,0 +1,164 @@
+package org.opentosca.bus.management.api.osgievent;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry for the plan invocations of the Management Bus-OSGi-Event-API.<br>
+ * <br>
+ *
+ * Copyright 2019 IAAS University of Stuttgart <br>
+ * <br>
+ *
+ * For every plan invocation a future is registered under the correlation ID of the plan. The
+ * future is completed with the response of the plan as soon as the Management Bus sends it back
+ * to the API, so no receiver thread has to block for the response. The request itself is still
+ * sent by a Camel producer thread, which is occupied until the Management Bus returns.<br>
+ * <br>
+ *
+ * The number of plan invocations which are dispatched to the Management Bus at the same time is
+ * limited by the number of permits. A permit is only held until the request is handed over, thus
+ * the limit doesn't depend on how long the plans run. Further invocations are queued and dispatched
+ * as soon as a permit is free.
+ */
+public class PlanInvocationRegistry {
+
+    final private static Logger LOG = LoggerFactory.getLogger(PlanInvocationRegistry.class);
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> pendingResponses = new ConcurrentHashMap<>();
+
+    private final Queue<Runnable> queuedInvocations = new ConcurrentLinkedQueue<>();
+
+    private final Semaphore permits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+
+    /**
+     * @param maxConcurrentDispatches the maximum number of plan invocations which are dispatched to
+     *        the Management Bus at the same time
+     */
+    public PlanInvocationRegistry(final int maxConcurrentDispatches) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrentDispatches));
+    }
+
+    /**
+     * Registers a new plan invocation. The invocation is dispatched directly if the concurrency
+     * limit is not reached, otherwise it is queued.
+     *
+     * @param correlationID the correlation ID of the plan
+     * @param invocation the invocation of the plan which sends the request to the Management Bus
+     * @return the future which is completed with the response of the plan
+     */
+    public CompletableFuture<Object> submit(final String correlationID, final Runnable invocation) {
+        final CompletableFuture<Object> response = new CompletableFuture<>();
+
+        final CompletableFuture<Object> previous = this.pendingResponses.put(correlationID, response);
+        if (previous != null) {
+            PlanInvocationRegistry.LOG.warn("Replacing pending plan invocation with already registered correlation ID: {}",
+                                            correlationID);
+            previous.cancel(false);
+        }
+
+        this.queuedInvocations.add(() -> {
+            this.inFlight.incrementAndGet();
+            response.whenComplete((result, e) -> {
+                this.pendingResponses.remove(correlationID, response);
+                PlanInvocationRegistry.LOG.debug("Plan with correlation ID {} finished. In-flight plans: {}",
+                                                 correlationID, this.inFlight.decrementAndGet());
+            });
+
+            if (response.isDone()) {
+                return;
+            }
+            try {
+                invocation.run();
+            }
+            catch (final RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        });
+
+        startQueuedInvocations();
+        return response;
+    }
+
+    /**
+     * Completes the plan invocation with the given correlation ID.
+     *
+     * @param correlationID the correlation ID of the plan
+     * @param response the response of the plan
+     * @return <tt>true</tt> if a plan invocation was waiting for this response, <tt>false</tt>
+     *         otherwise
+     */
+    public boolean complete(final String correlationID, final Object response) {
+        final CompletableFuture<Object> future = this.pendingResponses.get(correlationID);
+        if (future == null) {
+            PlanInvocationRegistry.LOG.debug("No plan invocation waiting for response with ID: {}", correlationID);
+            return false;
+        }
+        return future.complete(response);
+    }
+
+    /**
+     * Completes the plan invocation with the given correlation ID exceptionally, e.g. because the
+     * request could not be sent to the Management Bus.
+     *
+     * @param correlationID the correlation ID of the plan
+     * @param cause the reason of the failure
+     */
+    public void fail(final String correlationID, final Throwable cause) {
+        final CompletableFuture<Object> future = this.pendingResponses.get(correlationID);
+        if (future != null) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Cancels all pending plan invocations.
+     */
+    public void cancelAll() {
+        this.queuedInvocations.clear();
+        this.pendingResponses.values().forEach(future -> future.cancel(false));
+        this.pendingResponses.clear();
+    }
+
+    /**
+     * @return the number of plans which are invoked and have not responded yet
+     */
+    public int getInFlightPlans() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * @return the number of plan invocations which wait for a free permit to be dispatched
+     */
+    public int getQueuedPlans() {
+        return this.queuedInvocations.size();
+    }
+
+    private void startQueuedInvocations() {
+        // the permit is released as soon as the request is handed over to the Management Bus, so
+        // the running plan doesn't hold it
+        while (!this.queuedInvocations.isEmpty() && this.permits.tryAcquire()) {
+            try {
+                final Runnable invocation = this.queuedInvocations.poll();
+                if (invocation != null) {
+                    invocation.run();
+                }
+            }
+            finally {
+                // re-check afterwards, an invocation may have been queued while the permit was held
+                this.permits.release();
+            }
+        }
+    }
+}
@@ -13,7 +13,8 @@ import org.opentosca.bus.management.header.MBHeader;
  * <br>
  *
  * Incoming events are given here from the EventHandler to be routed to the Management Bus for
- * further processing. The response message is given back to the EventHandler.
+ * further processing. The response message completes the corresponding plan invocation of the
+ * EventHandler.
  *
  *
  *
@@ -51,7 +52,9 @@ public class Route extends RouteBuilder {
         this.from("direct:invokeIA").to("stream:out").wireTap(MANAGEMENT_BUS_IA);
         this.from("direct:invokePlan").to("stream:out").to(MANAGEMENT_BUS_PLAN).end();
 
-        this.from("direct-vm:" + Activator.apiID).recipientList(this.simple("direct:response${id}")).end();
+        // complete the pending plan invocation with the response of the Management Bus
+        this.from("direct-vm:" + Activator.apiID).process(exchange -> Activator.planInvocationRegistry
+            .complete(exchange.getIn().getMessageId(), exchange.getIn().getBody())).end();
 
     }
 
@@ -0,0 +1,96 @@
+package org.opentosca.bus.management.invocation.plugin.script;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+
+/**
+ * Remembers the packages which were installed on the operating system NodeTemplateInstances, so the
+ * packages required by an ArtifactType are only installed once per machine.<br>
+ * <br>
+ *
+ * The packages of an instance are forgotten when its properties change, because this indicates that
+ * the machine was re-created, e.g. with a new address. A re-created instance has a new ID and thus
+ * starts with no recorded packages. An instance which keeps its ID while it is re-created or deleted
+ * is invalidated by the plug-in on the corresponding NodeTemplateInstance event.
+ */
+class InstalledPackagesRegistry {
+
+    // upper bound for the number of remembered instances, the least recently used ones are dropped
+    private static final int MAX_INSTANCES = 1000;
+
+    private final Map<Long, InstalledPackages> installedPackages =
+        new LinkedHashMap<Long, InstalledPackages>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, InstalledPackages> eldest) {
+                return size() > MAX_INSTANCES;
+            }
+        };
+
+
+    /**
+     * @param instance the operating system NodeTemplateInstance
+     * @param packages the required packages
+     * @return the packages which weren't installed on the instance yet, in the given order
+     */
+    synchronized List<String> getMissingPackages(final NodeTemplateInstance instance,
+                                                 final List<String> packages) {
+        final InstalledPackages installed = this.installedPackages.get(instance.getId());
+        if (installed == null || installed.fingerprint != fingerprint(instance)) {
+            this.installedPackages.remove(instance.getId());
+            return packages;
+        }
+        return packages.stream().filter(p -> !installed.packages.contains(p)).collect(Collectors.toList());
+    }
+
+    /**
+     * Records packages which were installed successfully on the given instance.
+     *
+     * @param instance the operating system NodeTemplateInstance
+     * @param packages the installed packages
+     */
+    synchronized void addInstalledPackages(final NodeTemplateInstance instance, final Collection<String> packages) {
+        final int fingerprint = fingerprint(instance);
+        InstalledPackages installed = this.installedPackages.get(instance.getId());
+        if (installed == null || installed.fingerprint != fingerprint) {
+            installed = new InstalledPackages(fingerprint);
+            this.installedPackages.put(instance.getId(), installed);
+        }
+        installed.packages.addAll(packages);
+    }
+
+    /**
+     * Forgets the installed packages of the given instance.
+     *
+     * @param instanceId the ID of the operating system NodeTemplateInstance
+     */
+    synchronized void invalidate(final Long instanceId) {
+        this.installedPackages.remove(instanceId);
+    }
+
+    private static int fingerprint(final NodeTemplateInstance instance) {
+        return Objects.hash(instance.getTemplateId(), instance.getPropertiesAsMap());
+    }
+
+    private static class InstalledPackages {
+
+        private final int fingerprint;
+
+        private final Set<String> packages = new HashSet<>();
+
+
+        private InstalledPackages(final int fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
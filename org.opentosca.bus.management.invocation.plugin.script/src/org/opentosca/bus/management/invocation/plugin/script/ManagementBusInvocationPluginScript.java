@@ -1,12 +1,21 @@
 package org.opentosca.bus.management.invocation.plugin.script;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
@@ -22,10 +31,17 @@ import org.opentosca.bus.management.invocation.plugin.script.servicehandler.Serv
 import org.opentosca.bus.management.invocation.plugin.script.typeshandler.ArtifactTypesHandler;
 import org.opentosca.bus.management.utils.MBUtils;
 import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.engine.ResolvedArtifacts;
 import org.opentosca.container.core.engine.ResolvedArtifacts.ResolvedDeploymentArtifact;
+import org.opentosca.container.core.model.AbstractFile;
 import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.trigger.NodeTemplateInstanceListener;
 import org.opentosca.container.core.tosca.convention.Interfaces;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -41,6 +57,12 @@ import org.w3c.dom.NodeList;
  *
  * The Plugin gets needed information from the Management Bus and is responsible for the uploading
  * of the files and the installation of required packages on the target machine (if specified).
+ * Uploaded files are kept in a cache on the target machine which is addressed by the SHA-256 hash
+ * of their content, so unchanged artifacts are only transferred once per machine. The hashes are
+ * computed once per artifact until the CSAR is deleted, cached artifacts which weren't used for the
+ * configured number of days are removed from the target machines. The installed
+ * packages are remembered per operating system instance until the instance is re-created or
+ * deleted, which is announced by an event.
  *
  *
  *
@@ -48,7 +70,7 @@ import org.w3c.dom.NodeList;
  *
  *
  */
-public class ManagementBusInvocationPluginScript implements IManagementBusInvocationPluginService {
+public class ManagementBusInvocationPluginScript implements IManagementBusInvocationPluginService, EventHandler {
 
     final private static String PLACEHOLDER_TARGET_FILE_PATH = "{TARGET_FILE_PATH}";
     final private static String PLACEHOLDER_TARGET_FILE_FOLDER_PATH = "{TARGET_FILE_FOLDER_PATH}";
@@ -59,8 +81,24 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
     final private static String RUN_SCRIPT_OUTPUT_PARAMETER_NAME = "ScriptResult";
 
+    final private static String ARTIFACT_CACHE = Settings.OPENTOSCA_BUS_MANAGEMENT_SCRIPT_ARTIFACT_CACHE.trim();
+    final private static String ARTIFACT_CACHE_HIT = "OPENTOSCA_ARTIFACT_CACHE_HIT_";
+    final private static String ARTIFACT_OUTPUT_SEPARATOR = "OPENTOSCA_ARTIFACT_OUTPUT_SEPARATOR";
+    final private static int ARTIFACT_CACHE_MAX_AGE =
+        Integer.parseInt(Settings.OPENTOSCA_BUS_MANAGEMENT_SCRIPT_ARTIFACT_CACHE_MAX_AGE);
+
+    final private static boolean REMOVE_ARTIFACTS =
+        Boolean.parseBoolean(Settings.OPENTOSCA_BUS_MANAGEMENT_SCRIPT_REMOVE_ARTIFACTS);
+
     final private static Logger LOG = LoggerFactory.getLogger(ManagementBusInvocationPluginScript.class);
 
+    private final InstalledPackagesRegistry installedPackages = new InstalledPackagesRegistry();
+
+    // hashes of the artifacts of the stored CSARs, forgotten when a CSAR is deleted
+    private final ConcurrentMap<CSARID, ConcurrentMap<String, String>> artifactHashes = new ConcurrentHashMap<>();
+
+    private ProducerTemplate producerTemplate;
+
 
     @Override
     public Exchange invoke(final Exchange exchange) {
@@ -151,10 +189,13 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
         if (artifactType != null && nodeTemplateID != null) {
 
+            final Long serviceTemplateInstanceID =
+                Long.parseLong(StringUtils.substringAfterLast(serviceInstanceID.toString(), "/"));
+
             // search operating system IA to upload files and run scripts on
             // target machine
             final String osNodeTemplateID =
-                MBUtils.getOperatingSystemNodeTemplateID(csarID, serviceTemplateID, nodeTemplateID, true, Long.parseLong(StringUtils.substringAfterLast(serviceInstanceID.toString(), "/")));
+                MBUtils.getOperatingSystemNodeTemplateID(csarID, serviceTemplateID, nodeTemplateID, true, serviceTemplateInstanceID);
             if (osNodeTemplateID != null) {
                 final QName osNodeTypeID =
                     ServiceHandler.toscaEngineService.getNodeTypeOfNodeTemplate(csarID, serviceTemplateID,
@@ -182,7 +223,8 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
                         // install packages
                         ManagementBusInvocationPluginScript.LOG.debug("Installing packages...");
 
-                        installPackages(artifactType, headers);
+                        installPackages(artifactType, headers,
+                                        MBUtils.getNodeTemplateInstance(serviceTemplateInstanceID, osNodeTemplateID));
 
                         ManagementBusInvocationPluginScript.LOG.debug("Packages installed.");
 
@@ -199,8 +241,49 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
                         final String targetBasePath = "~/" + csarID.getFileName();
 
-                        // upload and execute all contained artifacts
-                        for (final String artifactRef : artifactReferences) {
+                        // the artifacts are handled in batches to save round trips to the target machine:
+                        // one script creates the directories and restores cached artifacts, then the
+                        // missing artifacts are uploaded and one script runs all artifacts
+                        final List<String> prepareCommands = new ArrayList<>();
+                        final Map<String, String> artifactHashes = new HashMap<>();
+                        if (!ManagementBusInvocationPluginScript.ARTIFACT_CACHE.isEmpty()) {
+                            // remove artifacts which weren't used for a while, restored ones are touched
+                            prepareCommands.add("mkdir -p " + ManagementBusInvocationPluginScript.ARTIFACT_CACHE
+                                + " && find " + ManagementBusInvocationPluginScript.ARTIFACT_CACHE + " -type f -mtime +"
+                                + ManagementBusInvocationPluginScript.ARTIFACT_CACHE_MAX_AGE + " -delete");
+                        }
+                        for (int i = 0; i < artifactReferences.size(); i++) {
+                            final String targetFilePath = targetBasePath + "/" + artifactReferences.get(i);
+                            prepareCommands.add("mkdir -p " + FilenameUtils.getFullPathNoEndSeparator(targetFilePath));
+
+                            final String artifactHash = getArtifactHash(csarID, artifactReferences.get(i));
+                            if (artifactHash != null) {
+                                final String cachedFilePath =
+                                    ManagementBusInvocationPluginScript.ARTIFACT_CACHE + "/" + artifactHash;
+                                artifactHashes.put(artifactReferences.get(i), artifactHash);
+                                prepareCommands.add("if [ -f " + cachedFilePath + " ]; then cp " + cachedFilePath + " "
+                                    + targetFilePath + " && touch " + cachedFilePath + " && echo "
+                                    + ManagementBusInvocationPluginScript.ARTIFACT_CACHE_HIT + i + "; fi");
+                            }
+                        }
+
+                        // create directories before uploading files
+                        final Object prepareResult = runScript(String.join("; ", prepareCommands), headers);
+
+                        // the commands of the ArtifactType only differ in the file specific placeholders
+                        final String artifactTypeCommand =
+                            createArtifcatTypeSpecificCommandString(csarID, artifactType, artifactTemplateID, params)
+                                .replace(ManagementBusInvocationPluginScript.PLACEHOLDER_DA_NAME_PATH_MAP,
+                                         createDANamePathMapEnvVar(csarID, serviceTemplateID, nodeTypeID,
+                                                                   nodeTemplateID)
+                                             + " CSAR='" + csarID + "' NodeInstanceID='" + nodeInstanceID
+                                             + "' ServiceInstanceID='" + serviceInstanceID + "' ")
+                                .replace(ManagementBusInvocationPluginScript.PLACEHOLDER_DA_INPUT_PARAMETER,
+                                         createParamsString(params));
+
+                        final List<String> runCommands = new ArrayList<>();
+                        for (int i = 0; i < artifactReferences.size(); i++) {
+                            final String artifactRef = artifactReferences.get(i);
 
                             final String fileSource =
                                 Settings.CONTAINER_API + "/csars/" + csarID.getFileName() + "/content/" + artifactRef;
@@ -209,31 +292,41 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
                             final String targetFileFolderPath = FilenameUtils.getFullPathNoEndSeparator(targetFilePath);
 
-                            final String createDirCommand = "sleep 1 && mkdir -p " + targetFileFolderPath;
-
-                            ManagementBusInvocationPluginScript.LOG.debug("Uploading file: {}", fileSource);
-
-                            // create directory before uploading file
-                            runScript(createDirCommand, headers);
-
-                            // upload file
-                            transferFile(csarID, artifactTemplateID, fileSource, targetFilePath, headers);
-
-                            ManagementBusInvocationPluginScript.LOG.debug("File successfully uploaded.");
-
-                            // run script
-                            ManagementBusInvocationPluginScript.LOG.debug("Running script...");
+                            // command to add an uploaded file to the artifact cache before running it
+                            String cacheFileCommand = "";
+
+                            final String artifactHash = artifactHashes.get(artifactRef);
+                            if (artifactHash != null
+                                && isArtifactCacheHit(prepareResult,
+                                                      ManagementBusInvocationPluginScript.ARTIFACT_CACHE_HIT + i)) {
+                                ManagementBusInvocationPluginScript.LOG.debug("File {} with hash {} is cached on the target machine.",
+                                                                              artifactRef, artifactHash);
+                            } else {
+                                ManagementBusInvocationPluginScript.LOG.debug("Uploading file: {}", fileSource);
+
+                                // upload file
+                                transferFile(csarID, artifactTemplateID, fileSource, targetFilePath, headers);
+
+                                ManagementBusInvocationPluginScript.LOG.debug("File successfully uploaded.");
+
+                                if (artifactHash != null) {
+                                    // the file is written aside and moved into the cache, so concurrent
+                                    // invocations on the same machine never copy a partial file
+                                    final String cachedFilePath =
+                                        ManagementBusInvocationPluginScript.ARTIFACT_CACHE + "/" + artifactHash;
+                                    final String tempFilePath = cachedFilePath + "." + UUID.randomUUID();
+                                    cacheFileCommand = "cp " + targetFilePath + " " + tempFilePath + " && mv -f "
+                                        + tempFilePath + " " + cachedFilePath + "; ";
+                                }
+                            }
 
                             final String fileNameWithE = FilenameUtils.getName(targetFilePath);
                             final String fileNameWithoutE = FilenameUtils.getBaseName(targetFilePath);
 
-                            String artifactTypeSpecificCommand =
-                                createArtifcatTypeSpecificCommandString(csarID, artifactType, artifactTemplateID,
-                                                                        params);
-
                             ManagementBusInvocationPluginScript.LOG.debug("Replacing further generic placeholder...");
 
                             // replace placeholders
+                            String artifactTypeSpecificCommand = artifactTypeCommand;
                             artifactTypeSpecificCommand =
                                 artifactTypeSpecificCommand.replace(ManagementBusInvocationPluginScript.PLACEHOLDER_TARGET_FILE_PATH,
                                                                     targetFilePath);
@@ -246,37 +339,39 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
                             artifactTypeSpecificCommand =
                                 artifactTypeSpecificCommand.replace(ManagementBusInvocationPluginScript.PLACEHOLDER_TARGET_FILE_NAME_WITHOUT_EXTENSION,
                                                                     fileNameWithoutE);
-                            artifactTypeSpecificCommand =
-                                artifactTypeSpecificCommand.replace(ManagementBusInvocationPluginScript.PLACEHOLDER_DA_NAME_PATH_MAP,
-                                                                    createDANamePathMapEnvVar(csarID, serviceTemplateID,
-                                                                                              nodeTypeID, nodeTemplateID)
-                                                                        + " CSAR='" + csarID + "' NodeInstanceID='"
-                                                                        + nodeInstanceID + "' ServiceInstanceID='"
-                                                                        + serviceInstanceID + "' ");
-                            artifactTypeSpecificCommand =
-                                artifactTypeSpecificCommand.replace(ManagementBusInvocationPluginScript.PLACEHOLDER_DA_INPUT_PARAMETER,
-                                                                    createParamsString(params));
-
-                            // delete the uploaded file on the remote site to save resources
-                            final String deleteFileCommand = "; rm -f " + targetFilePath;
-                            artifactTypeSpecificCommand = artifactTypeSpecificCommand + deleteFileCommand;
-
-                            ManagementBusInvocationPluginScript.LOG.debug("Final command for the script execution: {}",
-                                                                          artifactTypeSpecificCommand);
 
-                            final Object result = runScript(artifactTypeSpecificCommand, headers);
+                            // every artifact runs in its own subshell, like in a separate script
+                            artifactTypeSpecificCommand = cacheFileCommand + "(" + artifactTypeSpecificCommand + ")";
 
-                            ManagementBusInvocationPluginScript.LOG.debug("Script execution result: {}", result);
+                            if (ManagementBusInvocationPluginScript.REMOVE_ARTIFACTS) {
+                                // delete the uploaded file on the remote site to save resources, a
+                                // cached copy is kept in the artifact cache
+                                final String deleteFileCommand = "; rm -f " + targetFilePath;
+                                artifactTypeSpecificCommand = artifactTypeSpecificCommand + deleteFileCommand;
+                            }
 
-                            // check for output parameters in the script result and add them to the
-                            // operation result
-                            addOutputParametersToResultMap(resultMap, result, outputParameters);
+                            runCommands.add(artifactTypeSpecificCommand);
                         }
 
+                        // separate the output of the artifacts to evaluate their output parameters in order
+                        String runCommand = String.join("; echo " + ManagementBusInvocationPluginScript.ARTIFACT_OUTPUT_SEPARATOR + "; ",
+                                                        runCommands);
+
                         // remove the created directories
-                        ManagementBusInvocationPluginScript.LOG.debug("Deleting directories...");
                         final String deleteDirsCommand = "find " + targetBasePath + " -empty -type d -delete";
-                        runScript(deleteDirsCommand, headers);
+                        runCommand = runCommands.isEmpty() ? deleteDirsCommand : runCommand + "; " + deleteDirsCommand;
+
+                        // run scripts
+                        ManagementBusInvocationPluginScript.LOG.debug("Final command for the script execution: {}",
+                                                                      runCommand);
+
+                        final Object result = runScript(runCommand, headers);
+
+                        ManagementBusInvocationPluginScript.LOG.debug("Script execution result: {}", result);
+
+                        // check for output parameters in the script result and add them to the
+                        // operation result
+                        addOutputParametersToResultMap(resultMap, result, outputParameters);
 
                         ManagementBusInvocationPluginScript.LOG.debug("All artifacts are executed. Returning result to the Management Bus...");
 
@@ -302,6 +397,82 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
         return exchange;
     }
 
+    /**
+     * Returns the key of an artifact in the artifact cache on the target machines. The key is only
+     * computed on the first request for the artifact after the CSAR was stored.
+     *
+     * @param csarID the CSAR containing the artifact
+     * @param artifactRef the reference of the artifact within the CSAR
+     * @return the hex encoded SHA-256 hash of the content of the artifact or <code>null</code> if the
+     *         artifact cache is disabled or the artifact can't be read
+     */
+    private String getArtifactHash(final CSARID csarID, final String artifactRef) {
+        if (ManagementBusInvocationPluginScript.ARTIFACT_CACHE.isEmpty() || ServiceHandler.fileService == null) {
+            return null;
+        }
+
+        final ConcurrentMap<String, String> hashes =
+            this.artifactHashes.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>());
+        final String knownHash = hashes.get(artifactRef);
+        if (knownHash != null) {
+            return knownHash;
+        }
+
+        final String hash = computeArtifactHash(csarID, artifactRef);
+        if (hash != null) {
+            hashes.put(artifactRef, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Reads the artifact from the CSAR and computes its SHA-256 hash.
+     */
+    private String computeArtifactHash(final CSARID csarID, final String artifactRef) {
+        try {
+            final AbstractFile file = ServiceHandler.fileService.getCSAR(csarID).getFile(artifactRef);
+            if (file == null) {
+                ManagementBusInvocationPluginScript.LOG.warn("Artifact {} not found in CSAR {}, it is not cached.",
+                                                             artifactRef, csarID);
+                return null;
+            }
+
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[8192];
+            try (InputStream in = new DigestInputStream(file.getFileAsInputStream(), digest)) {
+                while (in.read(buffer) != -1) {
+                    // the stream updates the digest
+                }
+            }
+
+            final StringBuilder hash = new StringBuilder();
+            for (final byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        }
+        catch (final UserException | SystemException | IOException | NoSuchAlgorithmException e) {
+            ManagementBusInvocationPluginScript.LOG.warn("Could not compute hash of artifact {}, it is not cached: {}",
+                                                         artifactRef, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param result the result of the run script operation checking the artifact cache
+     * @param marker the line which is printed if the artifact was found
+     * @return <code>true</code> if the artifact was found in the artifact cache of the target machine
+     */
+    private boolean isArtifactCacheHit(final Object result, final String marker) {
+        if (result instanceof HashMap<?, ?>) {
+            final Object scriptResult =
+                ((HashMap<?, ?>) result).get(ManagementBusInvocationPluginScript.RUN_SCRIPT_OUTPUT_PARAMETER_NAME);
+            return scriptResult != null
+                && Arrays.asList(scriptResult.toString().split("[\\r\\n]+")).contains(marker);
+        }
+        return false;
+    }
+
     /**
      * Check if the output parameters for this script service operation are returned in the script
      * result and add them to the result map.
@@ -333,20 +504,25 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
                                                                       ManagementBusInvocationPluginScript.RUN_SCRIPT_OUTPUT_PARAMETER_NAME,
                                                                       scriptResultString);
 
-                        // split result on line breaks as every parameter is returned in a separate
-                        // "echo" command
-                        final String[] resultParameters = scriptResultString.split("[\\r\\n]+");
-
-                        // add each parameter that is defined in the operation and passed back
-                        for (final String outputParameter : outputParameters) {
-                            for (int i = resultParameters.length - 1; i >= 0; i--) {
-                                if (resultParameters[i].startsWith(outputParameter)) {
-                                    final String value =
-                                        resultParameters[i].substring(resultParameters[i].indexOf("=") + 1);
-
-                                    ManagementBusInvocationPluginScript.LOG.debug("Adding parameter {} with value: {}",
-                                                                                  outputParameter, value);
-                                    resultMap.put(outputParameter, value);
+                        // the output of every artifact is evaluated separately, parameters of later
+                        // artifacts override the ones of earlier artifacts
+                        for (final String artifactOutput : scriptResultString.split(ManagementBusInvocationPluginScript.ARTIFACT_OUTPUT_SEPARATOR)) {
+
+                            // split result on line breaks as every parameter is returned in a separate
+                            // "echo" command
+                            final String[] resultParameters = artifactOutput.split("[\\r\\n]+");
+
+                            // add each parameter that is defined in the operation and passed back
+                            for (final String outputParameter : outputParameters) {
+                                for (int i = resultParameters.length - 1; i >= 0; i--) {
+                                    if (resultParameters[i].startsWith(outputParameter)) {
+                                        final String value =
+                                            resultParameters[i].substring(resultParameters[i].indexOf("=") + 1);
+
+                                        ManagementBusInvocationPluginScript.LOG.debug("Adding parameter {} with value: {}",
+                                                                                      outputParameter, value);
+                                        resultMap.put(outputParameter, value);
+                                    }
                                 }
                             }
                         }
@@ -472,14 +648,26 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
     /**
      *
      * Installs required and specified packages of the specified ArtifactType. Required packages are
-     * in defined the corresponding *.xml file.
+     * in defined the corresponding *.xml file. Packages which were already installed on the given
+     * operating system instance are skipped.
      *
      * @param artifactType
      * @param headers
+     * @param osNodeInstance the operating system NodeTemplateInstance or <code>null</code> if unknown
      */
-    private void installPackages(final QName artifactType, final HashMap<String, Object> headers) {
+    private void installPackages(final QName artifactType, final HashMap<String, Object> headers,
+                                 final NodeTemplateInstance osNodeInstance) {
 
-        final List<String> requiredPackages = ArtifactTypesHandler.getRequiredPackages(artifactType);
+        final List<String> artifactTypePackages = ArtifactTypesHandler.getRequiredPackages(artifactType);
+        List<String> requiredPackages = artifactTypePackages;
+
+        if (osNodeInstance != null && !requiredPackages.isEmpty()) {
+            requiredPackages = this.installedPackages.getMissingPackages(osNodeInstance, requiredPackages);
+            if (requiredPackages.isEmpty()) {
+                ManagementBusInvocationPluginScript.LOG.debug("Packages for ArtifactType: {} are already installed on NodeTemplateInstance {}.",
+                                                              artifactType, osNodeInstance.getId());
+            }
+        }
 
         String requiredPackagesString = "";
 
@@ -500,10 +688,73 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
             headers.put(MBHeader.OPERATIONNAME_STRING.toString(),
                         Interfaces.OPENTOSCA_DECLARATIVE_INTERFACE_OPERATINGSYSTEM_INSTALLPACKAGE);
 
-            invokeManagementBusEngine(inputParamsMap, headers);
-        } else {
+            final Object response = invokeManagementBusEngine(inputParamsMap, headers);
+
+            if (osNodeInstance != null) {
+                if (isInstallationSuccessful(response, inputParamsMap)) {
+                    this.installedPackages.addInstalledPackages(osNodeInstance, requiredPackages);
+                } else {
+                    ManagementBusInvocationPluginScript.LOG.warn("Installing packages {} on NodeTemplateInstance {} failed: {}",
+                                                                 requiredPackages, osNodeInstance.getId(), response);
+                    this.installedPackages.invalidate(osNodeInstance.getId());
+                }
+            }
+        } else if (artifactTypePackages.isEmpty()) {
             ManagementBusInvocationPluginScript.LOG.debug("ArtifactType: {} needs no packages to install.",
-                                                          requiredPackages, artifactType);
+                                                          artifactType);
+        }
+    }
+
+    /**
+     * Checks the response of the installPackage operation.
+     *
+     * @param response the response of the Management Bus
+     * @param request the input parameters of the operation
+     * @return <code>true</code> if the operation was invoked and neither returned a fault nor reported
+     *         a failed installation, <code>false</code> otherwise
+     */
+    private boolean isInstallationSuccessful(final Object response, final Map<String, String> request) {
+        // the Management Bus returns the unchanged request if the operation couldn't be invoked
+        if (!(response instanceof Map<?, ?>) || response.equals(request)) {
+            return false;
+        }
+
+        for (final Entry<?, ?> parameter : ((Map<?, ?>) response).entrySet()) {
+            final String name = String.valueOf(parameter.getKey());
+            final String value = String.valueOf(parameter.getValue()).trim();
+
+            // SOAP fault, e.g. if the IA failed or its callback timed out
+            if (name.equals("faultcode") || name.equals("faultstring")) {
+                return false;
+            }
+            // result of the installation, e.g. installPackageReturn of the EC2 Linux IA
+            if ((name.endsWith("Return") || name.endsWith("Result")) && value.equalsIgnoreCase("false")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets the artifact hashes of a deleted CSAR and the installed packages of an operating system
+     * instance when it is re-created or deleted.
+     */
+    @Override
+    public void handleEvent(final Event event) {
+        if ("org_opentosca_csars/deleted".equals(event.getTopic())) {
+            // a re-imported CSAR may contain different artifacts
+            final Object csarID = event.getProperty("CSARID");
+            if (csarID instanceof CSARID) {
+                ManagementBusInvocationPluginScript.LOG.debug("CSAR {} deleted. Forgetting its artifact hashes.", csarID);
+                this.artifactHashes.remove(csarID);
+            }
+        } else if (NodeTemplateInstanceListener.TOPIC.equals(event.getTopic())) {
+            final Object instanceId = event.getProperty("NODETEMPLATEINSTANCEID");
+            if (instanceId instanceof Long) {
+                ManagementBusInvocationPluginScript.LOG.debug("NodeTemplateInstance {} changed to state {}. Forgetting its installed packages.",
+                                                              instanceId, event.getProperty("STATE"));
+                this.installedPackages.invalidate((Long) instanceId);
+            }
         }
     }
 
@@ -696,10 +947,8 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
         ManagementBusInvocationPluginScript.LOG.debug("Invoking the Management Bus...");
 
-        final ProducerTemplate template = Activator.camelContext.createProducerTemplate();
-
         final Object response =
-            template.requestBodyAndHeaders("bean:org.opentosca.bus.management.service.IManagementBusService?method=invokeIA",
+            getProducerTemplate().requestBodyAndHeaders("bean:org.opentosca.bus.management.service.IManagementBusService?method=invokeIA",
                                            paramsMap, headers);
 
         ManagementBusInvocationPluginScript.LOG.debug("Invocation finished: {}", response);
@@ -707,6 +956,17 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
         return response;
     }
 
+    /**
+     * @return the ProducerTemplate which is shared by all invocations, it caches the producers for
+     *         the Management Bus endpoint
+     */
+    private synchronized ProducerTemplate getProducerTemplate() {
+        if (this.producerTemplate == null) {
+            this.producerTemplate = Activator.camelContext.createProducerTemplate();
+        }
+        return this.producerTemplate;
+    }
+
     @Override
     public List<String> getSupportedTypes() {
         return ArtifactTypesHandler.getSupportedTypes().stream().map(QName::toString).collect(Collectors.toList());
@@ -2,6 +2,7 @@ package org.opentosca.bus.management.invocation.plugin.script.servicehandler;
 
 import org.opentosca.container.core.engine.IToscaEngineService;
 import org.opentosca.container.core.service.ICoreEndpointService;
+import org.opentosca.container.core.service.ICoreFileService;
 import org.opentosca.container.core.service.IInstanceDataService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +18,7 @@ import org.slf4j.LoggerFactory;
  * @see IManagementBusPluginService
  * @see IToscaEngineService
  * @see ICoreEndpointService
+ * @see ICoreFileService
  *
  * @author Michael Zimmermann - michael.zimmermann@iaas.uni-stuttgart.de
  *
@@ -26,6 +28,7 @@ public class ServiceHandler {
 
     public static IInstanceDataService instanceDataService, oldInstanceDataService;
     public static IToscaEngineService toscaEngineService, oldToscaEngineService;
+    public static ICoreFileService fileService, oldFileService;
 
     private final static Logger LOG = LoggerFactory.getLogger(ServiceHandler.class);
 
@@ -101,4 +104,39 @@ public class ServiceHandler {
         ServiceHandler.LOG.debug("InstanceDataServiceInterface unbound.");
     }
 
+    /**
+     * Bind CoreFileService
+     *
+     * @param fileService
+     */
+    public void bindCoreFileService(final ICoreFileService fileService) {
+        if (fileService != null) {
+            if (ServiceHandler.fileService == null) {
+                ServiceHandler.fileService = fileService;
+            } else {
+                ServiceHandler.oldFileService = fileService;
+                ServiceHandler.fileService = fileService;
+            }
+
+            ServiceHandler.LOG.debug("Bind CoreFileService: {} bound.", ServiceHandler.fileService.toString());
+        } else {
+            ServiceHandler.LOG.error("Bind CoreFileService: Supplied parameter is null!");
+        }
+    }
+
+    /**
+     * Unbind CoreFileService
+     *
+     * @param fileService
+     */
+    public void unbindCoreFileService(ICoreFileService fileService) {
+        if (ServiceHandler.oldFileService == null) {
+            fileService = null;
+        } else {
+            ServiceHandler.oldFileService = null;
+        }
+
+        ServiceHandler.LOG.debug("CoreFileService unbound.");
+    }
+
 }
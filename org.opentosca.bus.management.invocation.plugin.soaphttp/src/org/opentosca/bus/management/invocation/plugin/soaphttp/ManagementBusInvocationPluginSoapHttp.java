@@ -1,35 +1,39 @@
 package org.opentosca.bus.management.invocation.plugin.soaphttp;
 
+import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
-import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.ProducerTemplate;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.invocation.plugin.IManagementBusInvocationPluginService;
 import org.opentosca.bus.management.invocation.plugin.soaphttp.route.AsyncRoute;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.CallbackRegistry;
 import org.opentosca.bus.management.invocation.plugin.soaphttp.util.Messages;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.WSDLMetadata;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.WSDLMetadata.OperationMetadata;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.WSDLMetadataCache;
 import org.opentosca.bus.management.utils.MBUtils;
+import org.opentosca.container.core.common.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import com.predic8.wsdl.Binding;
-import com.predic8.wsdl.BindingOperation;
-import com.predic8.wsdl.Definitions;
-import com.predic8.wsdl.WSDLParser;
 
 /**
  * Management Bus-Plug-in for invoking a service with a SOAP message over HTTP. <br>
@@ -52,7 +56,18 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
     // Supported types defined in messages.properties.
     static final private String TYPES = Messages.SoapSIEnginePlugin_types;
 
-    private static Map<String, Exchange> exchangeMap = Collections.synchronizedMap(new HashMap<String, Exchange>());
+    // time to wait for the callback of an asynchronous invocation
+    private static final long CALLBACK_TIMEOUT =
+        Long.parseLong(Settings.OPENTOSCA_BUS_MANAGEMENT_SOAPHTTP_CALLBACK_TIMEOUT);
+
+    // pending asynchronous invocations, keyed by messageID
+    private static CallbackRegistry callbackRegistry =
+        new CallbackRegistry(Long.parseLong(Settings.OPENTOSCA_BUS_MANAGEMENT_SOAPHTTP_CALLBACK_EXPIRY));
+
+    // WSDL metadata of the invoked services, keyed by endpoint
+    private static WSDLMetadataCache wsdlMetadataCache = new WSDLMetadataCache();
+
+    private static final String SOAP_ENVELOPE_NAMESPACE = "http://schemas.xmlsoap.org/soap/envelope/";
 
     final String CALLBACK = "callback";
     final String REQUST_RESPONSE = "request-response";
@@ -106,113 +121,59 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
             @SuppressWarnings("unchecked")
             final HashMap<String, String> paramsMap = (HashMap<String, String>) params;
 
-            final WSDLParser parser = new WSDLParser();
+            final WSDLMetadata wsdl = ManagementBusInvocationPluginSoapHttp.wsdlMetadataCache.get(endpoint);
+            final OperationMetadata op = wsdl.getOperation(operationName, true);
 
-            ManagementBusInvocationPluginSoapHttp.LOG.info("Parsing WSDL at: {}.", endpoint);
+            if (op != null) {
+                ManagementBusInvocationPluginSoapHttp.LOG.debug("PortType: {}", op.getPortType());
+                rootElementName = op.getInputElementName();
+                rootElementNamespaceURI = op.getInputElementNamespaceURI();
+                ManagementBusInvocationPluginSoapHttp.LOG.debug("Root ElementName: {} with NamespaceURI: {}",
+                                                                rootElementName, rootElementNamespaceURI);
 
-            Definitions wsdl;
+                // Check if request-response ,callback or
+                // request-only
+                if (!op.hasOutput() && hasOutputParams) {
+                    messagingPattern = this.CALLBACK;
 
-            // If wsdl is not accessible, try again (max wait 5 min)
-            int count = 0;
-            final int maxTries = 30;
-            while (true) {
-                try {
-                    wsdl = parser.parse(endpoint.toString());
-                    break;
-                }
-                catch (final Exception e) {
-                    // handle exception
-                    if (++count == maxTries) {
-                        ManagementBusInvocationPluginSoapHttp.LOG.error("Unable to access the wsdl at: {}.", endpoint);
-                        throw e;
-                    } else {
-                        ManagementBusInvocationPluginSoapHttp.LOG.warn("Problem accessing the wsdl at: {}. Retry... ({}/{})",
-                                                                       endpoint, count, maxTries);
-                        try {
-                            Thread.sleep(10000);
-                        }
-                        catch (final InterruptedException e1) {
-                            e1.printStackTrace();
+                    final String callbackAddress = AsyncRoute.PUBLIC_CALLBACKADDRESS;
+
+                    String messageId = message.getMessageId();
+                    if (paramsMap.containsKey("CorrelationID")) {
+                        if (paramsMap.get("CorrelationID") != null) {
+                            messageId = paramsMap.get("CorrelationID");
+                        } else {
+                            paramsMap.put("CorrelationID", messageId);
                         }
+                        message.setMessageId(messageId);
+
                     }
-                }
-            }
+                    LOG.debug("Message ID: {}", messageId);
 
-            // Jump-Label to stop both loops at once
-            searchOperation: for (final Binding bind : wsdl.getBindings()) {
-
-                ManagementBusInvocationPluginSoapHttp.LOG.debug("Binding: {}", bind);
-
-                if (bind.getProtocol().toString().toLowerCase().contains("soap")) {
-
-                    for (final BindingOperation op : bind.getOperations()) {
-                        ManagementBusInvocationPluginSoapHttp.LOG.debug("Operation: {} =? {}", op.getName(),
-                                                                        operationName);
-
-                        if (op.getName().equals(operationName)) {
-                            final String portType = bind.getPortType().getName();
-                            ManagementBusInvocationPluginSoapHttp.LOG.debug("PortType: {}", portType);
-                            final String rootElementWithPrefix =
-                                wsdl.getElementNameForOperation(operationName, portType);
-                            final com.predic8.schema.Element element =
-                                wsdl.getElementForOperation(operationName, portType);
-                            rootElementName = element.getName();
-                            rootElementNamespaceURI =
-                                (String) element.getNamespace(rootElementWithPrefix.replace(":" + rootElementName, ""));
-                            ManagementBusInvocationPluginSoapHttp.LOG.debug("Root ElementName: {} with NamespaceURI: {}",
-                                                                            rootElementName, rootElementNamespaceURI);
-
-                            // Check if request-response ,callback or
-                            // request-only
-                            if (op.getInput() != null) {
-
-                                if (op.getOutput() == null && hasOutputParams) {
-                                    messagingPattern = this.CALLBACK;
-
-                                    final String callbackAddress = AsyncRoute.PUBLIC_CALLBACKADDRESS;
-
-                                    String messageId = message.getMessageId();
-                                    if (paramsMap.containsKey("CorrelationID")) {
-                                        if(paramsMap.get("CorrelationID") != null) {                                            
-                                            messageId = paramsMap.get("CorrelationID");
-                                        } else {
-                                            paramsMap.put("CorrelationID", messageId);
-                                        }
-                                        message.setMessageId(messageId);
-                                        
-                                    }
-                                    LOG.debug("Message ID: {}", messageId);
-
-                                    if (paramsMap.containsKey("MessageID")) {
-                                        paramsMap.put("MessageID", messageId);
-                                    } else {
-                                        headers.put("MessageID", messageId);
-                                    }
-
-                                    if (paramsMap.containsKey("ReplyTo")) {
-                                        paramsMap.put("ReplyTo", callbackAddress);
-                                    } else {
-                                        headers.put("ReplyTo", callbackAddress);
-                                    }
-                                    if (paramsMap.containsKey("planCallbackAddress_invoker")) {
-                                        paramsMap.put("planCallbackAddress_invoker",
-                                                      "http://localhost:9763/services/" + csarID + "InvokerService/");
-                                    } else {
-                                        headers.put("planCallbackAddress_invoker",
-                                                    "http://localhost:9763/services/" + csarID + "InvokerService/");
-                                    }
-
-                                } else if (op.getOutput() == null && !hasOutputParams) {
-                                    messagingPattern = this.REQUEST_ONLY;
-
-                                } else {
-                                    messagingPattern = this.REQUST_RESPONSE;
-                                }
-
-                                break searchOperation;
-                            }
-                        }
+                    if (paramsMap.containsKey("MessageID")) {
+                        paramsMap.put("MessageID", messageId);
+                    } else {
+                        headers.put("MessageID", messageId);
+                    }
+
+                    if (paramsMap.containsKey("ReplyTo")) {
+                        paramsMap.put("ReplyTo", callbackAddress);
+                    } else {
+                        headers.put("ReplyTo", callbackAddress);
+                    }
+                    if (paramsMap.containsKey("planCallbackAddress_invoker")) {
+                        paramsMap.put("planCallbackAddress_invoker",
+                                      "http://localhost:9763/services/" + csarID + "InvokerService/");
+                    } else {
+                        headers.put("planCallbackAddress_invoker",
+                                    "http://localhost:9763/services/" + csarID + "InvokerService/");
                     }
+
+                } else if (!op.hasOutput() && !hasOutputParams) {
+                    messagingPattern = this.REQUEST_ONLY;
+
+                } else {
+                    messagingPattern = this.REQUST_RESPONSE;
                 }
             }
 
@@ -220,6 +181,11 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
                 ManagementBusInvocationPluginSoapHttp.LOG.error("No invokable operation found. Invocation aborted!");
                 return null;
             }
+            if (rootElementName == null) {
+                ManagementBusInvocationPluginSoapHttp.LOG.error("The input of operation {} is not defined by an element. Invocation aborted!",
+                                                                operationName);
+                return null;
+            }
             document = mapToDoc(rootElementNamespaceURI, rootElementName, paramsMap);
         }
 
@@ -240,8 +206,6 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
 
         final ProducerTemplate template = Activator.camelContext.createProducerTemplate();
 
-        final ConsumerTemplate consumer = Activator.camelContext.createConsumerTemplate();
-
         Document response = null;
 
         ManagementBusInvocationPluginSoapHttp.LOG.debug("Messaging pattern: {}", messagingPattern);
@@ -263,45 +227,36 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
 
             final String messageID = message.getMessageId();
 
-            ManagementBusInvocationPluginSoapHttp.LOG.debug("Storing exchange message with MessageID: {}", messageID);
+            ManagementBusInvocationPluginSoapHttp.LOG.debug("Registering callback for MessageID: {}", messageID);
 
-            ManagementBusInvocationPluginSoapHttp.exchangeMap.put(messageID, exchange);
+            final CompletableFuture<Document> callback =
+                ManagementBusInvocationPluginSoapHttp.callbackRegistry.register(messageID);
 
             template.sendBodyAndHeaders("direct:Async-WS-Invoke", document, headers);
 
-            Exchange ex = null;
-
-            while (response == null) {
-
-                try {
-
-                    consumer.start();
-                    ex = consumer.receive("direct:Async-WS-Callback" + messageID);
-                    consumer.stop();
-
-                }
-                catch (final Exception e) {
-                    e.printStackTrace();
-                }
-
-                final Message mes = ex.getIn();
-
-                ManagementBusInvocationPluginSoapHttp.LOG.debug("Got Message with ID: {}", messageID);
-                ManagementBusInvocationPluginSoapHttp.LOG.debug("Stored MessageIDs: {}",
-                                                                ManagementBusInvocationPluginSoapHttp.exchangeMap.keySet()
-                                                                                                                 .toString());
-
-                if (ManagementBusInvocationPluginSoapHttp.exchangeMap.containsKey(messageID)) {
-                    ManagementBusInvocationPluginSoapHttp.LOG.debug("MessageID found");
-                    exchange = ManagementBusInvocationPluginSoapHttp.exchangeMap.get(messageID);
-
-                    response = mes.getBody(Document.class);
-
-                    ManagementBusInvocationPluginSoapHttp.exchangeMap.remove(messageID);
-                }
-
+            try {
+                response = callback.get(CALLBACK_TIMEOUT, TimeUnit.MILLISECONDS);
+                ManagementBusInvocationPluginSoapHttp.LOG.debug("Got callback for MessageID: {}", messageID);
+            }
+            catch (final TimeoutException e) {
+                ManagementBusInvocationPluginSoapHttp.LOG.error("No callback received for MessageID {} within {} ms. Invocation aborted.",
+                                                                messageID, CALLBACK_TIMEOUT);
+                response = createFault("No callback received within " + CALLBACK_TIMEOUT + " ms");
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ManagementBusInvocationPluginSoapHttp.LOG.error("Interrupted while waiting for callback with MessageID {}.",
+                                                                messageID);
+                response = createFault("Interrupted while waiting for the callback");
+            }
+            catch (final ExecutionException | CancellationException e) {
+                ManagementBusInvocationPluginSoapHttp.LOG.error("Waiting for callback with MessageID {} failed: {}",
+                                                                messageID, e.getMessage());
+                response = createFault("Waiting for the callback failed: " + e.getMessage());
+            }
+            finally {
+                ManagementBusInvocationPluginSoapHttp.callbackRegistry.remove(messageID, callback);
             }
-
         }
 
         if (exchange.getIn().getHeader("ParamsMode") != null
@@ -334,29 +289,13 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
      */
     private Boolean hasOutputDefinedInWSDL(final String endpoint, final String operationName) {
 
-        final WSDLParser parser = new WSDLParser();
-
-        final Definitions wsdl = parser.parse(endpoint.toString());
-
-        for (final Binding bind : wsdl.getBindings()) {
+        final OperationMetadata op =
+            ManagementBusInvocationPluginSoapHttp.wsdlMetadataCache.get(endpoint).getOperation(operationName, false);
 
-            if (bind.getProtocol().toString().toLowerCase().contains("soap")) {
-
-                for (final BindingOperation op : bind.getOperations()) {
-
-                    if (op.getName().equals(operationName)) {
-
-                        if (op.getOutput() == null) {
-                            return false;
-
-                        } else {
-                            return true;
-                        }
-                    }
-                }
-            }
+        if (op == null) {
+            return null;
         }
-        return null;
+        return op.hasOutput();
     }
 
     /**
@@ -463,10 +402,32 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
     }
 
     /**
-     * @return the keys of the map containing stored messageIds and exchange objects.
+     * Creates a SOAP fault which is returned instead of the response of an asynchronous invocation
+     * that failed, so the caller of the Management Bus gets a reply in any case.
+     *
+     * @param reason why the invocation failed
+     * @return Document containing the SOAP fault
      */
-    public static Set<String> getMessageIDs() {
-        return ManagementBusInvocationPluginSoapHttp.exchangeMap.keySet();
+    private Document createFault(final String reason) {
+        final Document fault = mapToDoc(SOAP_ENVELOPE_NAMESPACE, "soapenv:Fault", new HashMap<>());
+
+        // unqualified child elements as defined by SOAP 1.1, with local names for MBUtils.docToMap
+        final Element faultCode = fault.createElementNS(null, "faultcode");
+        faultCode.setTextContent("soapenv:Server");
+        fault.getDocumentElement().appendChild(faultCode);
+
+        final Element faultString = fault.createElementNS(null, "faultstring");
+        faultString.setTextContent(reason);
+        fault.getDocumentElement().appendChild(faultString);
+
+        return fault;
+    }
+
+    /**
+     * @return the registry containing the pending asynchronous invocations.
+     */
+    public static CallbackRegistry getCallbackRegistry() {
+        return ManagementBusInvocationPluginSoapHttp.callbackRegistry;
     }
 
     @Override
@@ -480,4 +441,15 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
         }
         return types;
     }
+
+    @Override
+    public void endpointDeployed(final URI endpoint) {
+        ManagementBusInvocationPluginSoapHttp.LOG.debug("Preparing WSDL metadata for endpoint: {}", endpoint);
+        ManagementBusInvocationPluginSoapHttp.wsdlMetadataCache.prepare(endpoint.toString());
+    }
+
+    @Override
+    public void endpointRemoved(final URI endpoint) {
+        ManagementBusInvocationPluginSoapHttp.wsdlMetadataCache.invalidate(endpoint.toString());
+    }
 }
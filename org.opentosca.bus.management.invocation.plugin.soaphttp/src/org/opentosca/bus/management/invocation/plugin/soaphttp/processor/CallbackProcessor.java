@@ -4,7 +4,6 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import javax.xml.soap.MessageFactory;
 import javax.xml.soap.SOAPException;
@@ -15,6 +14,7 @@ import org.apache.camel.Processor;
 import org.apache.cxf.binding.soap.SoapHeader;
 import org.apache.cxf.headers.Header;
 import org.opentosca.bus.management.invocation.plugin.soaphttp.ManagementBusInvocationPluginSoapHttp;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.CallbackRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -28,7 +28,7 @@ import org.w3c.dom.Element;
  * <br>
  *
  * This processor processes incoming soap messages. It checks if the messages are containing
- * existing messageIDs.
+ * messageIDs of pending invocations and completes these invocations with the received response.
  *
  *
  *
@@ -43,9 +43,7 @@ public class CallbackProcessor implements Processor {
     @Override
     public void process(final Exchange exchange) throws Exception {
 
-        final Set<String> messageIDs = ManagementBusInvocationPluginSoapHttp.getMessageIDs();
-
-        CallbackProcessor.LOG.debug("Stored messageIDs: {}", messageIDs.toString());
+        final CallbackRegistry callbackRegistry = ManagementBusInvocationPluginSoapHttp.getCallbackRegistry();
 
         // copy SOAP headers in camel exchange header
         @SuppressWarnings("unchecked")
@@ -63,42 +61,52 @@ public class CallbackProcessor implements Processor {
 
         CallbackProcessor.LOG.debug("Searching the callback Message for a MessageID matching the stored ones...");
 
-        for (final String messageID : messageIDs) {
-
-            // checks if the callback message contains a stored messageID
-            // if (message.matches("(?s).*\\s*[^a-zA-Z0-9-]" + messageID +
-            // "[^a-zA-Z0-9-]\\s*(?s).*") || headers.containsValue(messageID)) {
-            if (message.contains(messageID) || headers.containsValue(messageID)) {
-
-                CallbackProcessor.LOG.debug("Found MessageID: {}", messageID);
+        // fast path: the MessageID is contained in the SOAP headers
+        String matchingMessageID = null;
+        final Object headerMessageID = headers.get("MessageID");
+        if (headerMessageID instanceof String && callbackRegistry.contains((String) headerMessageID)) {
+            matchingMessageID = (String) headerMessageID;
+        } else {
+            for (final String messageID : callbackRegistry.getMessageIDs()) {
+
+                // checks if the callback message contains a stored messageID
+                if (message.contains(messageID) || headers.containsValue(messageID)) {
+                    matchingMessageID = messageID;
+                    break;
+                }
+            }
+        }
 
-                final MessageFactory messageFactory = MessageFactory.newInstance();
+        if (matchingMessageID == null) {
+            CallbackProcessor.LOG.warn("Callback message does not contain a MessageID of a pending invocation. Ignoring it.");
+            return;
+        }
 
-                final InputStream inputStream = new ByteArrayInputStream(message.getBytes("UTF-8"));
-                final SOAPMessage soapMessage = messageFactory.createMessage(null, inputStream);
+        CallbackProcessor.LOG.debug("Found MessageID: {}", matchingMessageID);
 
-                exchange.getIn().setHeader("MessageID", messageID);
-                exchange.getIn().setHeader("AvailableMessageID", "true");
+        final MessageFactory messageFactory = MessageFactory.newInstance();
 
-                Document doc;
+        final InputStream inputStream = new ByteArrayInputStream(message.getBytes("UTF-8"));
+        final SOAPMessage soapMessage = messageFactory.createMessage(null, inputStream);
 
-                try {
-                    doc = soapMessage.getSOAPBody().extractContentAsDocument();
-                    exchange.getIn().setBody(doc);
+        Document doc;
 
-                }
-                catch (final SOAPException e) {
+        try {
+            doc = soapMessage.getSOAPBody().extractContentAsDocument();
+        }
+        catch (final SOAPException e) {
 
-                    doc = soapMessage.getSOAPPart().getEnvelope().getOwnerDocument();
+            doc = soapMessage.getSOAPPart().getEnvelope().getOwnerDocument();
 
-                    CallbackProcessor.LOG.warn("SOAP response body can't be parsed and/or isn't well formatted. Returning alternative response.");
-                    exchange.getIn().setBody(doc);
-                }
+            CallbackProcessor.LOG.warn("SOAP response body can't be parsed and/or isn't well formatted. Returning alternative response.");
+        }
 
-                break;
+        exchange.getIn().setHeader("MessageID", matchingMessageID);
+        exchange.getIn().setBody(doc);
 
-            }
+        // hand the response directly to the waiting invocation
+        if (!callbackRegistry.complete(matchingMessageID, doc)) {
+            CallbackProcessor.LOG.warn("Invocation with MessageID {} is not waiting anymore.", matchingMessageID);
         }
-
     }
 }
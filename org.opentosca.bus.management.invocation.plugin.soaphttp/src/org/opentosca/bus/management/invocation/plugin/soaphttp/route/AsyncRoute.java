@@ -38,9 +38,7 @@ public class AsyncRoute extends RouteBuilder {
 
         final Processor callbackProcessor = new CallbackProcessor();
 
-        this.from("jetty:" + AsyncRoute.CALLBACKADDRESS).to("stream:out").process(callbackProcessor).choice()
-            .when(header("AvailableMessageID").isEqualTo("true"))
-            .recipientList(this.simple("direct:Async-WS-Callback${header.MessageID}")).end();
+        this.from("jetty:" + AsyncRoute.CALLBACKADDRESS).to("stream:out").process(callbackProcessor).end();
     }
 
 }
@@ -0,0 +1,131 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp.util;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+/**
+ * Correlation registry for asynchronous invocations of the
+ * SOAP/HTTP-Invocation-Management-Bus-Plug-in.<br>
+ * <br>
+ *
+ * Copyright 2019 IAAS University of Stuttgart <br>
+ * <br>
+ *
+ * For every asynchronous invocation a future is registered under the messageID of the request. The
+ * future is completed with the body of the callback message as soon as the callback arrives. Entries
+ * which are not completed within the expiry time are removed and completed exceptionally, so
+ * orphaned invocations do not stay in the registry forever.
+ */
+public class CallbackRegistry {
+
+    final private static Logger LOG = LoggerFactory.getLogger(CallbackRegistry.class);
+
+    private final ConcurrentMap<String, PendingCallback> pendingCallbacks = new ConcurrentHashMap<>();
+
+    private final long expiry;
+
+    private final ScheduledExecutorService expiryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "soaphttp-callback-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+
+    /**
+     * @param expiry time in milliseconds after which a not completed entry is removed
+     */
+    public CallbackRegistry(final long expiry) {
+        this.expiry = expiry;
+        final long interval = Math.max(1000, Math.min(expiry, 60000));
+        this.expiryScheduler.scheduleWithFixedDelay(this::expireCallbacks, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a new asynchronous invocation.
+     *
+     * @param messageID the messageID of the request
+     * @return the future which is completed with the body of the callback message
+     */
+    public CompletableFuture<Document> register(final String messageID) {
+        final PendingCallback pendingCallback = new PendingCallback();
+        final PendingCallback previous = this.pendingCallbacks.put(messageID, pendingCallback);
+        if (previous != null) {
+            CallbackRegistry.LOG.warn("Replacing pending callback with already registered MessageID: {}", messageID);
+            previous.future.cancel(false);
+        }
+        return pendingCallback.future;
+    }
+
+    /**
+     * Completes the invocation with the given messageID.
+     *
+     * @param messageID the messageID of the callback message
+     * @param response the body of the callback message
+     * @return <tt>true</tt> if an invocation was waiting for this messageID, <tt>false</tt> otherwise
+     */
+    public boolean complete(final String messageID, final Document response) {
+        final PendingCallback pendingCallback = this.pendingCallbacks.remove(messageID);
+        if (pendingCallback == null) {
+            return false;
+        }
+        return pendingCallback.future.complete(response);
+    }
+
+    /**
+     * Removes the invocation with the given messageID without completing it, if it is still
+     * registered with the given future.
+     *
+     * @param messageID the messageID of the request
+     * @param future the future returned by the registration
+     */
+    public void remove(final String messageID, final CompletableFuture<Document> future) {
+        this.pendingCallbacks.computeIfPresent(messageID, (id, pending) -> pending.future == future ? null : pending);
+    }
+
+    /**
+     * @return <tt>true</tt> if an invocation is waiting for the given messageID
+     */
+    public boolean contains(final String messageID) {
+        return this.pendingCallbacks.containsKey(messageID);
+    }
+
+    /**
+     * @return the messageIDs of all pending invocations
+     */
+    public Set<String> getMessageIDs() {
+        return this.pendingCallbacks.keySet();
+    }
+
+    private void expireCallbacks() {
+        final long now = System.currentTimeMillis();
+        final Iterator<Entry<String, PendingCallback>> iterator = this.pendingCallbacks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Entry<String, PendingCallback> entry = iterator.next();
+            if (now - entry.getValue().registered > this.expiry) {
+                CallbackRegistry.LOG.warn("No callback received for MessageID {}. Removing expired entry.",
+                                          entry.getKey());
+                iterator.remove();
+                entry.getValue().future.completeExceptionally(new TimeoutException(
+                    "No callback received for MessageID " + entry.getKey()));
+            }
+        }
+    }
+
+    private static class PendingCallback {
+
+        private final long registered = System.currentTimeMillis();
+        private final CompletableFuture<Document> future = new CompletableFuture<>();
+    }
+}
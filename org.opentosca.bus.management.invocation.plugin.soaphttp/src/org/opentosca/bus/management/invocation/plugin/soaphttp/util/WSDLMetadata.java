@@ -0,0 +1,164 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.predic8.wsdl.Binding;
+import com.predic8.wsdl.BindingOperation;
+import com.predic8.wsdl.Definitions;
+
+/**
+ * Precompiled metadata of a WSDL which is needed by the SOAP/HTTP-Invocation-Management-Bus-Plug-in
+ * to invoke an operation of a service.<br>
+ * <br>
+ *
+ * Copyright 2019 IAAS University of Stuttgart <br>
+ * <br>
+ *
+ * The metadata maps the name of each SOAP binding to its operations and stores for every operation
+ * the root element of the input message and whether an output message is defined. Thus, the
+ * messaging pattern of an invocation can be determined without parsing the WSDL again. If the input
+ * of an operation isn't defined by an element, e.g. for RPC style operations, no root element is
+ * stored for it, so the other operations of the WSDL can still be invoked.
+ */
+public class WSDLMetadata {
+
+    final private static Logger LOG = LoggerFactory.getLogger(WSDLMetadata.class);
+
+    private final Map<String, Map<String, OperationMetadata>> bindingToOperations;
+
+
+    private WSDLMetadata(final Map<String, Map<String, OperationMetadata>> bindingToOperations) {
+        this.bindingToOperations = bindingToOperations;
+    }
+
+    /**
+     * Extracts the metadata of all SOAP bindings of the given WSDL.
+     *
+     * @param wsdl the parsed WSDL
+     * @return the metadata of the WSDL
+     */
+    public static WSDLMetadata fromDefinitions(final Definitions wsdl) {
+
+        final Map<String, Map<String, OperationMetadata>> bindingToOperations = new LinkedHashMap<>();
+
+        for (final Binding bind : wsdl.getBindings()) {
+
+            if (!bind.getProtocol().toString().toLowerCase().contains("soap")) {
+                continue;
+            }
+
+            final String portType = bind.getPortType().getName();
+            final Map<String, OperationMetadata> operations = new LinkedHashMap<>();
+
+            for (final BindingOperation op : bind.getOperations()) {
+
+                String rootElementName = null;
+                String rootElementNamespaceURI = null;
+
+                if (op.getInput() != null) {
+                    try {
+                        final String rootElementWithPrefix =
+                            wsdl.getElementNameForOperation(op.getName(), portType);
+                        final com.predic8.schema.Element element =
+                            wsdl.getElementForOperation(op.getName(), portType);
+                        if (element != null && rootElementWithPrefix != null) {
+                            rootElementName = element.getName();
+                            rootElementNamespaceURI =
+                                (String) element.getNamespace(rootElementWithPrefix.replace(":" + rootElementName, ""));
+                        }
+                    }
+                    catch (final RuntimeException e) {
+                        WSDLMetadata.LOG.warn("Could not determine the root element of operation {} of binding {}: {}",
+                                              op.getName(), bind.getName(), e.getMessage());
+                    }
+                }
+
+                WSDLMetadata.LOG.debug("Binding: {} Operation: {} Root ElementName: {} with NamespaceURI: {}",
+                                       bind.getName(), op.getName(), rootElementName, rootElementNamespaceURI);
+
+                operations.put(op.getName(), new OperationMetadata(portType, rootElementName, rootElementNamespaceURI,
+                    op.getInput() != null, op.getOutput() != null));
+            }
+
+            bindingToOperations.put(bind.getName(), Collections.unmodifiableMap(operations));
+        }
+
+        return new WSDLMetadata(Collections.unmodifiableMap(bindingToOperations));
+    }
+
+    /**
+     * Searches the operation with the given name in all SOAP bindings of the WSDL.
+     *
+     * @param operationName the name of the operation
+     * @param inputRequired <tt>true</tt> if only operations defining an input message are searched
+     * @return the metadata of the first matching operation or <tt>null</tt> if no operation matches
+     */
+    public OperationMetadata getOperation(final String operationName, final boolean inputRequired) {
+        for (final Map<String, OperationMetadata> operations : this.bindingToOperations.values()) {
+            final OperationMetadata operation = operations.get(operationName);
+            if (operation != null && (!inputRequired || operation.hasInput())) {
+                return operation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the mapping of binding names to operation names to operation metadata
+     */
+    public Map<String, Map<String, OperationMetadata>> getBindingToOperations() {
+        return this.bindingToOperations;
+    }
+
+    /**
+     * Metadata of a single operation of a SOAP binding.
+     */
+    public static class OperationMetadata {
+
+        private final String portType;
+        private final String inputElementName;
+        private final String inputElementNamespaceURI;
+        private final boolean hasInput;
+        private final boolean hasOutput;
+
+
+        public OperationMetadata(final String portType, final String inputElementName,
+                                 final String inputElementNamespaceURI, final boolean hasInput,
+                                 final boolean hasOutput) {
+            this.portType = portType;
+            this.inputElementName = inputElementName;
+            this.inputElementNamespaceURI = inputElementNamespaceURI;
+            this.hasInput = hasInput;
+            this.hasOutput = hasOutput;
+        }
+
+        public String getPortType() {
+            return this.portType;
+        }
+
+        /**
+         * @return the name of the root element of the input message or <tt>null</tt> if the input
+         *         isn't defined by an element
+         */
+        public String getInputElementName() {
+            return this.inputElementName;
+        }
+
+        public String getInputElementNamespaceURI() {
+            return this.inputElementNamespaceURI;
+        }
+
+        public boolean hasInput() {
+            return this.hasInput;
+        }
+
+        public boolean hasOutput() {
+            return this.hasOutput;
+        }
+    }
+}
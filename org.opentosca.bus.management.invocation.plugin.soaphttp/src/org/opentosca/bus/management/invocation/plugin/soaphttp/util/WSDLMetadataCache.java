@@ -0,0 +1,124 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.predic8.wsdl.Definitions;
+import com.predic8.wsdl.WSDLParser;
+
+/**
+ * Cache for the WSDL metadata of the services invoked by the
+ * SOAP/HTTP-Invocation-Management-Bus-Plug-in.<br>
+ * <br>
+ *
+ * Copyright 2019 IAAS University of Stuttgart <br>
+ * <br>
+ *
+ * The metadata is keyed by the endpoint of the service (without the <tt>?wsdl</tt> suffix). It is
+ * loaded once, normally when the corresponding implementation artifact is deployed, and dropped when
+ * the endpoint is removed. If the WSDL is not accessible yet, the loading is retried with an
+ * increasing delay until a timeout is reached.
+ */
+public class WSDLMetadataCache {
+
+    final private static Logger LOG = LoggerFactory.getLogger(WSDLMetadataCache.class);
+
+    private static final String WSDL_SUFFIX = "?wsdl";
+
+    // retry settings for WSDLs that are not accessible yet (max wait 5 min)
+    private static final long INITIAL_RETRY_DELAY = 100;
+    private static final long MAX_RETRY_DELAY = 10000;
+    private static final long RETRY_TIMEOUT = 300000;
+
+    private final ConcurrentMap<String, WSDLMetadata> endpointToMetadata = new ConcurrentHashMap<>();
+
+
+    /**
+     * Returns the metadata for the given endpoint and loads it if it is not cached yet.
+     *
+     * @param endpoint the endpoint of the service with or without the <tt>?wsdl</tt> suffix
+     * @return the metadata of the WSDL of the service
+     */
+    public WSDLMetadata get(final String endpoint) {
+        final String key = toKey(endpoint);
+        final WSDLMetadata cached = this.endpointToMetadata.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // load outside of the map to not block other endpoints while waiting for the WSDL
+        final WSDLMetadata loaded = load(key);
+        final WSDLMetadata concurrentlyLoaded = this.endpointToMetadata.putIfAbsent(key, loaded);
+        return concurrentlyLoaded != null ? concurrentlyLoaded : loaded;
+    }
+
+    /**
+     * Loads the metadata for the given endpoint if it is not cached yet.
+     *
+     * @param endpoint the endpoint of the service with or without the <tt>?wsdl</tt> suffix
+     */
+    public void prepare(final String endpoint) {
+        try {
+            get(endpoint);
+        }
+        catch (final RuntimeException e) {
+            WSDLMetadataCache.LOG.warn("Unable to prepare the WSDL metadata for endpoint {}: {}", endpoint,
+                                       e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the cached metadata of the given endpoint.
+     *
+     * @param endpoint the endpoint of the service with or without the <tt>?wsdl</tt> suffix
+     */
+    public void invalidate(final String endpoint) {
+        if (this.endpointToMetadata.remove(toKey(endpoint)) != null) {
+            WSDLMetadataCache.LOG.debug("Removed cached WSDL metadata for endpoint {}", endpoint);
+        }
+    }
+
+    private WSDLMetadata load(final String key) {
+
+        final String wsdlLocation = key + WSDL_SUFFIX;
+        WSDLMetadataCache.LOG.info("Parsing WSDL at: {}.", wsdlLocation);
+
+        final WSDLParser parser = new WSDLParser();
+        final long deadline = System.currentTimeMillis() + RETRY_TIMEOUT;
+        long delay = INITIAL_RETRY_DELAY;
+        int count = 0;
+
+        // If wsdl is not accessible, try again with increasing delay
+        while (true) {
+            try {
+                final Definitions wsdl = parser.parse(wsdlLocation);
+                return WSDLMetadata.fromDefinitions(wsdl);
+            }
+            catch (final RuntimeException e) {
+                if (System.currentTimeMillis() + delay > deadline) {
+                    WSDLMetadataCache.LOG.error("Unable to access the wsdl at: {}.", wsdlLocation);
+                    throw e;
+                }
+
+                WSDLMetadataCache.LOG.warn("Problem accessing the wsdl at: {}. Retry in {} ms... ({})", wsdlLocation,
+                                           delay, ++count);
+                try {
+                    Thread.sleep(delay);
+                }
+                catch (final InterruptedException e1) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY);
+            }
+        }
+    }
+
+    private static String toKey(final String endpoint) {
+        return endpoint.endsWith(WSDL_SUFFIX) ? endpoint.substring(0, endpoint.length() - WSDL_SUFFIX.length())
+                                              : endpoint;
+    }
+}
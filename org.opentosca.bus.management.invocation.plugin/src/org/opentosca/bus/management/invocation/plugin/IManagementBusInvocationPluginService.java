@@ -1,5 +1,6 @@
 package org.opentosca.bus.management.invocation.plugin;
 
+import java.net.URI;
 import java.util.List;
 
 import org.apache.camel.Exchange;
@@ -39,4 +40,25 @@ public interface IManagementBusInvocationPluginService {
      */
     public List<String> getSupportedTypes();
 
+    /**
+     * Notifies the plug-in that an implementation artifact was deployed and is reachable at the
+     * given endpoint. Plug-ins can use this to prepare following invocations of the artifact, by
+     * default nothing is done.
+     *
+     * @param endpoint the endpoint of the deployed implementation artifact
+     */
+    public default void endpointDeployed(final URI endpoint) {
+        // nothing to prepare
+    }
+
+    /**
+     * Notifies the plug-in that the given endpoint was removed. Data prepared for this endpoint can
+     * be dropped, by default nothing is done.
+     *
+     * @param endpoint the removed endpoint
+     */
+    public default void endpointRemoved(final URI endpoint) {
+        // nothing to drop
+    }
+
 }
@@ -6,8 +6,14 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,12 +47,17 @@ import org.opentosca.container.core.next.model.PlanLanguage;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.repository.PlanInstanceEventWriter;
 import org.opentosca.container.core.next.repository.PlanInstanceRepository;
 import org.opentosca.container.core.service.ICoreEndpointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
 /**
  * Engine for delegating invoke-requests of implementation artifacts or plans to matching
  * plug-ins.<br>
@@ -93,7 +104,17 @@ public class ManagementBusServiceImpl implements IManagementBusService {
 
     private final static Logger LOG = LoggerFactory.getLogger(ManagementBusServiceImpl.class);
 
-    private static Map<String, Object> locks = new HashMap<>();
+    // locks are only weakly referenced, thus entries are evicted as soon as no thread uses them
+    private static final LoadingCache<String, ReadWriteLock> locks =
+        CacheBuilder.newBuilder().weakValues().build(new CacheLoader<String, ReadWriteLock>() {
+            @Override
+            public ReadWriteLock load(final String lockString) {
+                return new ReentrantReadWriteLock();
+            }
+        });
+
+    // running IA deployments, concurrent requests for the same IA wait for the deployment result
+    private static final ConcurrentMap<String, CompletableFuture<URI>> deployments = new ConcurrentHashMap<>();
 
     @Override
     public void invokeIA(final Exchange exchange) {
@@ -159,13 +180,8 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 + neededInterface + "' and operation '" + neededOperation + "' after " + duration + "ms");
             LOG.info("IA execution duration: {}ms", duration);
 
-            // update plan in repository with new log event
-            final PlanInstanceRepository repo = new PlanInstanceRepository();
-            final PlanInstance plan = repo.findByCorrelationId(correlationID);
-            if (Objects.nonNull(plan)) {
-                plan.addEvent(event);
-                repo.update(plan);
-            }
+            // append the new log event to the plan
+            PlanInstanceEventWriter.append(correlationID, event);
         }
     }
 
@@ -410,140 +426,199 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         message.setHeader(MBHeader.ARTIFACTTYPEID_STRING.toString(), artifactType);
 
         // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
-        // of an IA after successful checking that an IA is already deployed.
+        // of an IA after successful checking that an IA is already deployed. The IA is deployed and
+        // invoked while holding the shared lock of the IA, thus all callers invoke it in parallel and
+        // it is only undeployed with the exclusive lock after all running invocations finished.
         final String identifier =
             getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImplementationID, iaName,
                                            serviceTemplateInstanceID.toString());
-        synchronized (getLockForString(identifier)) {
 
-            LOG.debug("Checking if IA was already deployed...");
+        final ReadWriteLock lock = getLockForString(identifier);
+        lock.readLock().lock();
+        try {
+            // concurrent requests for the IA wait for a single running deployment
+            final CompletableFuture<URI> deployment = new CompletableFuture<>();
+            final CompletableFuture<URI> runningDeployment = deployments.putIfAbsent(identifier, deployment);
+
+            URI endpointURI;
+            if (Objects.isNull(runningDeployment)) {
+                try {
+                    endpointURI = deployIA(exchange, csarID, serviceTemplateInstanceID, typeImplementationID,
+                                           artifactTemplateID, iaName, deploymentType, deploymentLocation,
+                                           portType);
+                    deployment.complete(endpointURI);
+                }
+                catch (final RuntimeException e) {
+                    deployment.completeExceptionally(e);
+                    throw e;
+                }
+                finally {
+                    deployments.remove(identifier, deployment);
+                }
 
-            // check whether there are already stored endpoints for this IA
-            URI endpointURI = null;
-            final List<WSDLEndpoint> endpoints =
-                ServiceHandler.endpointService.getWSDLEndpointsForNTImplAndIAName(triggeringContainer,
-                                                                                  deploymentLocation,
-                                                                                  typeImplementationID, iaName);
+                // let the invocation plug-in prepare the invocation of the IA, this may wait for the IA
+                // to become reachable and is thus done outside of the deployment
+                if (Objects.nonNull(endpointURI) && !endpointURI.toString().contains(Constants.PLACEHOLDER_START)) {
+                    PluginHandler.notifyEndpointDeployed(invocationType, deploymentLocation, endpointURI);
+                }
+            } else {
+                LOG.debug("IA is currently deployed by another request. Waiting for the deployment...");
+                try {
+                    endpointURI = runningDeployment.join();
+                }
+                catch (final CompletionException | CancellationException e) {
+                    LOG.error("Concurrent deployment of the IA failed: {}", e.getMessage());
+                    endpointURI = null;
+                }
+            }
 
-            if (Objects.nonNull(endpoints) && !endpoints.isEmpty()) {
-                LOG.debug("IA is already deployed.");
+            if (Objects.isNull(endpointURI)) {
+                // IA deployment was not successful
+                return false;
+            }
 
-                endpointURI = endpoints.get(0).getURI();
+            if (endpointURI.toString().contains(Constants.PLACEHOLDER_START)
+                && endpointURI.toString().contains(Constants.PLACEHOLDER_END)) {
 
-                message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
+                // If a placeholder is specified, the service is part of the topology and called
+                // without deployment.
+                endpointURI = replacePlaceholderWithInstanceData(endpointURI, nodeTemplateInstance);
+            }
 
-                // store new endpoint for the IA
-                final WSDLEndpoint endpoint =
-                    new WSDLEndpoint(endpointURI, portType, triggeringContainer, deploymentLocation, csarID,
-                        serviceTemplateInstanceID, null, typeImplementationID, iaName, new HashMap<String, String>());
-                ServiceHandler.endpointService.storeWSDLEndpoint(endpoint);
+            LOG.debug("Endpoint: {}", endpointURI.toString());
+            message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
 
-                // Call IA, send response to caller and terminate bus
-                LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
-                handleResponse(PluginHandler.callMatchingInvocationPlugin(exchange, invocationType,
-                                                                          deploymentLocation));
-                return true;
-            } else {
-                LOG.debug("IA not yet deployed. Trying to deploy...");
+            // Call IA, send response to caller and terminate bus
+            LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
+            handleResponse(PluginHandler.callMatchingInvocationPlugin(exchange, invocationType, deploymentLocation));
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+        return true;
+    }
 
-                LOG.debug("Checking if all required features are met by the deployment plug-in or the environment.");
+    /**
+     * Checks if the given IA is already deployed and deploys it otherwise. Has to be called while
+     * holding the shared lock for the unique synchronization String of the IA and the running
+     * deployment of the IA.
+     *
+     * @return the endpoint of the deployed IA which may still contain placeholders, or <tt>null</tt>
+     *         if the deployment was not successful
+     */
+    private URI deployIA(Exchange exchange, final CSARID csarID, final Long serviceTemplateInstanceID,
+                         final QName typeImplementationID, final QName artifactTemplateID, final String iaName,
+                         final String deploymentType, final String deploymentLocation, final QName portType) {
 
-                final IManagementBusDeploymentPluginService deploymentPlugin =
-                    ServiceHandler.deploymentPluginServices.get(deploymentType);
+        final Message message = exchange.getIn();
+        final String triggeringContainer = Settings.OPENTOSCA_CONTAINER_HOSTNAME;
 
-                // retrieve required features for the TypeImplementation
-                final List<String> requiredFeatures =
-                    ServiceHandler.toscaEngineService.getRequiredContainerFeaturesOfATypeImplementation(csarID,
-                                                                                                        typeImplementationID);
+        LOG.debug("Checking if IA was already deployed...");
 
-                // check whether all features are met and abort deployment otherwise
-                if (DeploymentPluginCapabilityChecker.capabilitiesAreMet(requiredFeatures, deploymentPlugin)) {
+        // check whether there are already stored endpoints for this IA
+        URI endpointURI = null;
+        final List<WSDLEndpoint> endpoints =
+            ServiceHandler.endpointService.getWSDLEndpointsForNTImplAndIAName(triggeringContainer, deploymentLocation,
+                                                                              typeImplementationID, iaName);
 
-                    // get all artifact references for this ArtifactTemplate
-                    final List<AbstractArtifact> artifacts =
-                        ServiceHandler.toscaEngineService.getArtifactsOfAArtifactTemplate(csarID, artifactTemplateID);
+        if (Objects.nonNull(endpoints) && !endpoints.isEmpty()) {
+            LOG.debug("IA is already deployed.");
 
-                    // convert relative references to absolute references to enable access to the IA
-                    // files from other OpenTOSCA Container nodes
-                    LOG.debug("Searching for artifact references for this ArtifactTemplate...");
-                    final List<String> artifactReferences = new ArrayList<>();
-                    for (final AbstractArtifact artifact : artifacts) {
-                        // get base URL for the API to retrieve CSAR content
-                        String absoluteArtifactReference = Settings.OPENTOSCA_CONTAINER_CONTENT_API;
+            endpointURI = endpoints.get(0).getURI();
 
-                        // replace placeholders with correct data for this reference
-                        absoluteArtifactReference = absoluteArtifactReference.replace("{csarid}", csarID.getFileName());
-                        absoluteArtifactReference =
-                            absoluteArtifactReference.replace("{artifactreference}", artifact.getArtifactReference());
+            // store new endpoint for the IA
+            final WSDLEndpoint endpoint =
+                new WSDLEndpoint(endpointURI, portType, triggeringContainer, deploymentLocation, csarID,
+                    serviceTemplateInstanceID, null, typeImplementationID, iaName, new HashMap<String, String>());
+            ServiceHandler.endpointService.storeWSDLEndpoint(endpoint);
 
-                        artifactReferences.add(absoluteArtifactReference);
-                        LOG.debug("Found reference: {} ", absoluteArtifactReference);
-                    }
+            return endpointURI;
+        }
 
-                    if (!artifactReferences.isEmpty()) {
-                        // add references list to header to enable access from the deployment
-                        // plug-ins
-                        message.setHeader(MBHeader.ARTIFACTREFERENCES_LISTSTRING.toString(), artifactReferences);
-
-                        // search ServiceEndpoint property for the artifact
-                        final String serviceEndpoint = Util.getProperty(csarID, artifactTemplateID, "ServiceEndpoint");
-                        message.setHeader(MBHeader.ARTIFACTSERVICEENDPOINT_STRING.toString(), serviceEndpoint);
-
-                        if (Objects.nonNull(serviceEndpoint)) {
-                            LOG.debug("ServiceEndpoint property: {}", serviceEndpoint);
-                        } else {
-                            LOG.debug("No ServiceEndpoint property defined!");
-                        }
-
-                        // invoke deployment
-                        exchange =
-                            PluginHandler.callMatchingDeploymentPlugin(exchange, deploymentType, deploymentLocation);
-
-                        endpointURI = message.getHeader(MBHeader.ENDPOINT_URI.toString(), URI.class);
-
-                        if (Objects.nonNull(endpointURI)) {
-                            if (endpointURI.toString().contains(Constants.PLACEHOLDER_START)
-                                && endpointURI.toString().contains(Constants.PLACEHOLDER_END)) {
-
-                                // If a placeholder is specified, the service is part of the
-                                // topology. We do not store this endpoints as they are not part of
-                                // the management environment.
-                                LOG.debug("Received endpoint contains placeholders. Service is part of the topology and called without deployment.");
-
-                                endpointURI = replacePlaceholderWithInstanceData(endpointURI, nodeTemplateInstance);
-
-                                message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
-                            } else {
-                                LOG.debug("IA successfully deployed. Storing endpoint...");
-
-                                // store new endpoint for the IA
-                                final WSDLEndpoint endpoint = new WSDLEndpoint(endpointURI, portType,
-                                    triggeringContainer, deploymentLocation, csarID, serviceTemplateInstanceID, null,
-                                    typeImplementationID, iaName, new HashMap<String, String>());
-                                ServiceHandler.endpointService.storeWSDLEndpoint(endpoint);
-                            }
-
-                            LOG.debug("Endpoint: {}", endpointURI.toString());
-
-                            // Call IA, send response to caller and terminate bus
-                            LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
-                            handleResponse(PluginHandler.callMatchingInvocationPlugin(exchange, invocationType,
-                                                                                      deploymentLocation));
-                            return true;
-                        } else {
-                            LOG.debug("IA deployment failed.");
-                        }
-                    } else {
-                        LOG.debug("No artifact references found. No deployment and invocation possible for this ArtifactTemplate.");
-                    }
-                } else {
-                    LOG.debug("Required features not completely satisfied by the plug-in.");
-                }
-            }
+        LOG.debug("IA not yet deployed. Trying to deploy...");
+
+        LOG.debug("Checking if all required features are met by the deployment plug-in or the environment.");
+
+        final IManagementBusDeploymentPluginService deploymentPlugin =
+            ServiceHandler.deploymentPluginServices.get(deploymentType);
+
+        // retrieve required features for the TypeImplementation
+        final List<String> requiredFeatures =
+            ServiceHandler.toscaEngineService.getRequiredContainerFeaturesOfATypeImplementation(csarID,
+                                                                                                typeImplementationID);
+
+        // check whether all features are met and abort deployment otherwise
+        if (!DeploymentPluginCapabilityChecker.capabilitiesAreMet(requiredFeatures, deploymentPlugin)) {
+            LOG.debug("Required features not completely satisfied by the plug-in.");
+            return null;
         }
 
-        // IA invocation was not successful
-        return false;
+        // get all artifact references for this ArtifactTemplate
+        final List<AbstractArtifact> artifacts =
+            ServiceHandler.toscaEngineService.getArtifactsOfAArtifactTemplate(csarID, artifactTemplateID);
+
+        // convert relative references to absolute references to enable access to the IA
+        // files from other OpenTOSCA Container nodes
+        LOG.debug("Searching for artifact references for this ArtifactTemplate...");
+        final List<String> artifactReferences = new ArrayList<>();
+        for (final AbstractArtifact artifact : artifacts) {
+            // get base URL for the API to retrieve CSAR content
+            String absoluteArtifactReference = Settings.OPENTOSCA_CONTAINER_CONTENT_API;
+
+            // replace placeholders with correct data for this reference
+            absoluteArtifactReference = absoluteArtifactReference.replace("{csarid}", csarID.getFileName());
+            absoluteArtifactReference =
+                absoluteArtifactReference.replace("{artifactreference}", artifact.getArtifactReference());
+
+            artifactReferences.add(absoluteArtifactReference);
+            LOG.debug("Found reference: {} ", absoluteArtifactReference);
+        }
+
+        if (artifactReferences.isEmpty()) {
+            LOG.debug("No artifact references found. No deployment and invocation possible for this ArtifactTemplate.");
+            return null;
+        }
+
+        // add references list to header to enable access from the deployment plug-ins
+        message.setHeader(MBHeader.ARTIFACTREFERENCES_LISTSTRING.toString(), artifactReferences);
+
+        // search ServiceEndpoint property for the artifact
+        final String serviceEndpoint = Util.getProperty(csarID, artifactTemplateID, "ServiceEndpoint");
+        message.setHeader(MBHeader.ARTIFACTSERVICEENDPOINT_STRING.toString(), serviceEndpoint);
+
+        if (Objects.nonNull(serviceEndpoint)) {
+            LOG.debug("ServiceEndpoint property: {}", serviceEndpoint);
+        } else {
+            LOG.debug("No ServiceEndpoint property defined!");
+        }
+
+        // invoke deployment
+        exchange = PluginHandler.callMatchingDeploymentPlugin(exchange, deploymentType, deploymentLocation);
+
+        endpointURI = message.getHeader(MBHeader.ENDPOINT_URI.toString(), URI.class);
+
+        if (Objects.isNull(endpointURI)) {
+            LOG.debug("IA deployment failed.");
+            return null;
+        }
+
+        if (endpointURI.toString().contains(Constants.PLACEHOLDER_START)
+            && endpointURI.toString().contains(Constants.PLACEHOLDER_END)) {
+
+            // If a placeholder is specified, the service is part of the topology. We do not store
+            // this endpoints as they are not part of the management environment.
+            LOG.debug("Received endpoint contains placeholders. Service is part of the topology and called without deployment.");
+        } else {
+            LOG.debug("IA successfully deployed. Storing endpoint...");
+
+            // store new endpoint for the IA
+            final WSDLEndpoint endpoint =
+                new WSDLEndpoint(endpointURI, portType, triggeringContainer, deploymentLocation, csarID,
+                    serviceTemplateInstanceID, null, typeImplementationID, iaName, new HashMap<String, String>());
+            ServiceHandler.endpointService.storeWSDLEndpoint(endpoint);
+        }
+
+        return endpointURI;
     }
 
     @Override
@@ -637,11 +712,9 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 + "ms");
             LOG.info("Plan execution duration: {}ms", duration);
 
-            // update plan in repository with new log event
-            final PlanInstanceRepository repo = new PlanInstanceRepository();
-            plan = repo.findByCorrelationId(correlationID);
-            plan.addEvent(event);
-            repo.update(plan);
+            // append the new log event to the plan
+            PlanInstanceEventWriter.append(correlationID, event);
+            plan = new PlanInstanceRepository().findByCorrelationId(correlationID);
 
             // update the output parameters in the plan instance
             PlanInstanceHandler.updatePlanInstanceOutput(plan, csarID, message.getBody());
@@ -753,8 +826,11 @@ public class ManagementBusServiceImpl implements IManagementBusService {
             final String identifier = getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImpl,
                                                                      iaName, instanceID.toString());
 
-            // synchronize deletion to avoid concurrency issues
-            synchronized (getLockForString(identifier)) {
+            // the exclusive lock waits for all running invocations of the IA and blocks new ones until the
+            // endpoint is deleted
+            final ReadWriteLock lock = getLockForString(identifier);
+            lock.writeLock().lock();
+            try {
 
                 // get number of endpoints for the same IA
                 final int count = ServiceHandler.endpointService
@@ -796,6 +872,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                     }
 
                     exchange = deploymentPlugin.invokeImplementationArtifactUndeployment(exchange);
+                    PluginHandler.notifyEndpointRemoved(serviceEndpoint.getURI());
 
                     // print the undeployment result state
                     if (exchange.getIn().getHeader(MBHeader.OPERATIONSTATE_BOOLEAN.toString(), boolean.class)) {
@@ -811,6 +888,9 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 ServiceHandler.endpointService.removeWSDLEndpoint(serviceEndpoint);
                 LOG.debug("Endpoint deleted.");
             }
+            finally {
+                lock.writeLock().unlock();
+            }
         }
 
         LOG.debug("Endpoint deletion terminated.");
@@ -841,24 +921,16 @@ public class ManagementBusServiceImpl implements IManagementBusService {
     }
 
     /**
-     * Returns an Object which can be used to synchronize all actions related to a certain String value.
+     * Returns a lock which can be used to synchronize all actions related to a certain String value.
+     * Invocations of an IA hold its shared lock, (un)deployments which must not overlap with them hold
+     * the exclusive lock. The lock has to be referenced while it is held.
      *
      * @param lockString
-     * @return the object which can be used for synchronization
+     * @return the lock which can be used for synchronization
      */
-    public static Object getLockForString(final String lockString) {
+    public static ReadWriteLock getLockForString(final String lockString) {
         Objects.requireNonNull(lockString);
-
-        Object lock = null;
-        synchronized (locks) {
-            lock = locks.get(lockString);
-
-            if (lock == null) {
-                lock = new Object();
-                locks.put(lockString, lock);
-            }
-            return lock;
-        }
+        return locks.getUnchecked(lockString);
     }
 
     /**
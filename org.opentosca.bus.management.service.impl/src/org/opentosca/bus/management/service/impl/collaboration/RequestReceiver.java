@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
 
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
@@ -28,6 +29,7 @@ import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueMap
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueType;
 import org.opentosca.bus.management.service.impl.collaboration.route.ReceiveRequestRoute;
 import org.opentosca.bus.management.service.impl.servicehandler.ServiceHandler;
+import org.opentosca.bus.management.service.impl.util.PluginHandler;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
@@ -175,7 +177,9 @@ public class RequestReceiver {
 
         // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
         // of an IA after successful checking that an IA is already deployed.
-        synchronized (ManagementBusServiceImpl.getLockForString(identifier)) {
+        final ReadWriteLock lock = ManagementBusServiceImpl.getLockForString(identifier);
+        lock.writeLock().lock();
+        try {
 
             LOG.debug("Got lock for operations on the given IA. Checking if IA is already deployed...");
 
@@ -217,6 +221,9 @@ public class RequestReceiver {
                 }
             }
         }
+        finally {
+            lock.writeLock().unlock();
+        }
 
         LOG.debug("Sending response message containing endpoint URI: {}", endpointURI);
 
@@ -276,7 +283,9 @@ public class RequestReceiver {
 
         // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
         // of an IA after successful checking that an IA is already deployed.
-        synchronized (ManagementBusServiceImpl.getLockForString(identifier)) {
+        final ReadWriteLock lock = ManagementBusServiceImpl.getLockForString(identifier);
+        lock.writeLock().lock();
+        try {
 
             LOG.debug("Got lock for operations on the given IA. Getting endpoints fot the IA...");
 
@@ -301,6 +310,7 @@ public class RequestReceiver {
                     LOG.debug("Undeploying IA...");
 
                     exchange = deploymentPlugin.invokeImplementationArtifactUndeployment(exchange);
+                    PluginHandler.notifyEndpointRemoved(endpoint.getURI());
                     undeploymentState =
                         exchange.getIn().getHeader(MBHeader.OPERATIONSTATE_BOOLEAN.toString(), boolean.class);
                 } else {
@@ -310,6 +320,9 @@ public class RequestReceiver {
                 LOG.error("No enpoint found for this IA. Undeployment not possible!");
             }
         }
+        finally {
+            lock.writeLock().unlock();
+        }
 
         LOG.debug("Sending response message containing undeployment state: {}", undeploymentState);
 
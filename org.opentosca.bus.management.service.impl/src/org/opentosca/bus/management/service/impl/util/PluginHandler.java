@@ -1,5 +1,8 @@
 package org.opentosca.bus.management.service.impl.util;
 
+import java.net.URI;
+import java.util.HashSet;
+
 import javax.xml.namespace.QName;
 
 import org.apache.camel.Exchange;
@@ -69,6 +72,44 @@ public class PluginHandler {
         return exchange;
     }
 
+    /**
+     * Notifies the invocation plug-in that supports the specific invocation-type about a newly
+     * deployed IA, so that it can prepare the invocation of the IA. IAs deployed on remote OpenTOSCA
+     * Containers are prepared by the remote Container.
+     *
+     * @param invocationType the invocation type for the IA
+     * @param deploymentLocation the deployment location of the IA
+     * @param endpoint the endpoint of the deployed IA
+     */
+    public static void notifyEndpointDeployed(final String invocationType, final String deploymentLocation,
+                                              final URI endpoint) {
+
+        if (!deploymentLocation.equals(Settings.OPENTOSCA_CONTAINER_HOSTNAME)) {
+            return;
+        }
+
+        final IManagementBusInvocationPluginService invocationPlugin =
+            ServiceHandler.invocationPluginServices.get(invocationType);
+
+        if (invocationPlugin != null) {
+            invocationPlugin.endpointDeployed(endpoint);
+        }
+    }
+
+    /**
+     * Notifies all invocation plug-ins that the given endpoint was removed.
+     *
+     * @param endpoint the removed endpoint
+     */
+    public static void notifyEndpointRemoved(final URI endpoint) {
+        LOG.debug("Notifying invocation plug-ins about removed endpoint {}", endpoint);
+
+        for (final IManagementBusInvocationPluginService invocationPlugin : new HashSet<>(
+            ServiceHandler.invocationPluginServices.values())) {
+            invocationPlugin.endpointRemoved(endpoint);
+        }
+    }
+
     /**
      * Calls the deployment plug-in that supports the specific deployment type and redirects deployments
      * on remote OpenTOSCA Containers to the 'remote' plug-in.
@@ -9,6 +9,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -23,6 +24,7 @@ import org.opentosca.container.api.dto.plan.PlanListDTO;
 import org.opentosca.container.api.dto.request.CreatePlanInstanceLogEntryRequest;
 import org.opentosca.container.api.service.PlanService;
 import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.next.model.PlanInstanceState;
 import org.opentosca.container.core.tosca.extension.PlanTypes;
 import org.opentosca.container.core.tosca.extension.TParameter;
 
@@ -68,9 +70,13 @@ public class BuildPlanController {
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get build plan instances", response = PlanInstanceListDTO.class)
     public Response getBuildPlanInstances(@ApiParam("ID of build plan") @PathParam("plan") final String plan,
-                                          @Context final UriInfo uriInfo) {
-        return this.planService.getPlanInstances(plan, uriInfo, this.csarId, this.serviceTemplate, null,
-                                                 this.PLAN_TYPE);
+                                          @Context final UriInfo uriInfo,
+                                          @ApiParam("only instances in one of these states") @QueryParam("state") final List<PlanInstanceState> states,
+                                          @ApiParam("only instances created after this ISO-8601 date-time") @QueryParam("createdAfter") final String createdAfter,
+                                          @ApiParam("position of the first instance") @QueryParam("offset") final Integer offset,
+                                          @ApiParam("maximum number of instances") @QueryParam("limit") final Integer limit) {
+        return this.planService.getPlanInstances(plan, uriInfo, this.csarId, this.serviceTemplate, null, states,
+                                                 createdAfter, offset, limit, this.PLAN_TYPE);
     }
 
     @POST
@@ -109,6 +115,20 @@ public class BuildPlanController {
                                                      this.PLAN_TYPE);
     }
 
+    @GET
+    @Path("/{plan}/instances/{instance}/changes")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @ApiOperation(value = "Wait for changes of a build plan instance", response = PlanInstanceDTO.class)
+    public Response getBuildPlanInstanceChanges(@ApiParam("ID of build plan") @PathParam("plan") final String plan,
+                                                @ApiParam("correlation ID") @PathParam("instance") final String instance,
+                                                @Context final UriInfo uriInfo,
+                                                @ApiParam("state known by the client") @QueryParam("state") final PlanInstanceState state,
+                                                @ApiParam("number of log entries known by the client") @QueryParam("logs") final Integer logs,
+                                                @ApiParam("maximum time to wait in milliseconds") @QueryParam("timeout") final Long timeout) {
+        return this.planService.getPlanInstanceChanges(plan, instance, uriInfo, this.csarId, this.serviceTemplate, null,
+                                                       state, logs, timeout, this.PLAN_TYPE);
+    }
+
     @PUT
     @Path("/{plan}/instances/{instance}/state")
     @Consumes({MediaType.TEXT_PLAIN})
@@ -127,9 +147,11 @@ public class BuildPlanController {
                   responseContainer = "list")
     public Response getBuildPlanInstanceLogs(@ApiParam("ID of build plan") @PathParam("plan") final String plan,
                                              @ApiParam("Correlation ID") @PathParam("instance") final String instance,
-                                             @Context final UriInfo uriInfo) {
+                                             @Context final UriInfo uriInfo,
+                                             @ApiParam("position of the first log entry") @QueryParam("offset") final Integer offset,
+                                             @ApiParam("maximum number of log entries") @QueryParam("limit") final Integer limit) {
         return this.planService.getPlanInstanceLogs(plan, instance, uriInfo, this.csarId, this.serviceTemplate, null,
-                                                    this.PLAN_TYPE);
+                                                    offset, limit, this.PLAN_TYPE);
     }
 
     @POST
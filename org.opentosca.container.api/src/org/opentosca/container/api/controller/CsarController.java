@@ -1,23 +1,26 @@
 package org.opentosca.container.api.controller;
 
 import java.io.File;
-import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
@@ -31,19 +34,19 @@ import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import org.glassfish.jersey.media.multipart.FormDataParam;
 import org.opentosca.container.api.controller.content.DirectoryController;
 import org.opentosca.container.api.dto.CsarDTO;
+import org.opentosca.container.api.dto.CsarImportJobDTO;
+import org.opentosca.container.api.dto.CsarImportJobListDTO;
 import org.opentosca.container.api.dto.CsarListDTO;
 import org.opentosca.container.api.dto.request.CsarTransformRequest;
 import org.opentosca.container.api.dto.request.CsarUploadRequest;
+import org.opentosca.container.api.service.CsarImportJob;
+import org.opentosca.container.api.service.CsarImportService;
 import org.opentosca.container.api.service.CsarService;
-import org.opentosca.container.api.util.ModelUtil;
 import org.opentosca.container.api.util.UriUtil;
-import org.opentosca.container.connector.winery.WineryConnector;
 import org.opentosca.container.control.IOpenToscaControlService;
-import org.opentosca.container.core.common.EntityExistsException;
 import org.opentosca.container.core.engine.IToscaEngineService;
 import org.opentosca.container.core.model.csar.CSARContent;
 import org.opentosca.container.core.model.csar.id.CSARID;
-import org.opentosca.container.core.service.ICoreFileService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,17 +60,20 @@ public class CsarController {
 
     private static Logger logger = LoggerFactory.getLogger(CsarController.class);
 
+    // maximum time in seconds a status request waits for an import job to finish
+    private static final int MAX_WAIT = 60;
+
     @Context
     private UriInfo uriInfo;
 
     private CsarService csarService;
 
-    private ICoreFileService fileService;
-
     private IToscaEngineService engineService;
 
     private IOpenToscaControlService controlService;
 
+    private CsarImportService importService;
+
     @GET
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get all CSARs", response = CsarListDTO.class)
@@ -162,14 +168,15 @@ public class CsarController {
 
         logger.info("Uploading new CSAR file \"{}\", size {}", file.getFileName(), file.getSize());
 
-        return handleCsarUpload(file.getFileName(), is, applyEnrichment);
-
+        // the stream is only readable during the request
+        final File tempFile = this.csarService.storeTemporaryFile(file.getFileName(), is);
+        return handleCsarUpload(file.getFileName(), () -> tempFile, applyEnrichment);
     }
 
     @POST
     @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
-    @ApiOperation(value = "Handles an upload request for a CSAR file")
+    @ApiOperation(value = "Handles an upload request for a CSAR file", response = CsarImportJobDTO.class)
     public Response uploadCsar(@ApiParam(required = true) final CsarUploadRequest request) {
 
         if (request == null) {
@@ -180,135 +187,92 @@ public class CsarController {
         logger.info("Uploading new CSAR based on request payload: name={}; url={}; applyEnrichment={}",
                     request.getName(), request.getUrl(), request.getEnrich());
 
-        String filename = request.getName();
-        if (!filename.endsWith(".csar")) {
-            filename = filename + ".csar";
+        String name = request.getName();
+        if (!name.endsWith(".csar")) {
+            name = name + ".csar";
         }
+        final String filename = name;
 
+        final URL url;
         try {
-            final URL url = new URL(request.getUrl());
-
-            return handleCsarUpload(filename, url.openStream(), request.getEnrich());
+            url = new URL(request.getUrl());
         }
-        catch (final Exception e) {
+        catch (final MalformedURLException e) {
             logger.error("Error uploading CSAR: {}", e.getMessage(), e);
-            return Response.serverError().build();
+            return Response.status(Status.BAD_REQUEST).build();
         }
-    }
 
+        // the CSAR is downloaded by the import job
+        return handleCsarUpload(filename, () -> this.csarService.storeTemporaryFile(filename, url.openStream()),
+                                request.getEnrich());
+    }
 
-    private Response handleCsarUpload(final String filename, final InputStream is, final String applyEnrichment) {
-
-        final File file = this.csarService.storeTemporaryFile(filename, is);
+    @GET
+    @Path("/imports")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @ApiOperation(value = "Get all CSAR import jobs", response = CsarImportJobListDTO.class)
+    public Response getImportJobs() {
 
-        final WineryConnector wc = new WineryConnector();
+        final CsarImportJobListDTO list = new CsarImportJobListDTO();
 
-        if (Objects.nonNull(applyEnrichment) && Boolean.parseBoolean(applyEnrichment)) {
-            logger.debug("Enrichment status is true. Continue with enrichment.");
-            wc.performManagementFeatureEnrichment(file);
-        } else {
-            logger.debug("Enrichment status is null or false. Continue without enrichment.");
+        for (final CsarImportJob job : this.importService.getJobs()) {
+            list.add(toDto(job));
         }
 
-        CSARID csarId;
+        list.add(Link.fromUri(this.uriInfo.getBaseUriBuilder().path(CsarController.class)
+                                          .path(CsarController.class, "getImportJobs").build())
+                     .rel("self").build());
 
-        try {
-            csarId = this.fileService.storeCSAR(file.toPath());
-        }
-        catch (final EntityExistsException e) {
-            logger.error("Failed to store CSAR: {}", e.getMessage(), e);
-            return Response.status(Status.CONFLICT).build();
-        }
-        catch (final Exception e) {
-            logger.error("Failed to store CSAR: {}", e.getMessage(), e);
-            return Response.serverError().build();
-        }
+        return Response.ok(list).build();
+    }
 
-        csarId = this.csarService.generatePlans(csarId);
-        if (csarId == null) {
-            return Response.serverError().build();
-        }
+    @GET
+    @Path("/imports/{job}")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @ApiOperation(value = "Get the status of a CSAR import job", response = CsarImportJobDTO.class)
+    public Response getImportJob(@ApiParam("ID of import job") @PathParam("job") final String id,
+                                 @ApiParam("Seconds to wait for the job to finish (max. 60)") @QueryParam("wait") final Integer wait) {
 
-        this.controlService.setDeploymentProcessStateStored(csarId);
-        boolean success = this.controlService.invokeTOSCAProcessing(csarId);
+        final CsarImportJob job = this.importService.getJob(id);
+        if (job == null) {
+            throw new NotFoundException("Import job \"" + id + "\" not found");
+        }
 
-        if (success) {
-            final List<QName> serviceTemplates =
-                this.engineService.getToscaReferenceMapper().getServiceTemplateIDsContainedInCSAR(csarId);
-            for (final QName serviceTemplate : serviceTemplates) {
-                logger.info("Invoke plan deployment for service template \"{}\" of CSAR \"{}\"", serviceTemplate,
-                            csarId.getFileName());
-                if (!this.controlService.invokePlanDeployment(csarId, serviceTemplate)) {
-                    logger.error("Error deploying plan for service template \"{}\" of CSAR \"{}\"", serviceTemplate,
-                                 csarId.getFileName());
-                    success = false;
-                }
+        if (wait != null && wait > 0 && !job.isDone()) {
+            try {
+                job.await(TimeUnit.SECONDS.toMillis(Math.min(wait, MAX_WAIT)));
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
 
-        // TODO this is such a brutal hack, won't go through reviews....
-        final boolean repoAvailable = wc.isWineryRepositoryAvailable();
-        final StringBuilder strB = new StringBuilder();
-
-        // quick and dirty parallel thread to upload the csar to the container
-        // repository
-        // This is needed for the state save feature
-        final Thread parallelUploadThread = new Thread(() -> {
-            if (wc.isWineryRepositoryAvailable()) {
-                try {
-                    strB.append(wc.uploadCSAR(file, false));
-                }
-                catch (final URISyntaxException e1) {
-                    e1.printStackTrace();
-                }
-                catch (final IOException e2) {
-                    e2.printStackTrace();
-                }
-            }
-        });
+        return Response.ok(toDto(job)).build();
+    }
 
-        if (repoAvailable) {
-            parallelUploadThread.start();
-        }
+    private Response handleCsarUpload(final String filename, final Callable<File> upload,
+                                      final String applyEnrichment) {
 
-        try {
-            if (ModelUtil.hasOpenRequirements(csarId, this.engineService)) {
-
-                if (repoAvailable) {
-                    while (parallelUploadThread.isAlive()) {
-                        // wait till the upload is finished
-                    }
-                    this.controlService.deleteCSAR(csarId);
-                    return Response.status(Response.Status.NOT_ACCEPTABLE)
-                                   .entity("{ \"Location\": \""
-                                       + wc.getServiceTemplateURI(QName.valueOf(strB.toString())).toString() + "\" }")
-                                   .build();
-                } else {
-                    logger.error("CSAR has open requirments but Winery repository is not available");
-                    try {
-                        this.fileService.deleteCSAR(csarId);
-                    }
-                    catch (final Exception e) {
-                        // Ignore
-                        logger.error("Error deleting csar after open requirements check: {}", e.getMessage(), e);
-                    }
-                    return Response.serverError().build();
-                }
-            }
-        }
-        catch (final Exception e) {
-            logger.error("Error resolving open requirements: {}", e.getMessage(), e);
-            return Response.serverError().build();
-        }
+        final boolean enrich = Objects.nonNull(applyEnrichment) && Boolean.parseBoolean(applyEnrichment);
+        final CsarImportJob job = this.importService.submit(filename, upload, enrich);
 
-        if (!success) {
-            return Response.serverError().build();
-        }
+        final URI uri = this.uriInfo.getBaseUriBuilder().path(CsarController.class)
+                                    .path(CsarController.class, "getImportJob").build(job.getId());
+        return Response.accepted(toDto(job)).location(uri).build();
+    }
 
-        logger.info("Uploading and storing CSAR \"{}\" was successful", csarId.getFileName());
-        final URI uri =
-            UriUtil.encode(this.uriInfo.getAbsolutePathBuilder().path(CsarController.class, "getCsar").build(csarId));
-        return Response.created(uri).build();
+    private CsarImportJobDTO toDto(final CsarImportJob job) {
+        final CsarImportJobDTO dto = CsarImportJobDTO.Converter.convert(job);
+        dto.add(Link.fromUri(this.uriInfo.getBaseUriBuilder().path(CsarController.class)
+                                         .path(CsarController.class, "getImportJob").build(job.getId()))
+                    .rel("self").build());
+        if (job.getState() == CsarImportJob.State.FINISHED) {
+            dto.add(Link.fromUri(UriUtil.encode(this.uriInfo.getBaseUriBuilder().path(CsarController.class)
+                                                            .path(CsarController.class, "getCsar")
+                                                            .build(job.getCsarId().getFileName())))
+                        .rel("csar").build());
+        }
+        return dto;
     }
 
     @DELETE
@@ -373,10 +337,6 @@ public class CsarController {
         this.csarService = csarService;
     }
 
-    public void setFileService(final ICoreFileService fileService) {
-        this.fileService = fileService;
-    }
-
     public void setEngineService(final IToscaEngineService engineService) {
         this.engineService = engineService;
     }
@@ -384,4 +344,8 @@ public class CsarController {
     public void setControlService(final IOpenToscaControlService controlService) {
         this.controlService = controlService;
     }
+
+    public void setImportService(final CsarImportService importService) {
+        this.importService = importService;
+    }
 }
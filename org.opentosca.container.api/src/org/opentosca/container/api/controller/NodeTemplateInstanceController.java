@@ -1,7 +1,7 @@
 package org.opentosca.container.api.controller;
 
 import java.net.URI;
-import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -15,6 +15,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -25,10 +26,11 @@ import org.opentosca.container.api.dto.NodeTemplateInstanceDTO;
 import org.opentosca.container.api.dto.NodeTemplateInstanceListDTO;
 import org.opentosca.container.api.service.InstanceService;
 import org.opentosca.container.api.util.ModelUtil;
+import org.opentosca.container.api.util.QueryParamUtil;
 import org.opentosca.container.api.util.UriUtil;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
-import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -68,38 +70,26 @@ public class NodeTemplateInstanceController {
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get all instances of a node template", response = NodeTemplateInstanceListDTO.class)
     public Response getNodeTemplateInstances(@QueryParam(value = "state") final List<NodeTemplateInstanceState> states,
-                                             @QueryParam(value = "source") final List<Long> relationIds, @QueryParam(value="serviceInstanceId") final Long serviceInstanceId) {
+                                             @QueryParam(value = "source") final List<Long> relationIds, @QueryParam(value="serviceInstanceId") final Long serviceInstanceId,
+                                             @ApiParam("only instances created after this ISO-8601 date-time") @QueryParam(value = "createdAfter") final String createdAfter,
+                                             @ApiParam("position of the first instance") @QueryParam(value = "offset") final Integer offset,
+                                             @ApiParam("maximum number of instances") @QueryParam(value = "limit") final Integer limit) {
+        QueryParamUtil.validatePage(offset, limit);
+        final Date createdAfterDate = QueryParamUtil.parseDate(createdAfter);
+
         final QName nodeTemplateQName =
             new QName(QName.valueOf(this.servicetemplate).getNamespaceURI(), this.nodetemplate);
-        final Collection<NodeTemplateInstance> nodeInstances =
-            this.instanceService.getNodeTemplateInstances(nodeTemplateQName);
+        // all filters are evaluated by the database
+        final List<NodeTemplateInstanceSummary> nodeInstances =
+            this.instanceService.getNodeTemplateInstanceSummaries(nodeTemplateQName,
+                                                                  QName.valueOf(this.servicetemplate),
+                                                                  serviceInstanceId, relationIds, states,
+                                                                  createdAfterDate, offset, limit);
         logger.debug("Found <{}> instances of NodeTemplate \"{}\" ", nodeInstances.size(), this.nodetemplate);
 
         final NodeTemplateInstanceListDTO list = new NodeTemplateInstanceListDTO();
 
-        for (final NodeTemplateInstance i : nodeInstances) {
-            if (states != null && !states.isEmpty() && !states.contains(i.getState())) {
-                // skip this node instance, as it not has the proper state
-                continue;
-            }
-
-            if (relationIds != null && !relationIds.isEmpty()) {
-                for (final RelationshipTemplateInstance relInstance : i.getOutgoingRelations()) {
-                    if (!relationIds.contains(relInstance.getId())) {
-                        // skip this node instance, as it is no source of the given relation
-                        continue;
-                    }
-                }
-            }
-            
-            if(!i.getServiceTemplateInstance().getTemplateId().toString().equals(this.servicetemplate)) {
-                continue;
-            }
-            
-            if(serviceInstanceId != null && !i.getServiceTemplateInstance().getId().equals(serviceInstanceId)) {
-                continue;
-            }
-
+        for (final NodeTemplateInstanceSummary i : nodeInstances) {
             final NodeTemplateInstanceDTO dto = NodeTemplateInstanceDTO.Converter.convert(i);
             dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
 
@@ -107,6 +97,10 @@ public class NodeTemplateInstanceController {
         }
 
         list.add(UriUtil.generateSelfLink(this.uriInfo));
+        final Link next = QueryParamUtil.generateNextLink(this.uriInfo, offset, limit, nodeInstances.size());
+        if (next != null) {
+            list.add(next);
+        }
 
         return Response.ok(list).build();
     }
@@ -2,6 +2,7 @@ package org.opentosca.container.api.controller;
 
 import java.net.URI;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -15,6 +16,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
@@ -37,6 +39,7 @@ import org.opentosca.container.api.dto.situations.SituationsMonitorListDTO;
 import org.opentosca.container.api.service.CsarService;
 import org.opentosca.container.api.service.InstanceService;
 import org.opentosca.container.api.service.PlanService;
+import org.opentosca.container.api.util.QueryParamUtil;
 import org.opentosca.container.api.util.UriUtil;
 import org.opentosca.container.core.engine.IToscaReferenceMapper;
 import org.opentosca.container.core.model.csar.CSARContent;
@@ -46,6 +49,7 @@ import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.Situation;
 import org.opentosca.container.core.next.model.SituationsMonitor;
 import org.opentosca.container.core.next.repository.DeploymentTestRepository;
@@ -107,15 +111,22 @@ public class ServiceTemplateInstanceController {
     @GET
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get all instances of a service template", response = ServiceTemplateInstanceListDTO.class)
-    public Response getServiceTemplateInstances() {
-        final Collection<ServiceTemplateInstance> serviceInstances =
-            this.instanceService.getServiceTemplateInstances(this.serviceTemplateId);
+    public Response getServiceTemplateInstances(@ApiParam("only instances in one of these states") @QueryParam("state") final List<ServiceTemplateInstanceState> states,
+                                                @ApiParam("only instances created after this ISO-8601 date-time") @QueryParam("createdAfter") final String createdAfter,
+                                                @ApiParam("position of the first instance") @QueryParam("offset") final Integer offset,
+                                                @ApiParam("maximum number of instances") @QueryParam("limit") final Integer limit) {
+        QueryParamUtil.validatePage(offset, limit);
+        final Date createdAfterDate = QueryParamUtil.parseDate(createdAfter);
+
+        final List<ServiceTemplateInstanceSummary> serviceInstances =
+            this.instanceService.getServiceTemplateInstanceSummaries(QName.valueOf(this.serviceTemplateId), states,
+                                                                     createdAfterDate, offset, limit);
         logger.debug("Found <{}> instances of ServiceTemplate \"{}\" ", serviceInstances.size(),
                      this.serviceTemplateId);
 
         final ServiceTemplateInstanceListDTO list = new ServiceTemplateInstanceListDTO();
 
-        for (final ServiceTemplateInstance i : serviceInstances) {
+        for (final ServiceTemplateInstanceSummary i : serviceInstances) {
             final ServiceTemplateInstanceDTO dto = ServiceTemplateInstanceDTO.Converter.convert(i);
             dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
 
@@ -123,6 +134,10 @@ public class ServiceTemplateInstanceController {
         }
 
         list.add(UriUtil.generateSelfLink(this.uriInfo));
+        final Link next = QueryParamUtil.generateNextLink(this.uriInfo, offset, limit, serviceInstances.size());
+        if (next != null) {
+            list.add(next);
+        }
 
         return Response.ok(list).build();
     }
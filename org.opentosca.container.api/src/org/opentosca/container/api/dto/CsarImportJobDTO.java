@@ -0,0 +1,223 @@
+package org.opentosca.container.api.dto;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.opentosca.container.api.service.CsarImportJob;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@XmlRootElement(name = "CsarImportJob")
+@XmlAccessorType(XmlAccessType.FIELD)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CsarImportJobDTO extends ResourceSupport {
+
+    @XmlAttribute(name = "id")
+    private String id;
+
+    @XmlElement(name = "Filename")
+    private String filename;
+
+    @XmlElement(name = "CsarId")
+    private String csarId;
+
+    @XmlElement(name = "State")
+    private CsarImportJob.State state;
+
+    @XmlElement(name = "Message")
+    private String message;
+
+    @XmlElement(name = "Location")
+    private String location;
+
+    @XmlElement(name = "CreatedAt")
+    private Date createdAt;
+
+    @XmlElement(name = "FinishedAt")
+    private Date finishedAt;
+
+    @XmlElement(name = "Stage")
+    @XmlElementWrapper(name = "Stages")
+    private List<StageDTO> stages;
+
+
+    public String getId() {
+        return this.id;
+    }
+
+    public void setId(final String id) {
+        this.id = id;
+    }
+
+    public String getFilename() {
+        return this.filename;
+    }
+
+    public void setFilename(final String filename) {
+        this.filename = filename;
+    }
+
+    public String getCsarId() {
+        return this.csarId;
+    }
+
+    public void setCsarId(final String csarId) {
+        this.csarId = csarId;
+    }
+
+    public CsarImportJob.State getState() {
+        return this.state;
+    }
+
+    public void setState(final CsarImportJob.State state) {
+        this.state = state;
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+
+    public void setMessage(final String message) {
+        this.message = message;
+    }
+
+    public String getLocation() {
+        return this.location;
+    }
+
+    public void setLocation(final String location) {
+        this.location = location;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public void setCreatedAt(final Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getFinishedAt() {
+        return this.finishedAt;
+    }
+
+    public void setFinishedAt(final Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public List<StageDTO> getStages() {
+        return this.stages;
+    }
+
+    public void setStages(final List<StageDTO> stages) {
+        this.stages = stages;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class StageDTO {
+
+        @XmlAttribute(name = "name")
+        private CsarImportJob.Stage name;
+
+        @XmlElement(name = "StartedAt")
+        private Date startedAt;
+
+        @XmlElement(name = "FinishedAt")
+        private Date finishedAt;
+
+        @XmlElement(name = "Duration")
+        private long duration;
+
+        @XmlElement(name = "Failed")
+        private boolean failed;
+
+
+        public CsarImportJob.Stage getName() {
+            return this.name;
+        }
+
+        public void setName(final CsarImportJob.Stage name) {
+            this.name = name;
+        }
+
+        public Date getStartedAt() {
+            return this.startedAt;
+        }
+
+        public void setStartedAt(final Date startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        public Date getFinishedAt() {
+            return this.finishedAt;
+        }
+
+        public void setFinishedAt(final Date finishedAt) {
+            this.finishedAt = finishedAt;
+        }
+
+        /**
+         * @return the duration of the stage in milliseconds
+         */
+        public long getDuration() {
+            return this.duration;
+        }
+
+        public void setDuration(final long duration) {
+            this.duration = duration;
+        }
+
+        public boolean isFailed() {
+            return this.failed;
+        }
+
+        public void setFailed(final boolean failed) {
+            this.failed = failed;
+        }
+    }
+
+    public static final class Converter {
+
+        public static CsarImportJobDTO convert(final CsarImportJob object) {
+            final CsarImportJobDTO dto = new CsarImportJobDTO();
+
+            dto.setId(object.getId());
+            dto.setFilename(object.getFilename());
+            if (Objects.nonNull(object.getCsarId())) {
+                dto.setCsarId(object.getCsarId().getFileName());
+            }
+            dto.setState(object.getState());
+            dto.setMessage(object.getMessage());
+            if (Objects.nonNull(object.getLocation())) {
+                dto.setLocation(object.getLocation().toString());
+            }
+            dto.setCreatedAt(object.getCreatedAt());
+            dto.setFinishedAt(object.getFinishedAt());
+            dto.setStages(object.getStages().stream().map(Converter::convert).collect(Collectors.toList()));
+
+            return dto;
+        }
+
+        private static StageDTO convert(final CsarImportJob.StageProgress object) {
+            final StageDTO dto = new StageDTO();
+
+            dto.setName(object.getStage());
+            dto.setStartedAt(object.getStartedAt());
+            dto.setFinishedAt(object.getFinishedAt());
+            dto.setDuration(object.getDuration());
+            dto.setFailed(object.isFailed());
+
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.opentosca.container.api.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.Lists;
+
+@XmlRootElement(name = "CsarImportJobResources")
+public class CsarImportJobListDTO extends ResourceSupport {
+
+    @JsonProperty
+    @XmlElement(name = "CsarImportJob")
+    @XmlElementWrapper(name = "CsarImportJobs")
+    private final List<CsarImportJobDTO> jobs = Lists.newArrayList();
+
+
+    public List<CsarImportJobDTO> getJobs() {
+        return this.jobs;
+    }
+
+    public void add(final CsarImportJobDTO... jobs) {
+        this.jobs.addAll(Arrays.asList(jobs));
+    }
+}
@@ -10,6 +10,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceSummary;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -130,5 +131,19 @@ public class NodeTemplateInstanceDTO extends ResourceSupport {
             dto.setCsarId(object.getServiceTemplateInstance().getCsarId().toString());
             return dto;
         }
+
+        public static NodeTemplateInstanceDTO convert(final NodeTemplateInstanceSummary object) {
+            final NodeTemplateInstanceDTO dto = new NodeTemplateInstanceDTO();
+
+            dto.setId(object.getId());
+            dto.setNodeTemplateId(object.getTemplateId().getLocalPart());
+            dto.setNodeTemplateType(object.getTemplateType().toString());
+            dto.setCreatedAt(object.getCreatedAt());
+            dto.setState(object.getState());
+            dto.setServiceTemplateId(object.getServiceTemplateId().toString());
+            dto.setServiceTemplateInstanceId(object.getServiceTemplateInstanceId());
+            dto.setCsarId(object.getCsarId().toString());
+            return dto;
+        }
     }
 }
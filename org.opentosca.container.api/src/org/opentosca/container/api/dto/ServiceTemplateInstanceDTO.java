@@ -8,6 +8,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -88,5 +89,17 @@ public class ServiceTemplateInstanceDTO extends ResourceSupport {
 
             return dto;
         }
+
+        public static ServiceTemplateInstanceDTO convert(final ServiceTemplateInstanceSummary object) {
+            final ServiceTemplateInstanceDTO dto = new ServiceTemplateInstanceDTO();
+
+            dto.setId(object.getId());
+            dto.setCreatedAt(object.getCreatedAt());
+            dto.setCsarId(object.getCsarId().toString());
+            dto.setServiceTemplateId(object.getTemplateId().toString());
+            dto.setState(object.getState());
+
+            return dto;
+        }
     }
 }
@@ -0,0 +1,199 @@
+package org.opentosca.container.api.service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.opentosca.container.core.model.csar.id.CSARID;
+
+/**
+ * State of an asynchronous CSAR import. The import passes through the {@link Stage}s in order, the
+ * start and end of every stage is recorded to report per-stage timings.
+ */
+public class CsarImportJob {
+
+    public enum State {
+        QUEUED, RUNNING, FINISHED, FAILED
+    }
+
+    public enum Stage {
+        UNPACK, PLAN_GENERATION, RESOLVE, PLAN_DEPLOYMENT, VALIDATE
+    }
+
+    private final String id = UUID.randomUUID().toString();
+
+    private final String filename;
+
+    private final Date createdAt = new Date();
+
+    private final List<StageProgress> stages = new ArrayList<>();
+
+    private final CompletableFuture<CsarImportJob> completion = new CompletableFuture<>();
+
+    private volatile State state = State.QUEUED;
+
+    private volatile CSARID csarId;
+
+    private volatile String message;
+
+    private volatile URI location;
+
+    private volatile Date finishedAt;
+
+
+    public CsarImportJob(final String filename) {
+        this.filename = filename;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public String getFilename() {
+        return this.filename;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public State getState() {
+        return this.state;
+    }
+
+    public boolean isDone() {
+        return this.completion.isDone();
+    }
+
+    public Date getFinishedAt() {
+        return this.finishedAt;
+    }
+
+    public CSARID getCsarId() {
+        return this.csarId;
+    }
+
+    void setCsarId(final CSARID csarId) {
+        this.csarId = csarId;
+    }
+
+    /**
+     * @return the reason of a failed import
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * @return the location of the service template in the Winery repository if the CSAR has open
+     *         requirements which have to be completed there, <tt>null</tt> otherwise
+     */
+    public URI getLocation() {
+        return this.location;
+    }
+
+    public synchronized List<StageProgress> getStages() {
+        return new ArrayList<>(this.stages);
+    }
+
+    /**
+     * Waits until the import is finished or failed.
+     *
+     * @param timeout the maximum time to wait in milliseconds
+     */
+    public void await(final long timeout) throws InterruptedException {
+        try {
+            this.completion.get(timeout, TimeUnit.MILLISECONDS);
+        }
+        catch (final ExecutionException | TimeoutException e) {
+            // the caller reads the state of the job
+        }
+    }
+
+    synchronized void startStage(final Stage stage) {
+        this.state = State.RUNNING;
+        finishCurrentStage();
+        this.stages.add(new StageProgress(stage));
+    }
+
+    synchronized void finish() {
+        finishCurrentStage();
+        this.state = State.FINISHED;
+        this.finishedAt = new Date();
+        this.completion.complete(this);
+    }
+
+    synchronized void fail(final String message) {
+        fail(message, null);
+    }
+
+    synchronized void fail(final String message, final URI location) {
+        if (!this.stages.isEmpty()) {
+            this.stages.get(this.stages.size() - 1).failed = true;
+        }
+        finishCurrentStage();
+        this.message = message;
+        this.location = location;
+        this.state = State.FAILED;
+        this.finishedAt = new Date();
+        this.completion.complete(this);
+    }
+
+    private void finishCurrentStage() {
+        if (!this.stages.isEmpty()) {
+            final StageProgress current = this.stages.get(this.stages.size() - 1);
+            if (current.finishedAt == null) {
+                current.finishedAt = new Date();
+            }
+        }
+    }
+
+    /**
+     * Start and end of a stage of the import.
+     */
+    public static class StageProgress {
+
+        private final Stage stage;
+        private final Date startedAt = new Date();
+        private volatile Date finishedAt;
+        private volatile boolean failed;
+
+
+        private StageProgress(final Stage stage) {
+            this.stage = stage;
+        }
+
+        public Stage getStage() {
+            return this.stage;
+        }
+
+        public Date getStartedAt() {
+            return this.startedAt;
+        }
+
+        /**
+         * @return the end of the stage or <tt>null</tt> if the stage is still running
+         */
+        public Date getFinishedAt() {
+            return this.finishedAt;
+        }
+
+        public boolean isFailed() {
+            return this.failed;
+        }
+
+        /**
+         * @return the duration of the stage in milliseconds, up to now if it is still running
+         */
+        public long getDuration() {
+            final Date end = this.finishedAt;
+            return (end != null ? end.getTime() : System.currentTimeMillis()) - this.startedAt.getTime();
+        }
+    }
+}
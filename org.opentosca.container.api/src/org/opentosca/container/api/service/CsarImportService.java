@@ -0,0 +1,231 @@
+package org.opentosca.container.api.service;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.api.service.CsarImportJob.Stage;
+import org.opentosca.container.api.util.ModelUtil;
+import org.opentosca.container.connector.winery.WineryConnector;
+import org.opentosca.container.control.IOpenToscaControlService;
+import org.opentosca.container.core.common.EntityExistsException;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.engine.IToscaEngineService;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.service.ICoreFileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports uploaded CSARs in the background. Every upload becomes a {@link CsarImportJob} which is
+ * processed by a bounded pool of workers, so several imports can proceed in parallel without
+ * blocking the HTTP request. Finished jobs are kept for the configured retention time.
+ */
+public class CsarImportService {
+
+    private static Logger logger = LoggerFactory.getLogger(CsarImportService.class);
+
+    private final ConcurrentMap<String, CsarImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final long retention = Long.parseLong(Settings.CSAR_IMPORT_JOB_RETENTION);
+
+    private final ExecutorService executor;
+
+    private CsarService csarService;
+
+    private ICoreFileService fileService;
+
+    private IToscaEngineService engineService;
+
+    private IOpenToscaControlService controlService;
+
+
+    public CsarImportService() {
+        final AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, Integer.parseInt(Settings.CSAR_IMPORT_THREADS)), r -> {
+            final Thread thread = new Thread(r, "csar-import-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the import of a CSAR.
+     *
+     * @param filename the name of the CSAR file
+     * @param upload provides the uploaded CSAR file, called by the worker
+     * @param applyEnrichment <tt>true</tt> if the management features should be enriched
+     * @return the job of the import
+     */
+    public CsarImportJob submit(final String filename, final Callable<File> upload, final boolean applyEnrichment) {
+        removeExpiredJobs();
+
+        final CsarImportJob job = new CsarImportJob(filename);
+        this.jobs.put(job.getId(), job);
+        logger.info("Queued import of CSAR \"{}\" as job {}", filename, job.getId());
+
+        this.executor.execute(() -> {
+            try {
+                importCsar(job, upload, applyEnrichment);
+            }
+            catch (final Exception e) {
+                logger.error("Error importing CSAR \"{}\": {}", filename, e.getMessage(), e);
+                job.fail(e.getMessage());
+            }
+        });
+        return job;
+    }
+
+    public CsarImportJob getJob(final String id) {
+        return this.jobs.get(id);
+    }
+
+    public Collection<CsarImportJob> getJobs() {
+        return new ArrayList<>(this.jobs.values());
+    }
+
+    /**
+     * Called by the OSGi framework when the component is deactivated. Queued imports are dropped.
+     */
+    protected void deactivate() {
+        this.executor.shutdownNow();
+    }
+
+    private void importCsar(final CsarImportJob job, final Callable<File> upload,
+                            final boolean applyEnrichment) throws Exception {
+
+        job.startStage(Stage.UNPACK);
+        final File file = upload.call();
+
+        final WineryConnector wc = new WineryConnector();
+
+        if (applyEnrichment) {
+            logger.debug("Enrichment status is true. Continue with enrichment.");
+            wc.performManagementFeatureEnrichment(file);
+        } else {
+            logger.debug("Enrichment status is null or false. Continue without enrichment.");
+        }
+
+        CSARID csarId;
+        try {
+            csarId = this.fileService.storeCSAR(file.toPath());
+        }
+        catch (final EntityExistsException e) {
+            logger.error("Failed to store CSAR: {}", e.getMessage(), e);
+            job.fail("CSAR \"" + job.getFilename() + "\" already exists");
+            return;
+        }
+        job.setCsarId(csarId);
+
+        job.startStage(Stage.PLAN_GENERATION);
+        csarId = this.csarService.generatePlans(csarId);
+        if (csarId == null) {
+            job.fail("Error generating plans");
+            return;
+        }
+        job.setCsarId(csarId);
+
+        job.startStage(Stage.RESOLVE);
+        this.controlService.setDeploymentProcessStateStored(csarId);
+        boolean success = this.controlService.invokeTOSCAProcessing(csarId);
+
+        if (success) {
+            job.startStage(Stage.PLAN_DEPLOYMENT);
+            final List<QName> serviceTemplates =
+                this.engineService.getToscaReferenceMapper().getServiceTemplateIDsContainedInCSAR(csarId);
+            for (final QName serviceTemplate : serviceTemplates) {
+                logger.info("Invoke plan deployment for service template \"{}\" of CSAR \"{}\"", serviceTemplate,
+                            csarId.getFileName());
+                if (!this.controlService.invokePlanDeployment(csarId, serviceTemplate)) {
+                    logger.error("Error deploying plan for service template \"{}\" of CSAR \"{}\"", serviceTemplate,
+                                 csarId.getFileName());
+                    success = false;
+                }
+            }
+        }
+
+        job.startStage(Stage.VALIDATE);
+        final boolean repoAvailable = wc.isWineryRepositoryAvailable();
+
+        // upload the csar to the container repository in parallel, this is needed for the state
+        // save feature
+        final CompletableFuture<QName> wineryUpload;
+        if (repoAvailable) {
+            wineryUpload = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return wc.uploadCSAR(file, false);
+                }
+                catch (final Exception e) {
+                    logger.error("Error uploading CSAR to the Winery repository: {}", e.getMessage(), e);
+                    return null;
+                }
+            }, r -> new Thread(r, "winery-upload-" + job.getId()).start());
+        } else {
+            wineryUpload = CompletableFuture.completedFuture(null);
+        }
+
+        if (ModelUtil.hasOpenRequirements(csarId, this.engineService)) {
+            if (repoAvailable) {
+                final QName serviceTemplate = wineryUpload.join();
+                this.controlService.deleteCSAR(csarId);
+                job.fail("CSAR has open requirements",
+                         Objects.nonNull(serviceTemplate) ? wc.getServiceTemplateURI(serviceTemplate) : null);
+            } else {
+                logger.error("CSAR has open requirments but Winery repository is not available");
+                try {
+                    this.fileService.deleteCSAR(csarId);
+                }
+                catch (final Exception e) {
+                    // Ignore
+                    logger.error("Error deleting csar after open requirements check: {}", e.getMessage(), e);
+                }
+                job.fail("CSAR has open requirements but the Winery repository is not available");
+            }
+            return;
+        }
+
+        if (!success) {
+            job.fail("Error processing CSAR or deploying its plans");
+            return;
+        }
+
+        logger.info("Uploading and storing CSAR \"{}\" was successful", csarId.getFileName());
+        job.finish();
+    }
+
+    private void removeExpiredJobs() {
+        final long now = System.currentTimeMillis();
+        this.jobs.values().removeIf(job -> {
+            final Date finishedAt = job.getFinishedAt();
+            return finishedAt != null && now - finishedAt.getTime() > this.retention;
+        });
+    }
+
+    public void setCsarService(final CsarService csarService) {
+        this.csarService = csarService;
+    }
+
+    public void setFileService(final ICoreFileService fileService) {
+        this.fileService = fileService;
+    }
+
+    public void setEngineService(final IToscaEngineService engineService) {
+        this.engineService = engineService;
+    }
+
+    public void setControlService(final IOpenToscaControlService controlService) {
+        this.controlService = controlService;
+    }
+}
@@ -25,6 +25,7 @@ import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.service.ICoreFileService;
 import org.opentosca.container.core.service.IFileAccessService;
 import org.opentosca.planbuilder.export.Exporter;
+import org.opentosca.planbuilder.export.PlanCache;
 import org.opentosca.planbuilder.importer.Importer;
 import org.opentosca.planbuilder.model.plan.AbstractPlan;
 import org.slf4j.Logger;
@@ -155,32 +156,61 @@ public class CsarService {
     }
 
     /**
-     * Checks whether the plan builder should generate a build plans.
+     * Checks whether the plan builder should generate a build plans. Generated plans are injected into
+     * the stored CSAR, only the files changed by the plans are written.
      *
      * @param csarId the {@link CSARID} to generate build plans
-     * @return the new {@link CSARID} for the repackaged CSAR or null if an error occurred
+     * @return the {@link CSARID} of the updated CSAR or null if an error occurred
      */
     public CSARID generatePlans(final CSARID csarId) {
 
+        final PlanCache planCache = new PlanCache();
+        final String cacheKey = computePlanCacheKey(planCache, csarId);
+
+        File directory = cacheKey == null ? null : planCache.get(cacheKey);
+
+        if (directory != null) {
+            logger.info("Using cached plans for CSAR \"{}\"", csarId.getFileName());
+            final String[] cachedFiles = directory.list();
+            if (cachedFiles == null || cachedFiles.length == 0) {
+                // no plans were generated for this CSAR
+                FileUtils.deleteQuietly(directory);
+                return csarId;
+            }
+            return storeChangedFiles(csarId, directory);
+        }
+
         final Importer planBuilderImporter = new Importer();
         final Exporter planBuilderExporter = new Exporter();
 
         final List<AbstractPlan> buildPlans = planBuilderImporter.generatePlans(csarId);
 
         if (buildPlans.isEmpty()) {
+            if (cacheKey != null) {
+                planCache.put(cacheKey, null);
+            }
             return csarId;
         }
 
-        final File file = planBuilderExporter.exportToCSAR(buildPlans, csarId);
+        directory = planBuilderExporter.exportToCSARDirectory(buildPlans, csarId);
+
+        if (directory != null && cacheKey != null) {
+            planCache.put(cacheKey, directory);
+        }
+
+        return storeChangedFiles(csarId, directory);
+    }
 
+    private String computePlanCacheKey(final PlanCache planCache, final CSARID csarId) {
+        if (!planCache.isEnabled()) {
+            return null;
+        }
         try {
-            this.fileService.deleteCSAR(csarId);
-            return this.fileService.storeCSAR(file.toPath());
+            return planCache.computeKey(this.fileService.getCSAR(csarId));
         }
         catch (final Exception e) {
-            logger.error("Could not store repackaged CSAR: {}", e.getMessage(), e);
+            logger.warn("Could not compute plan cache key of CSAR \"{}\": {}", csarId, e.getMessage());
         }
-
         return null;
     }
     
@@ -196,15 +226,27 @@ public class CsarService {
             return sourceCsarId;
         }
 
-        final File file = planBuilderExporter.exportToCSAR(plans, sourceCsarId);
+        final File directory = planBuilderExporter.exportToCSARDirectory(plans, sourceCsarId);
+
+        this.engineService.clearCSARContent(sourceCsarId);
+        return storeChangedFiles(sourceCsarId, directory);
+    }
+
+    private CSARID storeChangedFiles(final CSARID csarId, final File directory) {
+        if (directory == null) {
+            logger.error("Could not export generated plans of CSAR \"{}\"", csarId);
+            return null;
+        }
 
         try {
-        	this.engineService.clearCSARContent(sourceCsarId);
-            this.fileService.deleteCSAR(sourceCsarId);
-            return this.fileService.storeCSAR(file.toPath());
+            this.fileService.storeFilesOfCSAR(csarId, directory.toPath());
+            return csarId;
         }
         catch (final Exception e) {
-            logger.error("Could not store repackaged CSAR: {}", e.getMessage(), e);
+            logger.error("Could not store generated plans into CSAR: {}", e.getMessage(), e);
+        }
+        finally {
+            FileUtils.deleteQuietly(directory);
         }
 
         return null;
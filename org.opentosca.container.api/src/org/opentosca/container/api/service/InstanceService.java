@@ -1,10 +1,11 @@
 package org.opentosca.container.api.service;
 
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.ws.rs.NotFoundException;
 import javax.xml.namespace.QName;
@@ -22,6 +23,7 @@ import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.Property;
@@ -31,6 +33,7 @@ import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.Situation;
 import org.opentosca.container.core.next.model.SituationTrigger;
 import org.opentosca.container.core.next.model.SituationTriggerInstance;
@@ -49,8 +52,6 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import com.google.common.collect.Lists;
-
 /**
  * Allows access to instance information for service templates and node templates.
  */
@@ -126,12 +127,19 @@ public class InstanceService {
         return this.serviceTemplateInstanceRepository.findByTemplateId(serviceTemplate);
     }
 
+    public List<ServiceTemplateInstanceSummary> getServiceTemplateInstanceSummaries(final QName serviceTemplate,
+                                                                                    final Collection<ServiceTemplateInstanceState> states,
+                                                                                    final Date createdAfter,
+                                                                                    final Integer offset,
+                                                                                    final Integer limit) {
+        logger.debug("Requesting instances of ServiceTemplate \"{}\" (states: {}, created after: {}, offset: {}, limit: {})...",
+                     serviceTemplate, states, createdAfter, offset, limit);
+        return this.serviceTemplateInstanceRepository.findSummariesByTemplateId(serviceTemplate, states, createdAfter,
+                                                                               offset, limit);
+    }
+
     public ServiceTemplateInstance getServiceTemplateInstanceByCorrelationId(final String correlationId) {
-        return this.serviceTemplateInstanceRepository.findAll().stream()
-                                                     .filter(s -> s.getPlanInstances().stream()
-                                                                   .anyMatch(p -> p.getCorrelationId()
-                                                                                   .equals(correlationId)))
-                                                     .findFirst().get();
+        return this.serviceTemplateInstanceRepository.findByPlanInstanceCorrelationId(correlationId).get();
     }
 
     public ServiceTemplateInstance getServiceTemplateInstance(final Long id, final boolean evaluatePropertyMappings) {
@@ -319,6 +327,22 @@ public class InstanceService {
         return this.nodeTemplateInstanceRepository.findByTemplateId(nodeTemplateQName);
     }
 
+    public List<NodeTemplateInstanceSummary> getNodeTemplateInstanceSummaries(final QName nodeTemplateQName,
+                                                                              final QName serviceTemplateQName,
+                                                                              final Long serviceTemplateInstanceId,
+                                                                              final Collection<Long> sourceOfRelationIds,
+                                                                              final Collection<NodeTemplateInstanceState> states,
+                                                                              final Date createdAfter,
+                                                                              final Integer offset,
+                                                                              final Integer limit) {
+        logger.debug("Requesting instances of NodeTemplate \"{}\" (states: {}, created after: {}, offset: {}, limit: {})...",
+                     nodeTemplateQName, states, createdAfter, offset, limit);
+        return this.nodeTemplateInstanceRepository.findSummariesByTemplateId(nodeTemplateQName, serviceTemplateQName,
+                                                                            serviceTemplateInstanceId,
+                                                                            sourceOfRelationIds, states, createdAfter,
+                                                                            offset, limit);
+    }
+
     public NodeTemplateInstance resolveNodeTemplateInstance(final String serviceTemplateQName,
                                                             final String nodeTemplateId, final Long id) {
         // We only need to check that the instance belongs to the template, the rest is
@@ -718,13 +742,7 @@ public class InstanceService {
     }
 
     public Collection<SituationTriggerInstance> geSituationTriggerInstances(final SituationTrigger trigger) {
-        final Collection<SituationTriggerInstance> triggerInstances = Lists.newArrayList();
-        for (final SituationTriggerInstance triggerInstance : this.sitTrigInst.findAll()) {
-            if (triggerInstance.getSituationTrigger().equals(trigger)) {
-                triggerInstances.add(triggerInstance);
-            }
-        }
-        return triggerInstances;
+        return this.sitTrigInst.findBySituationTriggerId(trigger.getId());
     }
 
 
@@ -760,7 +778,7 @@ public class InstanceService {
     }
 
     public Collection<SituationsMonitor> getSituationsMonitors(final Long serviceInstanceId) {
-        return this.getSituationsMonitors().stream().filter(monitor -> monitor.getServiceInstance() != null && monitor.getServiceInstance().getId().equals(serviceInstanceId)).collect(Collectors.toList());
+        return this.situationsMonitorRepo.findByServiceInstanceId(serviceInstanceId);
     }
 
     /* Service Injection */
@@ -3,13 +3,18 @@ package org.opentosca.container.api.service;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.ServerErrorException;
 import javax.ws.rs.core.Link;
@@ -21,11 +26,13 @@ import javax.xml.namespace.QName;
 import org.glassfish.jersey.uri.UriComponent;
 import org.opentosca.container.api.dto.plan.PlanDTO;
 import org.opentosca.container.api.dto.plan.PlanInstanceDTO;
+import org.opentosca.container.api.dto.plan.PlanInstanceEventDTO;
 import org.opentosca.container.api.dto.plan.PlanInstanceEventListDTO;
 import org.opentosca.container.api.dto.plan.PlanInstanceListDTO;
 import org.opentosca.container.api.dto.plan.PlanListDTO;
 import org.opentosca.container.api.dto.request.CreatePlanInstanceLogEntryRequest;
 import org.opentosca.container.api.util.JsonUtil;
+import org.opentosca.container.api.util.QueryParamUtil;
 import org.opentosca.container.api.util.UriUtil;
 import org.opentosca.container.control.IOpenToscaControlService;
 import org.opentosca.container.core.common.Settings;
@@ -35,9 +42,11 @@ import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanInstanceEvent;
 import org.opentosca.container.core.next.model.PlanInstanceState;
-import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.PlanType;
+import org.opentosca.container.core.next.repository.PlanInstanceChangeNotifier;
+import org.opentosca.container.core.next.repository.PlanInstanceEventRepository;
+import org.opentosca.container.core.next.repository.PlanInstanceEventWriter;
 import org.opentosca.container.core.next.repository.PlanInstanceRepository;
-import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
 import org.opentosca.container.core.tosca.convention.Interfaces;
 import org.opentosca.container.core.tosca.extension.PlanTypes;
 import org.opentosca.container.core.tosca.extension.TParameter;
@@ -53,6 +62,9 @@ public class PlanService {
 
     private static Logger logger = LoggerFactory.getLogger(PlanService.class);
 
+    // maximum time in milliseconds a request waits for changes of a plan instance
+    private static final long MAX_CHANGES_TIMEOUT = 60000;
+
     private static final PlanTypes[] ALL_PLAN_TYPES = PlanTypes.values();
 
     // To retrieve a reference to IToscaReferenceMapper
@@ -66,6 +78,8 @@ public class PlanService {
 
     private final PlanInstanceRepository planInstanceRepository = new PlanInstanceRepository();
 
+    private final PlanInstanceEventRepository planInstanceEventRepository = new PlanInstanceEventRepository();
+
     public List<TPlan> getPlansByType(final CSARID id, final PlanTypes... planTypes) {
         logger.debug("Requesting plans of type \"{}\" for CSAR \"{}\"...", planTypes, id);
         final List<TPlan> plans = Lists.newArrayList();
@@ -275,33 +289,29 @@ public class PlanService {
     /*****************/
     public Response getPlanInstances(final String plan, final UriInfo uriInfo, final CSARID csarId,
                                      final QName serviceTemplate, final Long serviceTemplateInstanceId,
-                                     final PlanTypes... planTypes) {
+                                     final List<PlanInstanceState> states, final String createdAfter,
+                                     final Integer offset, final Integer limit, final PlanTypes... planTypes) {
 
         if (!hasPlan(csarId, planTypes, plan)) {
             logger.info("Plan \"" + plan + "\" could not be found");
             throw new NotFoundException("Plan \"" + plan + "\" could not be found");
         }
+        QueryParamUtil.validatePage(offset, limit);
+        final Date createdAfterDate = QueryParamUtil.parseDate(createdAfter);
 
-        final ServiceTemplateInstanceRepository repo = new ServiceTemplateInstanceRepository();
-
-
-        final Collection<ServiceTemplateInstance> serviceInstances;
-        if (serviceTemplateInstanceId != null) {
-            serviceInstances = Lists.newArrayList();
-            serviceInstances.add(repo.find(serviceTemplateInstanceId).get());
-        } else {
-            serviceInstances = repo.findByCsarId(csarId);
-        }
-
-        final List<PlanInstanceDTO> planInstances = Lists.newArrayList();
-        for (final ServiceTemplateInstance sti : serviceInstances) {
-            final List<PlanInstanceDTO> dto = sti.getPlanInstances().stream().filter(p -> {
-                final PlanTypes currType = PlanTypes.isPlanTypeURI(p.getType().toString());
-                return Arrays.asList(planTypes).contains(currType)
-                    && plan.equalsIgnoreCase(p.getTemplateId().getLocalPart());
-            }).map(p -> PlanInstanceDTO.Converter.convert(p)).collect(Collectors.toList());
-            planInstances.addAll(dto);
-        }
+        // the plan instances reference the plan with the namespace of its definitions
+        final TPlan p = getPlan(plan, csarId);
+        final QName planId = new QName(this.referenceMapper.getNamespaceOfPlan(csarId, p.getId()), p.getId());
+        final List<PlanType> types = Arrays.stream(PlanType.values())
+                                           .filter(t -> Arrays.asList(planTypes)
+                                                              .contains(PlanTypes.isPlanTypeURI(t.toString())))
+                                           .collect(Collectors.toList());
+
+        final List<PlanInstanceDTO> planInstances =
+            this.planInstanceRepository.findByTemplateId(planId, csarId, serviceTemplateInstanceId, types, states,
+                                                         createdAfterDate, offset, limit)
+                                       .stream().map(pi -> PlanInstanceDTO.Converter.convert(pi))
+                                       .collect(Collectors.toList());
 
         for (final PlanInstanceDTO pi : planInstances) {
 
@@ -324,6 +334,10 @@ public class PlanService {
 
         list.add(planInstances);
         list.add(UriUtil.generateSelfLink(uriInfo));
+        final Link next = QueryParamUtil.generateNextLink(uriInfo, offset, limit, planInstances.size());
+        if (next != null) {
+            list.add(next);
+        }
 
         return Response.ok(list).build();
     }
@@ -364,6 +378,72 @@ public class PlanService {
         return Response.ok(pi.getState().toString()).build();
     }
 
+    /**
+     * Waits until a plan instance differs from the state known by the client (long polling), so
+     * clients following a plan don't have to poll in a tight loop.
+     *
+     * @param state the state known by the client or <code>null</code>
+     * @param logs the number of log entries known by the client or <code>null</code>
+     * @param timeout the maximum time to wait in milliseconds, at most {@link #MAX_CHANGES_TIMEOUT}
+     * @return the plan instance after it changed or when the timeout elapsed. If neither a state nor
+     *         a number of log entries is given, it is returned after its next change.
+     */
+    public Response getPlanInstanceChanges(final String plan, final String instance, final UriInfo uriInfo,
+                                           final CSARID csarId, final QName serviceTemplate,
+                                           final Long serviceTemplateInstanceId, final PlanInstanceState state,
+                                           final Integer logs, final Long timeout, final PlanTypes... planTypes) {
+
+        if (timeout != null && timeout < 0 || logs != null && logs < 0) {
+            throw new BadRequestException("The timeout and the number of log entries must not be negative");
+        }
+        final long wait = Math.min(timeout == null ? MAX_CHANGES_TIMEOUT : timeout, MAX_CHANGES_TIMEOUT);
+        final long deadline = System.currentTimeMillis() + wait;
+
+        PlanInstance pi =
+            resolvePlanInstance(plan, instance, uriInfo, csarId, serviceTemplate, serviceTemplateInstanceId, planTypes);
+        final String correlationId = pi.getCorrelationId();
+
+        boolean notified = false;
+        while (true) {
+            // register before reading to not miss a change in between
+            final CompletableFuture<Void> change = PlanInstanceChangeNotifier.nextChange(correlationId);
+            pi = this.planInstanceRepository.findByCorrelationId(correlationId);
+
+            final boolean changed;
+            if (state == null && logs == null) {
+                changed = notified;
+            } else {
+                changed = state != null && !state.equals(pi.getState())
+                    || logs != null && this.planInstanceEventRepository.countByPlanInstance(pi.getId()) > logs;
+            }
+
+            final long remaining = deadline - System.currentTimeMillis();
+            if (changed || remaining <= 0) {
+                PlanInstanceChangeNotifier.release(correlationId, change);
+                break;
+            }
+            try {
+                change.get(remaining, TimeUnit.MILLISECONDS);
+                notified = true;
+            }
+            catch (final TimeoutException | ExecutionException e) {
+                // read the current plan instance once more
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            finally {
+                PlanInstanceChangeNotifier.release(correlationId, change);
+            }
+        }
+
+        final PlanInstanceDTO dto = PlanInstanceDTO.Converter.convert(pi);
+        dto.add(UriUtil.generateSelfLink(uriInfo));
+
+        return Response.ok(dto).build();
+    }
+
     public Response changePlanInstanceState(final String newState, final String plan, final String instance,
                                             final UriInfo uriInfo, final CSARID csarId, final QName serviceTemplate,
                                             final Long serviceTemplateInstanceId, final PlanTypes... planTypes) {
@@ -388,14 +468,27 @@ public class PlanService {
 
     public Response getPlanInstanceLogs(final String plan, final String instance, final UriInfo uriInfo,
                                         final CSARID csarId, final QName serviceTemplate,
-                                        final Long serviceTemplateInstanceId, final PlanTypes... planTypes) {
+                                        final Long serviceTemplateInstanceId, final Integer offset,
+                                        final Integer limit, final PlanTypes... planTypes) {
+
+        QueryParamUtil.validatePage(offset, limit);
 
         final PlanInstance pi =
             resolvePlanInstance(plan, instance, uriInfo, csarId, serviceTemplate, serviceTemplateInstanceId, planTypes);
 
-        final PlanInstanceDTO piDto = PlanInstanceDTO.Converter.convert(pi);
-        final PlanInstanceEventListDTO dto = new PlanInstanceEventListDTO(piDto.getLogs());
+        // include the log entries which are still queued
+        PlanInstanceEventWriter.flush();
+        final List<PlanInstanceEventDTO> logs =
+            this.planInstanceEventRepository.findByPlanInstance(pi.getId(), offset, limit).stream()
+                                            .map(PlanInstanceEventDTO.Converter::convert)
+                                            .collect(Collectors.toList());
+
+        final PlanInstanceEventListDTO dto = new PlanInstanceEventListDTO(logs);
         dto.add(UriUtil.generateSelfLink(uriInfo));
+        final Link next = QueryParamUtil.generateNextLink(uriInfo, offset, limit, logs.size());
+        if (next != null) {
+            dto.add(next);
+        }
 
         return Response.ok(dto).build();
     }
@@ -410,8 +503,7 @@ public class PlanService {
             final PlanInstance pi = resolvePlanInstance(plan, instance, uriInfo, csarId, serviceTemplate,
                                                         serviceTemplateInstanceId, planTypes);
             final PlanInstanceEvent event = new PlanInstanceEvent("INFO", "PLAN_LOG", entry);
-            pi.addEvent(event);
-            this.planInstanceRepository.update(pi);
+            PlanInstanceEventWriter.append(pi.getCorrelationId(), event);
             final URI resourceUri = UriUtil.generateSelfURI(uriInfo);
 
             return Response.ok(resourceUri).build();
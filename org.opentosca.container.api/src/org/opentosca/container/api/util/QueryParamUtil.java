@@ -0,0 +1,63 @@
+package org.opentosca.container.api.util;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * Helpers for the query parameters used to filter and paginate listings.
+ */
+public abstract class QueryParamUtil {
+
+    /**
+     * Parses a date given as ISO-8601 date-time with offset, e.g. <tt>2019-01-31T12:00:00Z</tt>.
+     *
+     * @param value the value of the query parameter or <code>null</code>
+     * @return the parsed date or <code>null</code> if no value is given
+     * @throws BadRequestException if the value is not a valid date
+     */
+    public static Date parseDate(final String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Date.from(OffsetDateTime.parse(value.trim()).toInstant());
+        }
+        catch (final DateTimeParseException e) {
+            throw new BadRequestException(String.format("The given date \"%s\" is not a valid ISO-8601 date-time",
+                                                        value));
+        }
+    }
+
+    /**
+     * @throws BadRequestException if offset or limit are negative
+     */
+    public static void validatePage(final Integer offset, final Integer limit) {
+        if (offset != null && offset < 0 || limit != null && limit < 0) {
+            throw new BadRequestException("The parameters offset and limit must not be negative");
+        }
+    }
+
+    /**
+     * Generates a link to the next page of a listing if the current page is full.
+     *
+     * @param uriInfo the URI info of the current request
+     * @param offset the offset of the current page or <code>null</code>
+     * @param limit the limit of the current page or <code>null</code>
+     * @param resultSize the number of results on the current page
+     * @return the link to the next page or <code>null</code> if there is no next page
+     */
+    public static Link generateNextLink(final UriInfo uriInfo, final Integer offset, final Integer limit,
+                                        final int resultSize) {
+        if (limit == null || limit == 0 || resultSize < limit) {
+            return null;
+        }
+        final int nextOffset = (offset != null ? offset : 0) + limit;
+        return Link.fromUri(uriInfo.getRequestUriBuilder().replaceQueryParam("offset", nextOffset).build())
+                   .rel("next").build();
+    }
+}
@@ -78,6 +78,13 @@ public class BpsConnector {
 
     private final static Logger LOG = LoggerFactory.getLogger(BpsConnector.class);
 
+    // initial and maximum delay in milliseconds between two polls for the state of a deployment, the
+    // delay doubles with every poll so fast deployments are confirmed fast
+    private final static long MIN_POLL_DELAY = 10;
+    private final static long MAX_POLL_DELAY = 2000;
+    // time in milliseconds after which a deployment which isn't active yet is considered failed
+    private final static long DEPLOYMENT_TIMEOUT = 100000;
+
     /**
      * Sets the endpoint of this connector
      *
@@ -107,14 +114,16 @@ public class BpsConnector {
      * @param uri the URI of the WSO2 BPS
      * @param user the username for the WSO2 BPS
      * @param pw the password for the WSO2 BPS
-     * @return a string containing the PID (ProcessId) of the deployed process if everything was
-     *         successful, else null
+     * @return the PID (ProcessId) and package of the deployed process if everything was successful,
+     *         else null
      */
-    public String deploy(final File process, final String uri, final String user, final String pw) throws Exception {
+    public DeployedProcess deploy(final File process, final String uri, final String user,
+                                  final String pw) throws Exception {
         if (uri == null | user == null | pw == null) {
             return null;
         }
         String pid = null;
+        String packageName = null;
         try {
             this.setEndpoint(uri);
             this.setLogin(user, pw);
@@ -123,24 +132,16 @@ public class BpsConnector {
             final String fileType = fileName.substring(fileName.lastIndexOf(".") + 1, fileName.length());
             BpsConnector.LOG.debug("Trying to deploy file: {}", process.getAbsolutePath());
             final String packageId = this.deployFile(process, fileName, fileType);
-            List<QName> pidsOfPackage = new ArrayList<>();
-            // this is a "brutal" hack <=> pulling from server until a pid is
-            // set
-            int pullCount = 0;
-            while (pidsOfPackage.isEmpty() & pullCount < 50) {
-                BpsConnector.LOG.debug("Polling for pid with packageId " + packageId);
+            final long deadline = System.currentTimeMillis() + DEPLOYMENT_TIMEOUT;
+
+            // poll the server until the pids of the package are set
+            long delay = MIN_POLL_DELAY;
+            List<QName> pidsOfPackage = this.getPIDsForPackageId(packageId, uri, user, pw);
+            while (pidsOfPackage.isEmpty() && System.currentTimeMillis() < deadline) {
+                BpsConnector.LOG.debug("Polling for pid with packageId {} in {} ms", packageId, delay);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_POLL_DELAY);
                 pidsOfPackage = this.getPIDsForPackageId(packageId, uri, user, pw);
-                if (pidsOfPackage.isEmpty()) {
-                    // as we don't want the bps to be overworked we wait here
-                    try {
-                        Thread.sleep(2000);
-                    }
-                    catch (final InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-                // for safety
-                pullCount++;
             }
 
             pid = this.calcHighestPid(pidsOfPackage, packageId);
@@ -161,10 +162,16 @@ public class BpsConnector {
                 + info.getProcessInfo().getDeploymentInfo().getPackageName());
 
             // check deployment state until its active
+            delay = MIN_POLL_DELAY;
             while (info.getProcessInfo().getStatus() != ProcessStatus.ACTIVE) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new Exception("Plan " + fileName + " didn't become active");
+                }
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_POLL_DELAY);
                 info = ((ProcessManagementServiceStub) this.setCookie(stub)).getProcessInfo(req2);
-                Thread.sleep(500);
             }
+            packageName = info.getProcessInfo().getDeploymentInfo().getPackageName();
 
         }
         catch (final RemoteException e) {
@@ -185,9 +192,10 @@ public class BpsConnector {
         }
         catch (final InterruptedException e) {
             BpsConnector.LOG.error("InterruptedException: ", e);
+            Thread.currentThread().interrupt();
             return null;
         }
-        return pid;
+        return new DeployedProcess(pid, packageName);
     }
 
     private String calcHighestPid(final List<QName> pids, final String packageId) {
@@ -767,4 +775,34 @@ public class BpsConnector {
         }
     }
 
+    /**
+     * The result of a successful deployment. The package name allows to undeploy the process later
+     * without looking up its package on the engine.
+     */
+    public static final class DeployedProcess {
+
+        private final String processId;
+
+        private final String packageName;
+
+
+        DeployedProcess(final String processId, final String packageName) {
+            this.processId = processId;
+            this.packageName = packageName;
+        }
+
+        /**
+         * @return the PID (ProcessId) of the deployed process
+         */
+        public String getProcessId() {
+            return this.processId;
+        }
+
+        /**
+         * @return the name of the package containing the deployed process
+         */
+        public String getPackageName() {
+            return this.packageName;
+        }
+    }
 }
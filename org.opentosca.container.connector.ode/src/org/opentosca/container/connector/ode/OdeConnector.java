@@ -63,6 +63,13 @@ public class OdeConnector {
 
     private final static Logger LOG = LoggerFactory.getLogger(OdeConnector.class);
 
+    // initial and maximum delay in milliseconds between two polls for the state of a deployment, the
+    // delay doubles with every poll so fast deployments are confirmed fast
+    private final static long MIN_POLL_DELAY = 10;
+    private final static long MAX_POLL_DELAY = 2000;
+    // time in milliseconds after which a deployment which isn't active yet is considered failed
+    private final static long DEPLOYMENT_TIMEOUT = 100000;
+
     /**
      * Sets the endpoint of this connector
      *
@@ -78,14 +85,15 @@ public class OdeConnector {
      *
      * @param process the process to deploy packaged for a Apache ODE
      * @param uri the URI of the Apache ODE
-     * @return a string containing the PID (ProcessId) of the deployed process if everything was
-     *         successful, else null
+     * @return the PID (ProcessId) and package of the deployed process if everything was successful,
+     *         else null
      */
-    public String deploy(final File process, final String uri) throws Exception {
+    public DeployedProcess deploy(final File process, final String uri) throws Exception {
         if (uri == null) {
             return null;
         }
         String pid = null;
+        String packageName = null;
         try {
             // Update the service endpoint
             setEndpoint(uri);
@@ -94,24 +102,16 @@ public class OdeConnector {
             final String fileType = fileName.substring(fileName.lastIndexOf(".") + 1, fileName.length());
             OdeConnector.LOG.debug("Trying to deploy file: {}", process.getAbsolutePath());
             final String packageId = deployFile(process, fileName, fileType);
-            List<QName> pidsOfPackage = new ArrayList<>();
-            // this is a "brutal" hack <=> pulling from server until a pid is
-            // set
-            int pullCount = 0;
-            while (pidsOfPackage.isEmpty() & pullCount < 50) {
-                OdeConnector.LOG.debug("Polling for pid with packageId " + packageId);
+            final long deadline = System.currentTimeMillis() + DEPLOYMENT_TIMEOUT;
+
+            // poll the server until the pids of the package are set
+            long delay = MIN_POLL_DELAY;
+            List<QName> pidsOfPackage = getPIDsForPackageId(packageId, uri);
+            while (pidsOfPackage.isEmpty() && System.currentTimeMillis() < deadline) {
+                OdeConnector.LOG.debug("Polling for pid with packageId {} in {} ms", packageId, delay);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_POLL_DELAY);
                 pidsOfPackage = getPIDsForPackageId(packageId, uri);
-                if (pidsOfPackage.isEmpty()) {
-                    // as we don't want ODE to be overworked we wait here
-                    try {
-                        Thread.sleep(2000);
-                    }
-                    catch (final InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-                // for safety
-                pullCount++;
             }
 
             pid = calcHighestPid(pidsOfPackage, packageId);
@@ -129,10 +129,16 @@ public class OdeConnector {
             OdeConnector.LOG.debug("Package name of PID is: " + info.getDeploymentInfo().get_package());
 
             // check deployment state until its active
+            delay = MIN_POLL_DELAY;
             while (!info.getStatus().equals(TProcessStatus.ACTIVE)) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new Exception("Plan " + fileName + " didn't become active");
+                }
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_POLL_DELAY);
                 info = client.getProcessInfo(processId);
-                Thread.sleep(500);
             }
+            packageName = info.getDeploymentInfo().get_package();
 
         }
         catch (final ManagementFault e) {
@@ -149,9 +155,10 @@ public class OdeConnector {
         }
         catch (final InterruptedException e) {
             OdeConnector.LOG.error("InterruptedException: ", e);
+            Thread.currentThread().interrupt();
             return null;
         }
-        return pid;
+        return new DeployedProcess(pid, packageName);
     }
 
     private String calcHighestPidForStrings(final List<String> pids, final String packageId) {
@@ -276,6 +283,30 @@ public class OdeConnector {
         return true;
     }
 
+    /**
+     * Undeploys a package with the given name from the referenced ODE without looking it up first
+     *
+     * @param packageName the name of the package as returned by {@link DeployedProcess#getPackageName()}
+     * @param uri the uri of the ODE to undeploy from
+     * @return true if undeployment was successful
+     */
+    public boolean undeployPackage(final String packageName, final String uri) {
+        if (uri == null) {
+            return false;
+        }
+
+        // Update the service endpoint
+        setEndpoint(uri);
+
+        try {
+            return getDeploymentServiceClient().undeploy(QName.valueOf(packageName));
+        }
+        catch (final RemoteException e) {
+            OdeConnector.LOG.error("Trying to undeploy package '" + packageName + "' caused an exception.", e);
+            return false;
+        }
+    }
+
     /**
      * Undeploys a BPEL Process which is given as a zip file
      *
@@ -576,4 +607,35 @@ public class OdeConnector {
         }
         return client;
     }
+
+    /**
+     * The result of a successful deployment. The package name allows to undeploy the process later
+     * without looking up its package on the engine.
+     */
+    public static final class DeployedProcess {
+
+        private final String processId;
+
+        private final String packageName;
+
+
+        DeployedProcess(final String processId, final String packageName) {
+            this.processId = processId;
+            this.packageName = packageName;
+        }
+
+        /**
+         * @return the PID (ProcessId) of the deployed process
+         */
+        public String getProcessId() {
+            return this.processId;
+        }
+
+        /**
+         * @return the name of the package containing the deployed process
+         */
+        public String getPackageName() {
+            return this.packageName;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package org.opentosca.container.control;
 import java.lang.reflect.Field;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.Set;
 
 import javax.xml.namespace.QName;
 
@@ -96,7 +97,10 @@ public class ServiceBindingTracker {
     private void logContainerIsAvailable() {
 
         this.LOG.info("Start of the OpenTOSCA Container, now invoke the resolving and consolidation of TOSCA data inside of stored CSARs.");
-        for (final CSARID csarID : this.coreFileService.getCSARIDs()) {
+        final Set<CSARID> csarIDs = this.coreFileService.getCSARIDs();
+        // parsing is independent for each CSAR, the resolution below is not
+        this.toscaEngineService.preparseDefinitions(csarIDs);
+        for (final CSARID csarID : csarIDs) {
             this.openToscaControlService.invokeTOSCAProcessing(csarID);
 
             for (final QName serviceTemplateID : this.toscaEngineService.getToscaReferenceMapper()
@@ -3,8 +3,14 @@ package org.opentosca.container.control.impl;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.namespace.QName;
 
@@ -15,6 +21,7 @@ import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.engine.IToscaEngineService;
 import org.opentosca.container.core.engine.xml.IXMLSerializerService;
 import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.model.deployment.plan.PlanDeploymentState;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessOperation;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessState;
 import org.opentosca.container.core.service.ICoreDeploymentTrackerService;
@@ -51,6 +58,20 @@ public class OpenToscaControlServiceImpl implements IOpenToscaControlService {
 
     private final Logger LOG = LoggerFactory.getLogger(OpenToscaControlServiceImpl.class);
 
+    // the plans of a service template are deployed concurrently, as most of the time is spent
+    // waiting for the plan engine
+    private static final ExecutorService planDeploymentExecutor;
+
+    static {
+        final int threads = Math.max(1, Integer.parseInt(Settings.PLAN_DEPLOYMENT_THREADS));
+        final AtomicInteger count = new AtomicInteger();
+        planDeploymentExecutor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "plan-deployment-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -120,16 +141,30 @@ public class OpenToscaControlServiceImpl implements IOpenToscaControlService {
                 namespace = serviceTemplateID.getNamespaceURI();
             }
 
+            final String targetNamespace = namespace;
+            final Map<TPlan, CompletableFuture<Boolean>> deployments = new LinkedHashMap<>();
             for (final TPlan plan : plans.getPlan()) {
+                storePlanDeploymentState(csarID, plan, PlanDeploymentState.PLAN_DEPLOYING);
+                deployments.put(plan, CompletableFuture.supplyAsync(() -> deployPlan(plan, targetNamespace, csarID),
+                                                                    planDeploymentExecutor));
+            }
 
-                if (!OpenToscaControlServiceImpl.planEngine.deployPlan(plan, namespace, csarID)) {
-                    listOfUndeployedPlans.add(plan);
+            final List<TPlan> listOfDeployedPlans = new ArrayList<>();
+            for (final Map.Entry<TPlan, CompletableFuture<Boolean>> deployment : deployments.entrySet()) {
+                if (deployment.getValue().join()) {
+                    listOfDeployedPlans.add(deployment.getKey());
+                    storePlanDeploymentState(csarID, deployment.getKey(), PlanDeploymentState.PLAN_DEPLOYED);
+                } else {
+                    listOfUndeployedPlans.add(deployment.getKey());
+                    storePlanDeploymentState(csarID, deployment.getKey(), PlanDeploymentState.PLAN_DEPLOYMENT_FAILED);
                 }
             }
 
             // check the success of the plan deployment
             if (listOfUndeployedPlans.size() != 0) {
                 this.LOG.error("Plan deployment failed!");
+                // don't leave the service template with a part of its plans deployed
+                rollbackPlanDeployment(csarID, targetNamespace, listOfDeployedPlans);
                 OpenToscaControlServiceImpl.coreDeploymentTracker.storeDeploymentState(csarID,
                                                                                        DeploymentProcessState.TOSCA_PROCESSED);
                 return false;
@@ -152,6 +187,52 @@ public class OpenToscaControlServiceImpl implements IOpenToscaControlService {
         return true;
     }
 
+    private boolean deployPlan(final TPlan plan, final String namespace, final CSARID csarID) {
+        final long start = System.currentTimeMillis();
+        try {
+            final boolean deployed = OpenToscaControlServiceImpl.planEngine.deployPlan(plan, namespace, csarID);
+            this.LOG.debug("Deployment of plan \"{}\" of CSAR \"{}\" {} after {} ms", plan.getId(), csarID,
+                           deployed ? "succeeded" : "failed", System.currentTimeMillis() - start);
+            return deployed;
+        }
+        catch (final RuntimeException e) {
+            this.LOG.error("Deployment of plan \"{}\" of CSAR \"{}\" failed", plan.getId(), csarID, e);
+            return false;
+        }
+    }
+
+    private void rollbackPlanDeployment(final CSARID csarID, final String namespace, final List<TPlan> plans) {
+        final Map<TPlan, CompletableFuture<Boolean>> undeployments = new LinkedHashMap<>();
+        for (final TPlan plan : plans) {
+            storePlanDeploymentState(csarID, plan, PlanDeploymentState.PLAN_UNDEPLOYING);
+            undeployments.put(plan, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return OpenToscaControlServiceImpl.planEngine.undeployPlan(plan, namespace, csarID);
+                }
+                catch (final RuntimeException e) {
+                    this.LOG.error("Undeployment of plan \"{}\" of CSAR \"{}\" failed", plan.getId(), csarID, e);
+                    return false;
+                }
+            }, planDeploymentExecutor));
+        }
+
+        for (final Map.Entry<TPlan, CompletableFuture<Boolean>> undeployment : undeployments.entrySet()) {
+            if (undeployment.getValue().join()) {
+                storePlanDeploymentState(csarID, undeployment.getKey(), PlanDeploymentState.PLAN_UNDEPLOYED);
+            } else {
+                this.LOG.warn("Could not roll back the deployment of plan \"{}\" of CSAR \"{}\"",
+                              undeployment.getKey().getId(), csarID);
+                storePlanDeploymentState(csarID, undeployment.getKey(), PlanDeploymentState.PLAN_UNDEPLOYMENT_FAILED);
+            }
+        }
+    }
+
+    private void storePlanDeploymentState(final CSARID csarID, final TPlan plan, final PlanDeploymentState state) {
+        final String planRef =
+            plan.getPlanModelReference() != null ? plan.getPlanModelReference().getReference() : plan.getId();
+        OpenToscaControlServiceImpl.coreDeploymentTracker.storePlanDeploymentInfo(csarID, planRef, state);
+    }
+
     /**
      * {@inheritDoc}
      *
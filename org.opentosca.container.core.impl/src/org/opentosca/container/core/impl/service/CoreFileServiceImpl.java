@@ -1,20 +1,25 @@
 package org.opentosca.container.core.impl.service;
 
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.common.UserException;
+import org.opentosca.container.core.impl.plan.ServiceProxy;
 import org.opentosca.container.core.model.csar.CSARContent;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.service.ICoreFileService;
 import org.opentosca.container.core.service.internal.ICoreInternalFileService;
+import org.osgi.service.event.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This implementation currently acts as a Proxy to the Core Internal File Service. It can in future
  * be used to modify the incoming parameters to fit another back end interface / implementation.
+ * Deleted CSARs are announced by an event, so other bundles can forget what they know about them.
  */
 public class CoreFileServiceImpl implements ICoreFileService {
 
@@ -119,6 +124,18 @@ public class CoreFileServiceImpl implements ICoreFileService {
         return this.internalFileService.storeCSAR(csarFile);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <br />
+     * <br />
+     * This currently acts as a proxy.
+     */
+    @Override
+    public void storeFilesOfCSAR(final CSARID csarID, final Path directory) throws UserException, SystemException {
+        this.internalFileService.storeFilesOfCSAR(csarID, directory);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -190,6 +207,7 @@ public class CoreFileServiceImpl implements ICoreFileService {
     @Override
     public void deleteCSAR(final CSARID csarID) throws SystemException, UserException {
         this.internalFileService.deleteCSAR(csarID);
+        postCSARDeletedEvent(csarID);
     }
 
     /**
@@ -201,7 +219,19 @@ public class CoreFileServiceImpl implements ICoreFileService {
      */
     @Override
     public void deleteCSARs() throws SystemException {
+        final Set<CSARID> csarIDs = this.internalFileService.getCSARIDs();
         this.internalFileService.deleteCSARs();
+        csarIDs.forEach(this::postCSARDeletedEvent);
+    }
+
+    private void postCSARDeletedEvent(final CSARID csarID) {
+        if (ServiceProxy.eventAdmin == null) {
+            LOG.debug("No EventAdmin available. Deletion of CSAR \"{}\" isn't posted.", csarID);
+            return;
+        }
+        final Map<String, Object> eventValues = new HashMap<>();
+        eventValues.put("CSARID", csarID);
+        ServiceProxy.eventAdmin.postEvent(new Event("org_opentosca_csars/deleted", eventValues));
     }
 
     /**
@@ -3,6 +3,9 @@ package org.opentosca.container.core.impl.service;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -10,6 +13,9 @@ import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
@@ -17,36 +23,73 @@ import org.apache.http.client.methods.HttpOptions;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpTrace;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.cookie.Cookie;
-import org.apache.http.impl.client.AbstractHttpClient;
-import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.client.LaxRedirectStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.service.IHTTPService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This is an implementation of the {@link org.opentosca.util.http.service.IHTTPService} interface.
  * A lot of methods currently offer only very basic functionality which could be extended in the
  * future if the need arises. All methods make use of the Apache HttpComponents.
+ *
+ * All requests are executed by one client with a pool of persistent connections, so subsequent
+ * requests to the same host reuse the connection. Cookies and credentials are kept in a context per
+ * request and are therefore not shared between callers. The connection of a request is returned to
+ * the pool as soon as the entity of its response is consumed.
  */
 public class HttpServiceImpl implements IHTTPService {
 
-    DefaultHttpClient client;
+    private static final Logger LOG = LoggerFactory.getLogger(HttpServiceImpl.class);
 
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final CloseableHttpClient client;
+
+    private final ScheduledExecutorService evictionScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "http-connection-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+
+    public HttpServiceImpl() {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(Integer.parseInt(Settings.HTTP_POOL_MAX_TOTAL));
+        this.connectionManager.setDefaultMaxPerRoute(Integer.parseInt(Settings.HTTP_POOL_MAX_PER_ROUTE));
+
+        final RequestConfig requestConfig =
+            RequestConfig.custom().setConnectTimeout(Integer.parseInt(Settings.HTTP_CONNECT_TIMEOUT))
+                         .setSocketTimeout(Integer.parseInt(Settings.HTTP_SOCKET_TIMEOUT))
+                         .setConnectionRequestTimeout(Integer.parseInt(Settings.HTTP_CONNECTION_REQUEST_TIMEOUT))
+                         .build();
+
+        this.client = HttpClients.custom().setConnectionManager(this.connectionManager)
+                                 .setDefaultRequestConfig(requestConfig)
+                                 .setRedirectStrategy(new LaxRedirectStrategy()).build();
+
+        final long idleTimeout = Long.parseLong(Settings.HTTP_IDLE_TIMEOUT);
+        this.evictionScheduler.scheduleWithFixedDelay(() -> evictConnections(idleTimeout), idleTimeout, idleTimeout,
+                                                      TimeUnit.MILLISECONDS);
+    }
 
     @Override
     public HttpResponse Get(final String uri, final List<Cookie> cookies) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpGet get = new HttpGet(uri);
+        final HttpClientContext context = HttpClientContext.create();
+        context.setCookieStore(createCookieStore(cookies));
 
-        if (cookies != null) {
-            for (final Cookie c : cookies) {
-                ((AbstractHttpClient) this.client).getCookieStore().addCookie(c);
-
-            }
-        }
-
-        final HttpResponse response = this.client.execute(get);
+        final HttpResponse response = execute(get, context);
 
         return response;
         // TODO Return something useful maybe... like an InputStream
@@ -55,15 +98,13 @@ public class HttpServiceImpl implements IHTTPService {
     @Override
     public HttpResponse Get(final String uri, final Map<String, String> headers) throws ClientProtocolException,
                                                                                  IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpGet get = new HttpGet(uri);
 
         for (final String header : headers.keySet()) {
             get.addHeader(header, headers.get(header));
         }
 
-        final HttpResponse response = this.client.execute(get);
+        final HttpResponse response = execute(get, HttpClientContext.create());
 
         return response;
         // TODO Return something useful maybe... like an InputStream
@@ -72,10 +113,8 @@ public class HttpServiceImpl implements IHTTPService {
 
     @Override
     public HttpResponse Get(final String uri) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpGet get = new HttpGet(uri);
-        final HttpResponse response = this.client.execute(get);
+        final HttpResponse response = execute(get, HttpClientContext.create());
 
         return response;
         // TODO Return something useful maybe... like an InputStream
@@ -84,12 +123,8 @@ public class HttpServiceImpl implements IHTTPService {
     @Override
     public HttpResponse Get(final String uri, final String username,
                             final String password) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.getCredentialsProvider().setCredentials(AuthScope.ANY,
-                                                            new UsernamePasswordCredentials(username, password));
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpGet get = new HttpGet(uri);
-        final HttpResponse response = this.client.execute(get);
+        final HttpResponse response = execute(get, createContext(username, password));
 
         return response;
         // TODO Return something useful maybe... like an InputStream
@@ -97,113 +132,140 @@ public class HttpServiceImpl implements IHTTPService {
 
     @Override
     public HttpResponse Head(final String uri) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpHead head = new HttpHead(uri);
-        final HttpResponse response = this.client.execute(head);
+        final HttpResponse response = execute(head, HttpClientContext.create());
         return response;
     }
 
     @Override
     public HttpResponse Post(final String uri, final HttpEntity httpEntity) throws ClientProtocolException,
                                                                             IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPost post = new HttpPost(uri);
         post.setEntity(httpEntity);
-        final HttpResponse response = this.client.execute(post);
+        final HttpResponse response = execute(post, HttpClientContext.create());
         return response;
     }
 
     @Override
     public HttpResponse Post(final String uri, final HttpEntity httpEntity,
                              final Header... header) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPost post = new HttpPost(uri);
         post.setEntity(httpEntity);
         post.setHeaders(header);
-        final HttpResponse response = this.client.execute(post);
+        final HttpResponse response = execute(post, HttpClientContext.create());
         return response;
     }
 
     @Override
     public HttpResponse Post(final String uri, final HttpEntity httpEntity,
                              final List<Cookie> cookies) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPost post = new HttpPost(uri);
         post.setEntity(httpEntity);
-        if (cookies != null) {
-            for (final Cookie c : cookies) {
-                ((AbstractHttpClient) this.client).getCookieStore().addCookie(c);
-
-            }
-        }
-        final HttpResponse response = this.client.execute(post);
+        final HttpClientContext context = HttpClientContext.create();
+        context.setCookieStore(createCookieStore(cookies));
+        final HttpResponse response = execute(post, context);
         return response;
     }
 
     @Override
     public List<Cookie> PostCookies(final String uri, final HttpEntity httpEntity) throws ClientProtocolException,
                                                                                    IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPost post = new HttpPost(uri);
         post.setEntity(httpEntity);
-        this.client.execute(post);
-        final List<Cookie> cookies = ((AbstractHttpClient) this.client).getCookieStore().getCookies();
-        // this.client.getConnectionManager().shutdown();
+        final HttpClientContext context = HttpClientContext.create();
+        context.setCookieStore(new BasicCookieStore());
+        this.client.execute(post, context).close();
+        final List<Cookie> cookies = context.getCookieStore().getCookies();
         return cookies;
     }
 
     @Override
     public HttpResponse Put(final String uri, final HttpEntity httpEntity) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPut put = new HttpPut(uri);
         put.setEntity(httpEntity);
-        final HttpResponse response = this.client.execute(put);
+        final HttpResponse response = execute(put, HttpClientContext.create());
         return response;
     }
 
     @Override
     public HttpResponse Put(final String uri, final HttpEntity httpEntity, final String username,
                             final String password) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
-        this.client.getCredentialsProvider().setCredentials(AuthScope.ANY,
-                                                            new UsernamePasswordCredentials(username, password));
         final HttpPut put = new HttpPut(uri);
         put.setEntity(httpEntity);
-        final HttpResponse response = this.client.execute(put);
+        final HttpResponse response = execute(put, createContext(username, password));
         return response;
     }
 
     @Override
     public HttpResponse Delete(final String uri) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpDelete del = new HttpDelete(uri);
-        final HttpResponse response = this.client.execute(del);
+        final HttpResponse response = execute(del, HttpClientContext.create());
         return response;
     }
 
     @Override
     public HttpResponse Trace(final String uri) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpTrace trace = new HttpTrace(uri);
-        final HttpResponse response = this.client.execute(trace);
+        final HttpResponse response = execute(trace, HttpClientContext.create());
         return response;
     }
 
     @Override
     public HttpResponse Options(final String uri) throws ClientProtocolException, IOException {
-        this.client = new DefaultHttpClient();
-        this.client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpOptions options = new HttpOptions(uri);
-        final HttpResponse response = this.client.execute(options);
+        final HttpResponse response = execute(options, HttpClientContext.create());
         return response;
     }
+
+    @Override
+    public PoolStats getPoolStats() {
+        return this.connectionManager.getTotalStats();
+    }
+
+    /**
+     * Called by the OSGi framework when the component is deactivated. Closes all pooled connections.
+     */
+    protected void deactivate() {
+        this.evictionScheduler.shutdownNow();
+        try {
+            this.client.close();
+        }
+        catch (final IOException e) {
+            LOG.warn("Unable to close the HTTP client: {}", e.getMessage());
+        }
+    }
+
+    private HttpResponse execute(final HttpUriRequest request,
+                                 final HttpClientContext context) throws ClientProtocolException, IOException {
+        final HttpResponse response = this.client.execute(request, context);
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{} {} done. Connection pool: {}", request.getMethod(), request.getURI(), getPoolStats());
+        }
+        return response;
+    }
+
+    private HttpClientContext createContext(final String username, final String password) {
+        final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
+
+        final HttpClientContext context = HttpClientContext.create();
+        context.setCredentialsProvider(credentialsProvider);
+        return context;
+    }
+
+    private CookieStore createCookieStore(final List<Cookie> cookies) {
+        final CookieStore cookieStore = new BasicCookieStore();
+        if (cookies != null) {
+            for (final Cookie c : cookies) {
+                cookieStore.addCookie(c);
+            }
+        }
+        return cookieStore;
+    }
+
+    private void evictConnections(final long idleTimeout) {
+        this.connectionManager.closeExpiredConnections();
+        this.connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        LOG.debug("HTTP connection pool: {}", getPoolStats());
+    }
 }
@@ -6,9 +6,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
-import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.xml.namespace.QName;
 
@@ -26,14 +27,23 @@ import org.slf4j.LoggerFactory;
 /**
  * This Class stores and retrieves Endpoint-Objects in the Database, using Eclipse-JPA.
  *
+ * The WSDLEndpoints are additionally kept in a {@link WSDLEndpointRegistry}, which is loaded at
+ * startup and written through on every change, so they are retrieved without querying the Database.
+ * The EntityManager isn't thread-safe, thus all accesses to it are synchronized on this service.
+ *
  * For the JPA-Queries refer to: {@link RESTEndpoint}, {@link WSDLEndpoint}
  */
 public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointService, CommandProvider {
 
     private final static Logger LOG = LoggerFactory.getLogger(CoreInternalEndpointServiceImpl.class);
 
+    // endpoints stored by the container itself, e.g. the SI-Invoker endpoint, are valid for all CSARs
+    private static final CSARID CONTAINER_CSAR_ID = new CSARID("***");
+
     private EntityManager em;
 
+    private final WSDLEndpointRegistry wsdlEndpoints = new WSDLEndpointRegistry();
+
     public CoreInternalEndpointServiceImpl() {
         init();
     }
@@ -52,9 +62,15 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
      * This method initializes the EntityManager/Factory in case it is not connected/setup yet. It
      * is called by each method, to ensure that a connection exists. (Robustness!)
      */
-    private void init() {
+    private synchronized void init() {
         if (this.em == null) {
             this.em = EntityManagerProvider.createEntityManager();
+
+            final Query query = this.em.createQuery("SELECT e FROM WSDLEndpoint e");
+            @SuppressWarnings("unchecked")
+            final List<WSDLEndpoint> queryResults = query.getResultList();
+            queryResults.forEach(this.wsdlEndpoints::add);
+            LOG.debug("Loaded {} WSDL Endpoints from the Database.", queryResults.size());
         }
     }
 
@@ -66,36 +82,11 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
                                                final CSARID csarId) {
 
         final ArrayList<WSDLEndpoint> results = new ArrayList<>();
-
-        final Query getWSDLEndpointsQuery =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId = :csarId and e.PortType = :portType");
-
-        // Set Parameters for the Query
-        getWSDLEndpointsQuery.setParameter("portType", portType);
-        getWSDLEndpointsQuery.setParameter("triggeringContainer", triggeringContainer);
-        getWSDLEndpointsQuery.setParameter("csarId", csarId);
-
-        // Get Query-Results (WSDLEndpoints) and add them to the result list.
-        @SuppressWarnings("unchecked")
-        final
-        // Result can only be a WSDLEndpoint
-        List<WSDLEndpoint> queryResults = getWSDLEndpointsQuery.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            results.add(endpoint);
-        }
+        results.addAll(this.wsdlEndpoints.getByPortType(triggeringContainer, csarId, portType));
 
         // Hack, to get endpoints stored from the container e.g. the SI-Invoker
         // endpoint.
-        getWSDLEndpointsQuery.setParameter("csarId", new CSARID("***"));
-
-        // Get Query-Results (WSDLEndpoints) and add them to the result list.
-        @SuppressWarnings("unchecked")
-        final
-        // Result can only be a WSDLEndpoint
-        List<WSDLEndpoint> queryResults2 = getWSDLEndpointsQuery.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults2) {
-            results.add(endpoint);
-        }
+        results.addAll(this.wsdlEndpoints.getByPortType(triggeringContainer, CONTAINER_CSAR_ID, portType));
 
         return results;
     }
@@ -104,7 +95,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     /**
      * {@Inheritdoc}
      */
-    public void storeWSDLEndpoint(final WSDLEndpoint endpoint) {
+    public synchronized void storeWSDLEndpoint(final WSDLEndpoint endpoint) {
         CoreInternalEndpointServiceImpl.LOG.debug("Storing WSDL Endpoint with CSARID: \"" + endpoint.getCSARId()
             + "\", portType: \"" + endpoint.getPortType() + "\", IAName: \"" + endpoint.getIaName()
             + "\", TypeImplementation: \"" + endpoint.getTypeImplementation() + "\", URI: \""
@@ -120,6 +111,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
                                                       endpoint.getPortType());
             this.em.persist(endpoint);
             this.em.getTransaction().commit();
+            this.wsdlEndpoints.add(endpoint);
         } else {
             CoreInternalEndpointServiceImpl.LOG.debug("The endpoint for \"{}\" is stored already.",
                                                       endpoint.getPortType());
@@ -135,7 +127,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     private boolean existsWSDLEndpoint(final WSDLEndpoint endpoint) {
         // get all available WSDL endpoints
         final List<WSDLEndpoint> endpoints =
-            getWSDLEndpointsForCSARID(endpoint.getTriggeringContainer(), endpoint.getCSARId());
+            this.wsdlEndpoints.getByCSAR(endpoint.getTriggeringContainer(), endpoint.getCSARId());
 
         // search for an equivalent endpoint
         return endpoints.stream().filter(wsdlEndpoint -> Objects.equals(endpoint.getCSARId(), wsdlEndpoint.getCSARId()))
@@ -158,8 +150,8 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     /**
      * {@Inheritdoc}
      */
-    public List<RESTEndpoint> getRestEndpoints(final URI anyURI, final String triggeringContainer,
-                                               final CSARID csarId) {
+    public synchronized List<RESTEndpoint> getRestEndpoints(final URI anyURI, final String triggeringContainer,
+                                                            final CSARID csarId) {
         final ArrayList<RESTEndpoint> results = new ArrayList<>();
 
         /**
@@ -188,7 +180,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     /**
      * {@Inheritdoc}
      */
-    public void storeRESTEndpoint(final RESTEndpoint endpoint) {
+    public synchronized void storeRESTEndpoint(final RESTEndpoint endpoint) {
         CoreInternalEndpointServiceImpl.LOG.debug("Storing REST Endpoint with Path : \"{}\", STID: \"{}\"",
                                                   endpoint.getPath(), endpoint.getCSARId().getFileName());
         if (!this.em.getTransaction().isActive()) {
@@ -221,7 +213,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
         _endpoint_clear_wsdl(commandInterpreter);
     }
 
-    public void _endpoint_clear_wsdl(final CommandInterpreter commandInterpreter) {
+    public synchronized void _endpoint_clear_wsdl(final CommandInterpreter commandInterpreter) {
         if (!this.em.getTransaction().isActive()) {
             this.em.getTransaction().begin();
         }
@@ -229,9 +221,10 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
         final int deletedWSDL = query.executeUpdate();
         commandInterpreter.println("Deleted " + deletedWSDL + " WSDLEndpoints.");
         this.em.getTransaction().commit();
+        this.wsdlEndpoints.clear();
     }
 
-    public void _endpoint_clear_rest(final CommandInterpreter commandInterpreter) {
+    public synchronized void _endpoint_clear_rest(final CommandInterpreter commandInterpreter) {
         if (!this.em.getTransaction().isActive()) {
             this.em.getTransaction().begin();
         }
@@ -269,7 +262,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
 
     }
 
-    public void _endpoint_show_rest(final CommandInterpreter commandInterpreter) {
+    public synchronized void _endpoint_show_rest(final CommandInterpreter commandInterpreter) {
 
         final Query query = this.em.createQuery("SELECT e FROM RESTEndpoint e");
         @SuppressWarnings("unchecked")
@@ -281,10 +274,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     }
 
     public void _endpoint_show_wsdl(final CommandInterpreter commandInterpreter) {
-        final Query query = this.em.createQuery("SELECT e FROM WSDLEndpoint e");
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = query.getResultList();
-        for (final WSDLEndpoint e : queryResults) {
+        for (final WSDLEndpoint e : this.wsdlEndpoints.getAll()) {
             commandInterpreter.println("Triggering Container: " + e.getTriggeringContainer());
             commandInterpreter.println("Managing Container: " + e.getManagingContainer());
             commandInterpreter.println("CSARId: " + e.getCSARId());
@@ -303,124 +293,69 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     }
 
     @Override
-    public void removePlanEndpoints(final String triggeringContainer, final CSARID csarId) {
+    public synchronized void removePlanEndpoints(final String triggeringContainer, final CSARID csarId) {
+        // get all plan endpoints (plan ID set) for the given csarid
+        final List<WSDLEndpoint> planEndpoints = this.wsdlEndpoints.getByCSAR(triggeringContainer, csarId).stream()
+                                                                   .filter(e -> e.getPlanId() != null)
+                                                                   .collect(Collectors.toList());
+
         if (!this.em.getTransaction().isActive()) {
             this.em.getTransaction().begin();
         }
 
-        // get all plan endpoints (plan ID set) for the given csarid
-        final Query queryWsdlEndpoints =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId = :csarId and e.PlanId is not null");
-        queryWsdlEndpoints.setParameter("triggeringContainer", triggeringContainer);
-        queryWsdlEndpoints.setParameter("csarId", csarId);
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> wsdlEndpoints = queryWsdlEndpoints.getResultList();
-
         // remove all found plan endpoints one by one
-        for (final WSDLEndpoint wsdlEndpoint : wsdlEndpoints) {
+        for (final WSDLEndpoint wsdlEndpoint : planEndpoints) {
             this.em.remove(wsdlEndpoint);
         }
 
         this.em.getTransaction().commit();
+        planEndpoints.forEach(this.wsdlEndpoints::remove);
     }
 
     @Override
     public WSDLEndpoint getWSDLEndpointForPlanId(final String triggeringContainer, final CSARID csarId,
                                                  final QName planId) {
-        WSDLEndpoint endpoint = null;
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId= :csarId and e.PlanId = :planId");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-        queryWSDLEndpoint.setParameter("planId", planId);
-
-        try {
-            endpoint = (WSDLEndpoint) queryWSDLEndpoint.getSingleResult();
-        }
-        catch (final NoResultException e) {
-            LOG.error("Query in database didn't return a result", e);
+        final Optional<WSDLEndpoint> endpoint = this.wsdlEndpoints.getByCSAR(triggeringContainer, csarId).stream()
+                                                                  .filter(e -> Objects.equals(planId, e.getPlanId()))
+                                                                  .findFirst();
+        if (!endpoint.isPresent()) {
+            LOG.error("No WSDL Endpoint stored for plan \"{}\" of CSAR \"{}\"", planId, csarId);
             return null;
         }
 
-        return endpoint;
+        return endpoint.get();
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForCSARID(final String triggeringContainer, final CSARID csarId) {
-        final ArrayList<WSDLEndpoint> endpoints = new ArrayList<>();
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId= :csarId");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return new ArrayList<>(this.wsdlEndpoints.getByCSAR(triggeringContainer, csarId));
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForSTID(final String triggeringContainer,
                                                       final Long serviceTemplateInstanceID) {
-        final ArrayList<WSDLEndpoint> endpoints = new ArrayList<>();
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.serviceTemplateInstanceID= :serviceTemplateInstanceID");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("serviceTemplateInstanceID", serviceTemplateInstanceID);
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return new ArrayList<>(this.wsdlEndpoints.getByServiceTemplateInstance(triggeringContainer,
+                                                                               serviceTemplateInstanceID));
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForNTImplAndIAName(final String triggeringContainer,
                                                                  final String managingContainer, final QName typeImpl,
                                                                  final String iaName) {
-        final ArrayList<WSDLEndpoint> endpoints = new ArrayList<>();
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.managingContainer = :managingContainer and e.IaName = :IaName and e.TypeImplementation = :typeImpl");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("managingContainer", managingContainer);
-        queryWSDLEndpoint.setParameter("IaName", iaName);
-        queryWSDLEndpoint.setParameter("typeImpl", typeImpl);
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return new ArrayList<>(this.wsdlEndpoints.getByTypeImplementationAndIAName(triggeringContainer,
+                                                                                   managingContainer, typeImpl,
+                                                                                   iaName));
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpoints() {
-        final ArrayList<WSDLEndpoint> endpoints = new ArrayList<>();
-        final Query queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e");
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return new ArrayList<>(this.wsdlEndpoints.getAll());
     }
 
     @Override
     public void printPlanEndpoints() {
-        final Query queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.PlanId is not null");
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> endpoints = queryWSDLEndpoint.getResultList();
+        final List<WSDLEndpoint> endpoints = this.wsdlEndpoints.getAll().stream().filter(e -> e.getPlanId() != null)
+                                                              .collect(Collectors.toList());
 
         final StringBuilder builder = new StringBuilder();
         final String ls = System.getProperty("line.separator");
@@ -434,22 +369,21 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     }
 
     @Override
-    public boolean removeWSDLEndpoint(final WSDLEndpoint endpoint) {
-        // get all wsdl endpoints with related properties
-        final List<WSDLEndpoint> endpoints =
-            getWSDLEndpointsForCSARID(endpoint.getTriggeringContainer(), endpoint.getCSARId());
+    public synchronized boolean removeWSDLEndpoint(final WSDLEndpoint endpoint) {
+        // get the stored wsdl endpoint with related properties
+        final WSDLEndpoint storedEndpoint = this.wsdlEndpoints.get(endpoint.getId());
+        if (storedEndpoint == null
+            || !Objects.equals(storedEndpoint.getTriggeringContainer(), endpoint.getTriggeringContainer())
+            || !Objects.equals(storedEndpoint.getCSARId(), endpoint.getCSARId())) {
+            return false;
+        }
 
         if (!this.em.getTransaction().isActive()) {
             this.em.getTransaction().begin();
         }
-        boolean check = false;
-
-        // check if given endpoint is in the list and remove
-        if (endpoints.contains(endpoint)) {
-            this.em.remove(endpoint);
-            check = true;
-        }
+        this.em.remove(storedEndpoint);
         this.em.getTransaction().commit();
-        return check;
+        this.wsdlEndpoints.remove(storedEndpoint);
+        return true;
     }
 }
@@ -163,6 +163,63 @@ public class CoreInternalFileServiceImpl implements ICoreInternalFileService {
         }
     }
 
+    @Override
+    public void storeFilesOfCSAR(final CSARID csarID, final Path directory) throws UserException, SystemException {
+
+        CoreInternalFileServiceImpl.LOG.debug("Storing files in \"{}\" as files of CSAR \"{}\"...", directory, csarID);
+
+        if (!Files.isDirectory(directory)) {
+            throw new UserException(
+                "\"" + directory.toString() + "\" is not an absolute path to an existent directory.");
+        }
+
+        final Map<Path, String> fileToStorageProviderIDMapOfCSAR = this.JPA_STORE.getFileToStorageProviderIDMap(csarID);
+        final Set<Path> directoriesOfCSAR = this.JPA_STORE.getDirectories(csarID);
+
+        final DirectoryVisitor directoryVisitor = new DirectoryVisitor();
+        try {
+            Files.walkFileTree(directory, directoryVisitor);
+        }
+        catch (final IOException exc) {
+            throw new SystemException("An IO Exception occured. Visiting directory \"" + directory + "\" failed.", exc);
+        }
+
+        String storageProviderID = null;
+        final Map<Path, String> newFileToStorageProviderIDMap = new HashMap<>();
+        final Set<Path> newDirectories = new HashSet<>();
+
+        for (final Path file : directoryVisitor.getVisitedFiles()) {
+            final Path fileRelToCSARRoot = directory.relativize(file);
+            final String fileStorageProviderID = fileToStorageProviderIDMapOfCSAR.get(fileRelToCSARRoot);
+
+            if (fileStorageProviderID != null) {
+                // replace the file where it is currently stored, its meta data don't change
+                this.STORAGE_PROVIDER_MANAGER.storeFileOfCSAR(file, csarID, fileRelToCSARRoot, fileStorageProviderID);
+            } else {
+                if (storageProviderID == null) {
+                    storageProviderID = this.STORAGE_PROVIDER_MANAGER.chooseStorageProvider();
+                }
+                this.STORAGE_PROVIDER_MANAGER.storeFileOfCSAR(file, csarID, fileRelToCSARRoot, storageProviderID);
+                newFileToStorageProviderIDMap.put(fileRelToCSARRoot, storageProviderID);
+            }
+        }
+
+        for (final Path directoryInDirectory : directoryVisitor.getVisitedDirectories()) {
+            final Path directoryRelToCSARRoot = directory.relativize(directoryInDirectory);
+            if (!directoryInDirectory.equals(directory) && !directoriesOfCSAR.contains(directoryRelToCSARRoot)) {
+                newDirectories.add(directoryRelToCSARRoot);
+            }
+        }
+
+        if (!newFileToStorageProviderIDMap.isEmpty() || !newDirectories.isEmpty()) {
+            this.JPA_STORE.storeFilesOfCSARMetaData(csarID, newFileToStorageProviderIDMap, newDirectories);
+        }
+
+        CoreInternalFileServiceImpl.LOG.debug("Storing {} file(s) as files of CSAR \"{}\" completed, {} of them are new.",
+                                              directoryVisitor.getVisitedFiles().size(), csarID,
+                                              newFileToStorageProviderIDMap.size());
+    }
+
     @Override
     public CSARContent getCSAR(final CSARID csarID) throws UserException {
 
@@ -0,0 +1,152 @@
+package org.opentosca.container.core.impl.service.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+
+/**
+ * In-memory index of the stored WSDLEndpoints by the properties they are looked up with, so resolving
+ * an endpoint doesn't require a database query.<br>
+ * <br>
+ *
+ * The indexed lists are immutable and replaced on every change, thus lookups don't need any locking.
+ * The registry doesn't access the database itself, the owner adds an endpoint after it was
+ * persisted and removes it after it was deleted.
+ */
+class WSDLEndpointRegistry {
+
+    private final Map<Long, WSDLEndpoint> endpoints = new ConcurrentHashMap<>();
+
+    private final Map<List<Object>, List<WSDLEndpoint>> byCSAR = new ConcurrentHashMap<>();
+
+    private final Map<List<Object>, List<WSDLEndpoint>> byPortType = new ConcurrentHashMap<>();
+
+    private final Map<List<Object>, List<WSDLEndpoint>> byServiceTemplateInstance = new ConcurrentHashMap<>();
+
+    private final Map<List<Object>, List<WSDLEndpoint>> byTypeImplementationAndIAName = new ConcurrentHashMap<>();
+
+
+    /**
+     * @param endpoint a persisted WSDLEndpoint
+     */
+    void add(final WSDLEndpoint endpoint) {
+        this.endpoints.put(endpoint.getId(), endpoint);
+        add(this.byCSAR, csarKey(endpoint.getTriggeringContainer(), endpoint.getCSARId()), endpoint);
+        add(this.byPortType,
+            portTypeKey(endpoint.getTriggeringContainer(), endpoint.getCSARId(), endpoint.getPortType()), endpoint);
+        add(this.byServiceTemplateInstance,
+            serviceTemplateInstanceKey(endpoint.getTriggeringContainer(), endpoint.getServiceTemplateInstanceID()),
+            endpoint);
+        add(this.byTypeImplementationAndIAName,
+            typeImplementationKey(endpoint.getTriggeringContainer(), endpoint.getManagingContainer(),
+                                  endpoint.getTypeImplementation(), endpoint.getIaName()),
+            endpoint);
+    }
+
+    /**
+     * @param endpoint a WSDLEndpoint of this registry which was deleted
+     */
+    void remove(final WSDLEndpoint endpoint) {
+        this.endpoints.remove(endpoint.getId());
+        remove(this.byCSAR, csarKey(endpoint.getTriggeringContainer(), endpoint.getCSARId()), endpoint);
+        remove(this.byPortType,
+               portTypeKey(endpoint.getTriggeringContainer(), endpoint.getCSARId(), endpoint.getPortType()),
+               endpoint);
+        remove(this.byServiceTemplateInstance,
+               serviceTemplateInstanceKey(endpoint.getTriggeringContainer(), endpoint.getServiceTemplateInstanceID()),
+               endpoint);
+        remove(this.byTypeImplementationAndIAName,
+               typeImplementationKey(endpoint.getTriggeringContainer(), endpoint.getManagingContainer(),
+                                     endpoint.getTypeImplementation(), endpoint.getIaName()),
+               endpoint);
+    }
+
+    void clear() {
+        this.endpoints.clear();
+        this.byCSAR.clear();
+        this.byPortType.clear();
+        this.byServiceTemplateInstance.clear();
+        this.byTypeImplementationAndIAName.clear();
+    }
+
+    WSDLEndpoint get(final Long id) {
+        return id == null ? null : this.endpoints.get(id);
+    }
+
+    Collection<WSDLEndpoint> getAll() {
+        return Collections.unmodifiableCollection(this.endpoints.values());
+    }
+
+    List<WSDLEndpoint> getByCSAR(final String triggeringContainer, final CSARID csarId) {
+        return this.byCSAR.getOrDefault(csarKey(triggeringContainer, csarId), Collections.emptyList());
+    }
+
+    List<WSDLEndpoint> getByPortType(final String triggeringContainer, final CSARID csarId, final QName portType) {
+        return this.byPortType.getOrDefault(portTypeKey(triggeringContainer, csarId, portType),
+                                            Collections.emptyList());
+    }
+
+    List<WSDLEndpoint> getByServiceTemplateInstance(final String triggeringContainer,
+                                                    final Long serviceTemplateInstanceID) {
+        return this.byServiceTemplateInstance.getOrDefault(serviceTemplateInstanceKey(triggeringContainer,
+                                                                                      serviceTemplateInstanceID),
+                                                           Collections.emptyList());
+    }
+
+    List<WSDLEndpoint> getByTypeImplementationAndIAName(final String triggeringContainer,
+                                                        final String managingContainer, final QName typeImpl,
+                                                        final String iaName) {
+        return this.byTypeImplementationAndIAName.getOrDefault(typeImplementationKey(triggeringContainer,
+                                                                                     managingContainer, typeImpl,
+                                                                                     iaName),
+                                                               Collections.emptyList());
+    }
+
+    private static void add(final Map<List<Object>, List<WSDLEndpoint>> index, final List<Object> key,
+                            final WSDLEndpoint endpoint) {
+        index.compute(key, (k, endpoints) -> {
+            final List<WSDLEndpoint> updated = endpoints == null ? new ArrayList<>() : new ArrayList<>(endpoints);
+            updated.add(endpoint);
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    private static void remove(final Map<List<Object>, List<WSDLEndpoint>> index, final List<Object> key,
+                               final WSDLEndpoint endpoint) {
+        index.computeIfPresent(key, (k, endpoints) -> {
+            final List<WSDLEndpoint> updated =
+                endpoints.stream().filter(e -> e != endpoint).collect(Collectors.toList());
+            return updated.isEmpty() ? null : Collections.unmodifiableList(updated);
+        });
+    }
+
+    private static List<Object> csarKey(final String triggeringContainer, final CSARID csarId) {
+        return Arrays.asList(triggeringContainer, csarId);
+    }
+
+    private static List<Object> portTypeKey(final String triggeringContainer, final CSARID csarId,
+                                            final QName portType) {
+        return Arrays.asList(triggeringContainer, csarId, portType);
+    }
+
+    private static List<Object> serviceTemplateInstanceKey(final String triggeringContainer,
+                                                           final Long serviceTemplateInstanceID) {
+        return Arrays.asList(triggeringContainer, serviceTemplateInstanceID);
+    }
+
+    private static List<Object> typeImplementationKey(final String triggeringContainer,
+                                                      final String managingContainer, final QName typeImpl,
+                                                      final String iaName) {
+        return Arrays.asList(triggeringContainer, managingContainer, typeImpl, iaName);
+    }
+}
@@ -21,7 +21,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Manages CSAR meta data in the database by using Eclipse Link (JPA).
+ * Manages CSAR meta data in the database by using Eclipse Link (JPA).<br>
+ * <br>
+ *
+ * The EntityManager isn't thread-safe, thus all accesses to it are synchronized on this store.
  */
 public class CSARMetaDataJPAStore {
 
@@ -58,7 +61,7 @@ public class CSARMetaDataJPAStore {
      *        Each file path must be given relative to the CSAR root.
      * @param toscaMetaFile - represents the content of the TOSCA meta file of the CSAR.
      */
-    public void storeCSARMetaData(final CSARID csarID, final Set<Path> directories,
+    public synchronized void storeCSARMetaData(final CSARID csarID, final Set<Path> directories,
                                   final Map<Path, String> fileToStorageProviderIDMap,
                                   final TOSCAMetaFile toscaMetaFile) {
 
@@ -79,11 +82,40 @@ public class CSARMetaDataJPAStore {
 
     }
 
+    /**
+     * Adds the files and directories to the meta data of the stored CSAR {@code csarID}. The meta
+     * data of an already contained file is updated to the given storage provider ID.
+     *
+     * @param csarID of CSAR.
+     * @param fileToStorageProviderIDMap - file to storage provider ID mapping of the files to add.
+     *        Each file path must be given relative to the CSAR root.
+     * @param directories to add relative to CSAR root.
+     * @throws UserException if meta data of CSAR {@code csarID} were not found.
+     */
+    public synchronized void storeFilesOfCSARMetaData(final CSARID csarID,
+                                                      final Map<Path, String> fileToStorageProviderIDMap,
+                                                      final Set<Path> directories) throws UserException {
+
+        CSARMetaDataJPAStore.LOG.debug("Adding {} file(s) and {} directory(ies) to meta data of CSAR \"{}\"...",
+                                       fileToStorageProviderIDMap.size(), directories.size(), csarID);
+
+        final CSARContent csar = getCSARMetaData(csarID);
+
+        this.em.getTransaction().begin();
+        csar.putFiles(fileToStorageProviderIDMap, directories);
+        this.em.getTransaction().commit();
+
+        // clear the JPA 1st level cache
+        this.em.clear();
+
+        CSARMetaDataJPAStore.LOG.debug("Adding files to meta data of CSAR \"{}\" completed.", csarID);
+    }
+
     /**
      * @param csarID of CSAR
      * @return {@code true} if meta data of CSAR {@code csarID} were found, otherwise {@code false}.
      */
-    public boolean isCSARMetaDataStored(final CSARID csarID) {
+    public synchronized boolean isCSARMetaDataStored(final CSARID csarID) {
 
         CSARMetaDataJPAStore.LOG.debug("Checking if meta data of CSAR \"{}\" are stored...", csarID);
         initJPA();
@@ -108,7 +140,7 @@ public class CSARMetaDataJPAStore {
      *         file of the CSAR.
      * @throws UserException if meta data of CSAR {@code csarID} were not found.
      */
-    public CSARContent getCSARMetaData(final CSARID csarID) throws UserException {
+    public synchronized CSARContent getCSARMetaData(final CSARID csarID) throws UserException {
 
         initJPA();
 
@@ -129,7 +161,7 @@ public class CSARMetaDataJPAStore {
     /**
      * @return CSAR IDs of all stored CSAR files.
      */
-    public Set<CSARID> getCSARIDsMetaData() {
+    public synchronized Set<CSARID> getCSARIDsMetaData() {
 
         CSARMetaDataJPAStore.LOG.trace("Retrieving CSAR IDs of all stored CSARs...");
         initJPA();
@@ -148,7 +180,7 @@ public class CSARMetaDataJPAStore {
      * @param csarID of CSAR.
      * @throws UserException if meta data of CSAR {@code csarID} were not found.
      */
-    public void deleteCSARMetaData(final CSARID csarID) throws UserException {
+    public synchronized void deleteCSARMetaData(final CSARID csarID) throws UserException {
 
         initJPA();
 
@@ -174,7 +206,7 @@ public class CSARMetaDataJPAStore {
      * @throws UserException if meta data of file {@code fileRelToCSARRoot} in CSAR {@code CSARID} were
      *         not found.
      */
-    public void storeFileStorageProviderIDOfCSAR(final CSARID csarID, final Path fileRelToCSARRoot,
+    public synchronized void storeFileStorageProviderIDOfCSAR(final CSARID csarID, final Path fileRelToCSARRoot,
                                                  final String storageProviderID) throws UserException {
 
         CSARMetaDataJPAStore.LOG.debug("Setting storage provider \"{}\" in meta data of file \"{}\" in CSAR \"{}\"...",
@@ -219,7 +251,7 @@ public class CSARMetaDataJPAStore {
      * @throws UserException if file to storage provider ID mapping meta data of CSAR {@code csarID}
      *         were not found.
      */
-    public Map<Path, String> getFileToStorageProviderIDMap(final CSARID csarID) throws UserException {
+    public synchronized Map<Path, String> getFileToStorageProviderIDMap(final CSARID csarID) throws UserException {
         CSARMetaDataJPAStore.LOG.debug("Retrieving file to storage provider mapping meta data of CSAR \"{}\"...",
                                        csarID);
         initJPA();
@@ -254,7 +286,7 @@ public class CSARMetaDataJPAStore {
      * @return Directories meta data of CSAR {@code csarID}.
      * @throws UserException if directories meta data of CSAR {@code csarID} were not found.
      */
-    public Set<Path> getDirectories(final CSARID csarID) throws UserException {
+    public synchronized Set<Path> getDirectories(final CSARID csarID) throws UserException {
 
         CSARMetaDataJPAStore.LOG.debug("Retrieving directories meta data of CSAR \"{}\"...", csarID);
 
@@ -39,6 +39,39 @@ public class Settings {
     public final static String ENGINE_IA_TOMCAT_PASSWORD =
         System.getProperty("org.opentosca.container.engine.ia.plugin.tomcat.password", "admin");
 
+    // connection pool of the IHTTPService (timeouts in milliseconds)
+    public final static String HTTP_POOL_MAX_TOTAL =
+        System.getProperty("org.opentosca.container.http.pool.maxtotal", "200");
+    public final static String HTTP_POOL_MAX_PER_ROUTE =
+        System.getProperty("org.opentosca.container.http.pool.maxperroute", "20");
+    public final static String HTTP_CONNECT_TIMEOUT =
+        System.getProperty("org.opentosca.container.http.timeout.connect", "10000");
+    public final static String HTTP_SOCKET_TIMEOUT =
+        System.getProperty("org.opentosca.container.http.timeout.socket", "600000");
+    public final static String HTTP_CONNECTION_REQUEST_TIMEOUT =
+        System.getProperty("org.opentosca.container.http.timeout.connectionrequest", "60000");
+    public final static String HTTP_IDLE_TIMEOUT =
+        System.getProperty("org.opentosca.container.http.timeout.idle", "30000");
+
+    // number of CSAR imports which are processed at the same time
+    public final static String CSAR_IMPORT_THREADS =
+        System.getProperty("org.opentosca.container.csar.import.threads", "4");
+    // time in milliseconds a finished CSAR import job stays available for status requests
+    public final static String CSAR_IMPORT_JOB_RETENTION =
+        System.getProperty("org.opentosca.container.csar.import.retention", "3600000");
+    // maximum number of plan generation results kept in the plan cache, 0 disables the cache
+    public final static String PLANBUILDER_CACHE_SIZE =
+        System.getProperty("org.opentosca.planbuilder.cache.size", "100");
+    // maximum number of plan instance events waiting to be written to the database
+    public final static String PLAN_INSTANCE_EVENT_QUEUE_SIZE =
+        System.getProperty("org.opentosca.container.plan.events.queue.size", "10000");
+    // number of situation trigger instances which are executed at the same time
+    public final static String SITUATION_TRIGGER_THREADS =
+        System.getProperty("org.opentosca.container.situation.trigger.threads", "8");
+    // number of plans of a service template which are deployed at the same time
+    public final static String PLAN_DEPLOYMENT_THREADS =
+        System.getProperty("org.opentosca.container.plan.deployment.threads", "4");
+
     public final static String PERSISTENCE_UNIT_NAME = "OpenTOSCA";
 
     public final static String OPENTOSCA_DEPLOYMENT_TESTS =
@@ -47,6 +80,28 @@ public class Settings {
     public final static String OPENTOSCA_BUS_MANAGEMENT_MOCK =
         System.getProperty("org.opentosca.bus.management.mocking", "false");
 
+    // time in milliseconds to wait for the callback of an asynchronous SOAP IA invocation
+    public final static String OPENTOSCA_BUS_MANAGEMENT_SOAPHTTP_CALLBACK_TIMEOUT =
+        System.getProperty("org.opentosca.bus.management.soaphttp.callback.timeout", "3600000");
+    // time in milliseconds after which a pending callback without waiting invocation is removed
+    public final static String OPENTOSCA_BUS_MANAGEMENT_SOAPHTTP_CALLBACK_EXPIRY =
+        System.getProperty("org.opentosca.bus.management.soaphttp.callback.expiry", "7200000");
+    // maximum number of plan invocations of the OSGi event API which are dispatched to the Management
+    // Bus at the same time
+    public final static String OPENTOSCA_BUS_MANAGEMENT_PLAN_CONCURRENCY =
+        System.getProperty("org.opentosca.bus.management.plan.concurrency", "50");
+    // directory on the target machines in which the Script plugin caches uploaded artifacts by their
+    // content hash, empty disables the cache
+    public final static String OPENTOSCA_BUS_MANAGEMENT_SCRIPT_ARTIFACT_CACHE =
+        System.getProperty("org.opentosca.bus.management.script.artifactcache", "~/.opentosca/artifacts");
+    // days after which an artifact which wasn't used anymore is removed from the artifact cache of a
+    // target machine
+    public final static String OPENTOSCA_BUS_MANAGEMENT_SCRIPT_ARTIFACT_CACHE_MAX_AGE =
+        System.getProperty("org.opentosca.bus.management.script.artifactcache.maxage", "7");
+    // whether the Script plugin removes uploaded artifacts from the target machines after running them
+    public final static String OPENTOSCA_BUS_MANAGEMENT_SCRIPT_REMOVE_ARTIFACTS =
+        System.getProperty("org.opentosca.bus.management.script.removeartifacts", "true");
+
     public final static String OPENTOSCA_COLLABORATION_MODE =
         System.getProperty("org.opentosca.container.collaboration.mode", "false");
     public final static String OPENTOSCA_COLLABORATION_HOSTNAMES =
@@ -1,5 +1,6 @@
 package org.opentosca.container.core.engine;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.xml.namespace.QName;
@@ -41,13 +42,22 @@ public interface IToscaEngineService {
 
     /**
      * This method resolves the ServiceTemplates of the passed CSAR and stores the contained references
-     * and their counterpart inside the ToscaImportMapper.
+     * and their counterpart inside the ToscaImportMapper. If a snapshot of a former resolving of the
+     * same CSAR content is stored, the references are restored from it instead.
      *
      * @param csarID CSAR ID in which the ServiceTemplate is stored.
      * @return true for success, false for one or more errors
      */
     public boolean resolveDefinitions(CSARID csarID);
 
+    /**
+     * This method starts parsing the Definitions and their imports of the passed CSARs in the
+     * background, so the subsequent resolution of each CSAR doesn't have to parse them itself.
+     *
+     * @param csarIDs CSAR IDs which are going to be resolved.
+     */
+    public void preparseDefinitions(Collection<CSARID> csarIDs);
+
     /**
      * Returns all Node Types (including the given) inside the type hierarchy of the given Node Type
      *
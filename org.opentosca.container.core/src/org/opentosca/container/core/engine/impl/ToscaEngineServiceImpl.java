@@ -1,14 +1,18 @@
 package org.opentosca.container.core.engine.impl;
 
+import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +31,7 @@ import org.opentosca.container.core.engine.ResolvedArtifacts.ResolvedDeploymentA
 import org.opentosca.container.core.engine.ResolvedArtifacts.ResolvedImplementationArtifact;
 import org.opentosca.container.core.engine.impl.consolidation.DefinitionsConsolidation;
 import org.opentosca.container.core.engine.impl.resolver.DefinitionsResolver;
+import org.opentosca.container.core.engine.impl.resolver.PreparsedDocuments;
 import org.opentosca.container.core.model.AbstractArtifact;
 import org.opentosca.container.core.model.csar.CSARContent;
 import org.opentosca.container.core.model.csar.id.CSARID;
@@ -79,6 +84,11 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
 
     private DefinitionsConsolidation definitionsConsolidation = null;
 
+    private final ToscaReferenceMapperSnapshots snapshots = new ToscaReferenceMapperSnapshots();
+
+    // snapshot files located by the preparsing, so the resolving doesn't compute their keys again
+    private final ConcurrentMap<CSARID, File> snapshotFiles = new ConcurrentHashMap<>();
+
     private static final Logger LOG = LoggerFactory.getLogger(ToscaEngineServiceImpl.class);
 
     public ToscaEngineServiceImpl() {
@@ -102,16 +112,52 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
     public boolean resolveDefinitions(final CSARID csarID) {
 
         LOG.debug("Resolve a Definitions.");
-        boolean ret = this.definitionsResolver.resolveDefinitions(csarID);
+        // a snapshot of the current content replaces the resolving, the consolidation runs anyway
+        File snapshot = this.snapshotFiles.remove(csarID);
+        if (snapshot == null) {
+            snapshot = this.snapshots.getSnapshotFile(csarID);
+        }
+        boolean ret = this.snapshots.restore(csarID, snapshot, toscaReferenceMapper);
+        if (!ret) {
+            ret = this.definitionsResolver.resolveDefinitions(csarID);
+            if (ret) {
+                this.snapshots.store(csarID, snapshot, toscaReferenceMapper);
+            }
+        }
         if (ret) {
             ret = this.definitionsConsolidation.consolidateCSAR(csarID);
         }
+        if (ret) {
+            toscaReferenceMapper.cacheJAXBReferences(csarID);
+        }
         toscaReferenceMapper.printStoredData();
+        LOG.debug("JAXB reference cache hits: {}, misses: {}", toscaReferenceMapper.getJAXBReferenceCacheHits(),
+                  toscaReferenceMapper.getJAXBReferenceCacheMisses());
 
         return ret;
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void preparseDefinitions(final Collection<CSARID> csarIDs) {
+        // CSARs with a snapshot aren't resolved, thus their Definitions aren't parsed
+        final List<CSARID> unresolvedCSARIDs = new ArrayList<>();
+        for (final CSARID csarID : csarIDs) {
+            final File snapshot = this.snapshots.getSnapshotFile(csarID);
+            if (snapshot != null) {
+                this.snapshotFiles.put(csarID, snapshot);
+            }
+            if (!this.snapshots.isAvailable(snapshot)) {
+                unresolvedCSARIDs.add(csarID);
+            }
+        }
+        LOG.debug("Parse the Definitions of {} of {} CSARs in advance.", unresolvedCSARIDs.size(), csarIDs.size());
+        PreparsedDocuments.parse(unresolvedCSARIDs);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -902,6 +948,8 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
      * {@inheritDoc}
      */
     public boolean clearCSARContent(final CSARID csarID) {
+        this.snapshotFiles.remove(csarID);
+        this.snapshots.delete(csarID);
         return toscaReferenceMapper.clearCSARContent(csarID);
     }
 
@@ -3,10 +3,13 @@ package org.opentosca.container.core.engine.impl;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.bind.JAXB;
 import javax.xml.bind.JAXBContext;
@@ -54,6 +57,8 @@ import org.w3c.dom.Node;
  */
 public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
+    private static final String TOSCA_NAMESPACE = "http://docs.oasis-open.org/tosca/ns/2011/12";
+
     // services
     private static IXMLSerializerService xmlSerializerService;
 
@@ -89,6 +94,11 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
     private final Map<CSARID, Map<QName, String>> serviceTemplatePropertiesContent = new HashMap<>();
     private final Map<CSARID, Map<QName, PropertyMappings>> serviceTemplatePropertyMappings = new HashMap<>();
 
+    // typed model cache, filled once after the resolving of a CSAR
+    private final Map<CSARID, Map<QName, Object>> csarIDToJAXBReferences = new ConcurrentHashMap<>();
+    private final AtomicLong jaxbReferenceCacheHits = new AtomicLong();
+    private final AtomicLong jaxbReferenceCacheMisses = new AtomicLong();
+
 
     public ToscaReferenceMapper() {
         setup();
@@ -105,6 +115,7 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
         this.LOG.debug("Delete the content of \"" + csarID + "\".");
 
         setup();
+        this.csarIDToJAXBReferences.remove(csarID);
         this.referenceMap.remove(csarID);
         this.documentMap.remove(csarID);
         this.mapCSARIDToDefinitions.remove(csarID);
@@ -348,28 +359,27 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
         this.LOG.debug("Lookup for the node \"" + nodeID + "\" inside of the CSAR \"" + csarID + "\".");
 
+        final Map<QName, Object> cachedReferences = this.csarIDToJAXBReferences.get(csarID);
+        if (null != cachedReferences) {
+            final Object cached = cachedReferences.get(nodeID);
+            if (null != cached) {
+                this.jaxbReferenceCacheHits.incrementAndGet();
+                return cached;
+            }
+        }
+        this.jaxbReferenceCacheMisses.incrementAndGet();
+
         if (this.referenceMap.containsKey(csarID)) {
 
             // The passed ID of a CSAR is found.
-            // this.LOG.info("References for the CSAR with the QName \"" +
-            // csarID.toString() + "\" found.");
             if (this.referenceMap.get(csarID).containsKey(nodeID)) {
 
                 // The passed reference is found.
-                // this.LOG.info("Reference with the QName \"" +
-                // nodeID.toString() + "\" found.");
-                final Node node = this.referenceMap.get(csarID).get(nodeID);
-
-                if (AvailableToscaElements.getElementName(node.getLocalName()).getElementClass() != null) {
-                    // The name of the node implies that is marshalable into one
-                    // of the JAXB classes of TOSCA.
-                    return ToscaReferenceMapper.xmlSerializerService.getXmlSerializer()
-                                                                    .unmarshal(node,
-                                                                               AvailableToscaElements.getElementName(node.getLocalName())
-                                                                                                     .getElementClass());
-                } else {
+                final Object jaxb = unmarshalReference(this.referenceMap.get(csarID).get(nodeID));
+                if (null == jaxb) {
                     this.LOG.error("The reference is not a JAXB element.");
                 }
+                return jaxb;
 
             } else {
                 this.LOG.error("Reference with the QName \"" + nodeID.toString() + "\" was not found for the CSAR \""
@@ -382,6 +392,101 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
         return null;
     }
 
+    /**
+     * Unmarshals all stored references of a CSAR which are JAXB elements of TOSCA once and keeps the
+     * resulting objects, thus following calls of getJAXBReference for this CSAR are answered without
+     * unmarshalling the DOM Nodes again. Has to be called after the resolving of the CSAR is finished.
+     * The cached objects are shared between all callers and must not be modified.
+     *
+     * @param csarID ID of the resolved CSAR
+     */
+    public void cacheJAXBReferences(final CSARID csarID) {
+        setup();
+
+        final MapQNameNode references = this.referenceMap.get(csarID);
+        if (null == references) {
+            this.LOG.warn("No references for the CSAR \"" + csarID + "\" stored, thus nothing to cache.");
+            return;
+        }
+
+        final Map<QName, Object> jaxbReferences = new HashMap<>();
+        for (final Map.Entry<QName, Node> entry : references.entrySet()) {
+            // only TOSCA elements are JAXB elements, skip XML Schema, WSDL and so on
+            if (!TOSCA_NAMESPACE.equals(entry.getValue().getNamespaceURI())) {
+                continue;
+            }
+            final Object jaxb = unmarshalReference(entry.getValue());
+            if (null != jaxb) {
+                jaxbReferences.put(entry.getKey(), jaxb);
+            }
+        }
+        this.csarIDToJAXBReferences.put(csarID, Collections.unmodifiableMap(jaxbReferences));
+        this.LOG.debug("Cached " + jaxbReferences.size() + " JAXB references of the CSAR \"" + csarID + "\".");
+    }
+
+    /**
+     * @return the number of getJAXBReference calls answered by the typed model cache
+     */
+    public long getJAXBReferenceCacheHits() {
+        return this.jaxbReferenceCacheHits.get();
+    }
+
+    /**
+     * @return the number of getJAXBReference calls which had to fall back to unmarshalling a DOM Node
+     */
+    public long getJAXBReferenceCacheMisses() {
+        return this.jaxbReferenceCacheMisses.get();
+    }
+
+    // read access to the stored data of a CSAR for its snapshot, see ToscaReferenceMapperSnapshots,
+    // public for the comparison of restored and resolved data in the integration tests
+
+    public Map<QName, Node> getReferences(final CSARID csarID) {
+        setup();
+        return unmodifiable(this.referenceMap.get(csarID));
+    }
+
+    public Map<QName, Document> getDocuments(final CSARID csarID) {
+        setup();
+        return unmodifiable(this.documentMap.get(csarID));
+    }
+
+    public Map<QName, String> getDefinitionsLocations(final CSARID csarID) {
+        return unmodifiable(this.mapDefinitionsIDToLocationString.get(csarID));
+    }
+
+    public Map<QName, QName> getContainingDefinitionsIDs(final CSARID csarID) {
+        return unmodifiable(this.mapElementIDToDefinitionsID.get(csarID));
+    }
+
+    public Map<String, String> getNamespacesOfPlans(final CSARID csarID) {
+        return unmodifiable(this.mapCSARIDToPlanNameToNamespace.get(csarID));
+    }
+
+    public Map<QName, String> getServiceTemplateBoundsPropertiesContents(final CSARID csarID) {
+        return unmodifiable(this.serviceTemplatePropertiesContent.get(csarID));
+    }
+
+    private static <K, V> Map<K, V> unmodifiable(final Map<K, V> map) {
+        return null == map ? Collections.emptyMap() : Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Unmarshals a DOM Node into the according JAXB class of TOSCA.
+     *
+     * @param node the DOM Node
+     * @return the JAXB object or null if the Node is no JAXB element of TOSCA
+     */
+    private Object unmarshalReference(final Node node) {
+        final AvailableToscaElements element = AvailableToscaElements.getElementName(node.getLocalName());
+        if (null == element || null == element.getElementClass()) {
+            return null;
+        }
+        // The name of the node implies that is marshalable into one of the JAXB classes of TOSCA.
+        return ToscaReferenceMapper.xmlSerializerService.getXmlSerializer().unmarshal(node,
+                                                                                      element.getElementClass());
+    }
+
     public List<Document> getListOfWSDLForCSAR(final CSARID csarID) {
         if (this.csarIDToWSDLDocuments.containsKey(csarID)) {
             return this.csarIDToWSDLDocuments.get(csarID);
@@ -647,6 +752,7 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
             final QName reference = new QName(definitions.getTargetNamespace(), definitions.getId());
             this.LOG.debug("Store the Definitions \"" + reference + "\".");
+            this.csarIDToJAXBReferences.remove(csarID);
 
             // store it in the Definitions map
             if (!this.mapCSARIDToDefinitions.containsKey(csarID)) {
@@ -780,6 +886,9 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
     public void storeReference(final CSARID csarID, final QName nodeID, final Node node) {
         setup();
 
+        // a changed reference invalidates the typed model cache of this CSAR
+        this.csarIDToJAXBReferences.remove(csarID);
+
         MapQNameNode csarMap;
 
         if (this.referenceMap.containsKey(csarID)) {
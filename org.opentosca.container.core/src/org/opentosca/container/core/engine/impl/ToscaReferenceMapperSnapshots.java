@@ -0,0 +1,601 @@
+package org.opentosca.container.core.engine.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.common.UserException;
+import org.opentosca.container.core.model.AbstractFile;
+import org.opentosca.container.core.model.csar.CSARContent;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.next.utils.Consts;
+import org.opentosca.container.core.tosca.model.Definitions;
+import org.opentosca.container.core.tosca.model.TBoundaryDefinitions;
+import org.opentosca.container.core.tosca.model.TDefinitions;
+import org.opentosca.container.core.tosca.model.TExportedInterface;
+import org.opentosca.container.core.tosca.model.TExtensibleElements;
+import org.opentosca.container.core.tosca.model.TServiceTemplate;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * <p>
+ * Persistent snapshots of the data the DefinitionsResolver stores in the ToscaReferenceMapper for a
+ * CSAR. A snapshot holds the resolved Definitions, the DOM documents containing the stored
+ * references and the QName indexes of the mapper. It is keyed by a digest of the resolver version
+ * and the CSAR's model files, so a stored CSAR is only resolved again, e.g. at startup, if one of
+ * them changed. Computing the key reads all model files, thus it is computed once per resolving by
+ * {@link #getSnapshotFile(CSARID)} and the resulting file is passed to the other methods.
+ * </p>
+ * References are stored as the index of their document and the path of element positions from the
+ * document element, thus restored references are nested in their documents like resolved ones. The
+ * consolidation isn't part of a snapshot, it runs on the restored data like after a resolving.
+ */
+public class ToscaReferenceMapperSnapshots {
+
+    private final static Logger LOG = LoggerFactory.getLogger(ToscaReferenceMapperSnapshots.class);
+
+    // has to be increased whenever the resolving or the format of the snapshots changes
+    private static final String RESOLVER_VERSION = "1";
+
+    private static final List<String> MODEL_FILE_EXTENSIONS =
+        Arrays.asList(".tosca", ".xml", ".xsd", ".wsdl", ".meta");
+
+    private final File snapshotDir;
+
+
+    public ToscaReferenceMapperSnapshots() {
+        this(Consts.RESOLVERSNAPSHOTDIR);
+    }
+
+    public ToscaReferenceMapperSnapshots(final File snapshotDir) {
+        this.snapshotDir = snapshotDir;
+    }
+
+    /**
+     * Returns the file of the snapshot of the current content of the given CSAR. The file doesn't
+     * have to exist.
+     *
+     * @param csarID the CSAR
+     * @return the snapshot file or null if the key of the content couldn't be computed
+     */
+    public File getSnapshotFile(final CSARID csarID) {
+        try {
+            final CSARContent csarContent = ServiceHandler.coreFileService.getCSAR(csarID);
+            return new File(new File(this.snapshotDir, csarID.getFileName()), computeKey(csarContent) + ".xml");
+        }
+        catch (UserException | SystemException e) {
+            LOG.warn("Could not compute the snapshot key of the CSAR \"{}\": {}", csarID, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param snapshot the snapshot file of the CSAR, see {@link #getSnapshotFile(CSARID)}
+     * @return true if a snapshot of the current content of the CSAR is stored
+     */
+    public boolean isAvailable(final File snapshot) {
+        return snapshot != null && snapshot.isFile();
+    }
+
+    /**
+     * Restores the data of the given CSAR into the mapper from its snapshot.
+     *
+     * @param csarID the CSAR
+     * @param snapshot the snapshot file of the CSAR, see {@link #getSnapshotFile(CSARID)}
+     * @param mapper the mapper to store the data in
+     * @return true if the data was restored, false if there is no snapshot of the current content of
+     *         the CSAR or it couldn't be read, then nothing is stored in the mapper
+     */
+    public boolean restore(final CSARID csarID, final File snapshot, final ToscaReferenceMapper mapper) {
+        if (!isAvailable(snapshot)) {
+            LOG.debug("No snapshot of the CSAR \"{}\" found.", csarID);
+            return false;
+        }
+
+        try {
+            read(csarID, newDocumentBuilder().parse(snapshot), mapper);
+            LOG.info("Restored the resolved CSAR \"{}\" from its snapshot.", csarID);
+            return true;
+        }
+        catch (SAXException | IOException | RuntimeException e) {
+            // the CSAR is resolved instead
+            LOG.warn("Could not restore the CSAR \"{}\" from its snapshot: {}", csarID, e.getMessage());
+            mapper.clearCSARContent(csarID);
+            return false;
+        }
+    }
+
+    /**
+     * Stores a snapshot of the data of the given CSAR in the mapper. Has to be called after the
+     * resolving of the CSAR and before its consolidation.
+     *
+     * @param csarID the resolved CSAR
+     * @param snapshot the snapshot file of the CSAR, see {@link #getSnapshotFile(CSARID)}
+     * @param mapper the mapper containing the data
+     */
+    public void store(final CSARID csarID, final File snapshot, final ToscaReferenceMapper mapper) {
+        if (snapshot == null) {
+            return;
+        }
+
+        final File csarDir = snapshot.getParentFile();
+        Path tempSnapshot = null;
+        try {
+            final Document document = write(csarID, mapper);
+            csarDir.mkdirs();
+            // snapshots are written aside and moved into place, so a partially written snapshot is
+            // never restored
+            tempSnapshot = Files.createTempFile(csarDir.toPath(), ".tmp-", ".xml");
+            TransformerFactory.newInstance().newTransformer()
+                              .transform(new DOMSource(document), new StreamResult(tempSnapshot.toFile()));
+            Files.move(tempSnapshot, snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Stored a snapshot of the resolved CSAR \"{}\".", csarID);
+        }
+        catch (IOException | TransformerException | RuntimeException e) {
+            LOG.warn("Could not store a snapshot of the CSAR \"{}\": {}", csarID, e.getMessage());
+            return;
+        }
+        finally {
+            deleteQuietly(tempSnapshot);
+        }
+
+        // snapshots of former contents of the CSAR are outdated
+        final File[] snapshots = csarDir.listFiles(file -> !file.equals(snapshot) && !file.getName().startsWith("."));
+        if (snapshots != null) {
+            Arrays.stream(snapshots).map(File::toPath).forEach(ToscaReferenceMapperSnapshots::deleteQuietly);
+        }
+    }
+
+    /**
+     * Deletes the snapshots of the given CSAR, e.g. after it was deleted.
+     *
+     * @param csarID the CSAR
+     */
+    public void delete(final CSARID csarID) {
+        final Path csarDir = new File(this.snapshotDir, csarID.getFileName()).toPath();
+        if (!Files.isDirectory(csarDir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(csarDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(ToscaReferenceMapperSnapshots::deleteQuietly);
+        }
+        catch (final IOException e) {
+            LOG.warn("Could not delete the snapshots of the CSAR \"{}\": {}", csarID, e.getMessage());
+        }
+    }
+
+    /**
+     * The content of model files (Definitions, TOSCA meta file, XML schemas and WSDLs) is part of the
+     * key, of all other files like artifacts only the path, because the resolving doesn't read them.
+     */
+    private String computeKey(final CSARContent csarContent) throws SystemException {
+        final MessageDigest digest = newDigest();
+
+        update(digest, "resolver:" + RESOLVER_VERSION);
+        update(digest, "bundle:" + toVersionString(FrameworkUtil.getBundle(ToscaReferenceMapperSnapshots.class)));
+        update(digest, "csar:" + csarContent.getCSARID().getFileName());
+
+        final Map<String, AbstractFile> files = new TreeMap<>();
+        for (final AbstractFile file : csarContent.getFilesRecursively()) {
+            files.put(file.getPath().replace('\\', '/'), file);
+        }
+
+        final byte[] buffer = new byte[8192];
+        for (final Map.Entry<String, AbstractFile> entry : files.entrySet()) {
+            update(digest, "file:" + entry.getKey());
+            if (isModelFile(entry.getKey())) {
+                try (InputStream in = new DigestInputStream(entry.getValue().getFileAsInputStream(), digest)) {
+                    while (in.read(buffer) != -1) {
+                        // the stream updates the digest
+                    }
+                }
+                catch (final IOException e) {
+                    throw new SystemException("Could not read file \"" + entry.getKey() + "\" of CSAR \""
+                        + csarContent.getCSARID() + "\".", e);
+                }
+            }
+        }
+
+        final StringBuilder key = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    private Document write(final CSARID csarID, final ToscaReferenceMapper mapper) {
+        final Document snapshot = newDocumentBuilder().newDocument();
+        final Element root = snapshot.createElement("Snapshot");
+        snapshot.appendChild(root);
+
+        final Map<Node, Integer> documentIndexes = new IdentityHashMap<>();
+
+        for (final TDefinitions definitions : mapper.getDefinitionsOfCSAR(csarID)) {
+            if (!(definitions instanceof Definitions)) {
+                throw new IllegalArgumentException("The Definitions \"" + definitions.getId()
+                    + "\" can't be marshalled.");
+            }
+            final Document document =
+                ServiceHandler.xmlSerializerService.getXmlSerializer().marshalToDocument((Definitions) definitions);
+            append(root, "Definitions").appendChild(snapshot.importNode(document.getDocumentElement(), true));
+        }
+        for (final Map.Entry<QName, String> location : mapper.getDefinitionsLocations(csarID).entrySet()) {
+            append(root, "DefinitionsLocation", "id", location.getKey(), "location", location.getValue());
+        }
+        for (final Document wsdl : mapper.getListOfWSDLForCSAR(csarID)) {
+            locate(append(root, "WSDL"), wsdl, documentIndexes);
+        }
+        for (final Map.Entry<QName, Node> reference : mapper.getReferences(csarID).entrySet()) {
+            locate(append(root, "Reference", "id", reference.getKey()), reference.getValue(), documentIndexes);
+        }
+        for (final Map.Entry<QName, Document> document : mapper.getDocuments(csarID).entrySet()) {
+            locate(append(root, "DocumentReference", "id", document.getKey()), document.getValue(),
+                   documentIndexes);
+        }
+
+        final List<QName> serviceTemplateIDs = mapper.getServiceTemplateIDsContainedInCSAR(csarID);
+        if (serviceTemplateIDs != null) {
+            for (final QName serviceTemplateID : serviceTemplateIDs) {
+                append(root, "ServiceTemplate", "id", serviceTemplateID);
+            }
+        }
+        final Map<QName, List<QName>> planIDs = mapper.getMapCsarIDToServiceTemplateIDToPlanID().get(csarID);
+        if (planIDs != null) {
+            for (final Map.Entry<QName, List<QName>> entry : planIDs.entrySet()) {
+                for (final QName planID : entry.getValue()) {
+                    append(root, "Plan", "serviceTemplate", entry.getKey(), "id", planID);
+                }
+            }
+        }
+        for (final Map.Entry<QName, QName> entry : mapper.getContainingDefinitionsIDs(csarID).entrySet()) {
+            append(root, "ContainingDefinitions", "id", entry.getKey(), "definitions", entry.getValue());
+        }
+        for (final Map.Entry<String, String> entry : mapper.getNamespacesOfPlans(csarID).entrySet()) {
+            append(root, "PlanNamespace", "plan", entry.getKey(), "namespace", entry.getValue());
+        }
+        appendTemplateIDs(root, "NodeTemplate", mapper.getServiceTemplatesAndNodeTemplatesInCSAR(csarID));
+        appendTemplateIDs(root, "RelationshipTemplate", mapper.getServiceTemplate2RelationshipTemplateMap(csarID));
+        for (final Map.Entry<QName, String> entry : mapper.getServiceTemplateBoundsPropertiesContents(csarID)
+                                                          .entrySet()) {
+            append(root, "BoundaryProperties", "serviceTemplate", entry.getKey()).setTextContent(entry.getValue());
+        }
+        for (final Map.Entry<QName, List<TExportedInterface>> entry : mapper.getExportedInterfacesOfCSAR(csarID)
+                                                                            .entrySet()) {
+            for (final TExportedInterface iface : entry.getValue()) {
+                append(root, "ExportedInterface", "serviceTemplate", entry.getKey(), "name", iface.getName());
+            }
+        }
+        return snapshot;
+    }
+
+    private void read(final CSARID csarID, final Document snapshot, final ToscaReferenceMapper mapper) {
+        final List<Element> elements = getChildElements(snapshot.getDocumentElement());
+
+        final List<Document> documents = new ArrayList<>();
+        for (final Element element : elements) {
+            if ("Document".equals(element.getTagName())) {
+                final Document document = newDocumentBuilder().newDocument();
+                document.appendChild(document.importNode(getChildElement(element, 0), true));
+                documents.add(document);
+            }
+        }
+
+        final List<Definitions> definitionsOfCSAR = new ArrayList<>();
+        final List<Document> wsdls = new ArrayList<>();
+        for (final Element element : elements) {
+            switch (element.getTagName()) {
+                case "Definitions": {
+                    final Document document = newDocumentBuilder().newDocument();
+                    document.appendChild(document.importNode(getChildElement(element, 0), true));
+                    final Definitions definitions =
+                        ServiceHandler.xmlSerializerService.getXmlSerializer().unmarshal(document);
+                    if (definitions == null) {
+                        throw new IllegalArgumentException("A stored Definitions can't be unmarshalled.");
+                    }
+                    definitionsOfCSAR.add(definitions);
+                    mapper.storeDefinitions(csarID, definitions);
+                    break;
+                }
+                case "DefinitionsLocation":
+                    mapper.storeDefinitionsLocation(csarID, getQName(element, "id"), element.getAttribute("location"));
+                    break;
+                case "WSDL":
+                    wsdls.add((Document) resolve(element, documents));
+                    break;
+                case "Reference":
+                    mapper.storeReference(csarID, getQName(element, "id"), resolve(element, documents));
+                    break;
+                case "DocumentReference":
+                    mapper.storeDocument(csarID, getQName(element, "id"), (Document) resolve(element, documents));
+                    break;
+                case "ServiceTemplate":
+                    mapper.storeServiceTemplateIDForCSARID(getQName(element, "id"), csarID);
+                    break;
+                case "Plan":
+                    mapper.storePlanIDForCSARAndServiceTemplate(csarID, getQName(element, "serviceTemplate"),
+                                                                getQName(element, "id"));
+                    break;
+                case "ContainingDefinitions":
+                    mapper.storeContainingDefinitionsID(csarID, getQName(element, "id"),
+                                                        getQName(element, "definitions"));
+                    break;
+                case "PlanNamespace":
+                    mapper.storeNamespaceOfPlan(csarID, element.getAttribute("plan"),
+                                                element.getAttribute("namespace"));
+                    break;
+                case "NodeTemplate":
+                    mapper.storeNodeTemplateIDForServiceTemplateAndCSAR(csarID, getQName(element, "serviceTemplate"),
+                                                                        element.getAttribute("id"));
+                    break;
+                case "RelationshipTemplate":
+                    mapper.storeRelationshipTemplateIDForServiceTemplateAndCSAR(csarID,
+                                                                                getQName(element, "serviceTemplate"),
+                                                                                element.getAttribute("id"));
+                    break;
+                case "BoundaryProperties": {
+                    final QName serviceTemplateID = getQName(element, "serviceTemplate");
+                    final TBoundaryDefinitions.Properties properties =
+                        getBoundaryDefinitions(definitionsOfCSAR, serviceTemplateID).getProperties();
+                    if (properties == null) {
+                        throw new IllegalArgumentException("The ServiceTemplate \"" + serviceTemplateID
+                            + "\" has no boundary properties.");
+                    }
+                    mapper.storeServiceTemplateBoundsPropertiesInformation(csarID, serviceTemplateID,
+                                                                          element.getTextContent(),
+                                                                          properties.getPropertyMappings());
+                    break;
+                }
+                case "ExportedInterface": {
+                    final QName serviceTemplateID = getQName(element, "serviceTemplate");
+                    mapper.storeExportedInterface(csarID, serviceTemplateID,
+                                                  getExportedInterface(definitionsOfCSAR, serviceTemplateID,
+                                                                       element.getAttribute("name")));
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+        mapper.storeListOfWSDLForCSAR(csarID, wsdls);
+    }
+
+    /**
+     * Stores the location of the given node in the element. Documents are added to the snapshot when
+     * they are located for the first time.
+     */
+    private void locate(final Element element, final Node node, final Map<Node, Integer> documentIndexes) {
+        final Node container;
+        final Deque<String> path = new ArrayDeque<>();
+        if (node.getNodeType() == Node.DOCUMENT_NODE) {
+            container = node;
+        } else if (node.getNodeType() == Node.ELEMENT_NODE) {
+            Node current = node;
+            while (current.getParentNode() != null && current.getParentNode().getNodeType() == Node.ELEMENT_NODE) {
+                path.addFirst(String.valueOf(getPosition(current)));
+                current = current.getParentNode();
+            }
+            // a node which isn't attached to a document is stored as document of its own
+            container = current.getParentNode() == null ? current : current.getParentNode();
+            element.setAttribute("path", String.join("/", path));
+        } else {
+            throw new IllegalArgumentException("A node of type " + node.getNodeType() + " can't be stored.");
+        }
+
+        Integer index = documentIndexes.get(container);
+        if (index == null) {
+            final Node documentElement = container.getNodeType() == Node.DOCUMENT_NODE
+                ? ((Document) container).getDocumentElement() : container;
+            if (documentElement == null || documentElement.getNodeType() != Node.ELEMENT_NODE) {
+                throw new IllegalArgumentException("A node without document element can't be stored.");
+            }
+            final Element root = element.getOwnerDocument().getDocumentElement();
+            append(root, "Document").appendChild(element.getOwnerDocument().importNode(documentElement, true));
+            index = documentIndexes.size();
+            documentIndexes.put(container, index);
+        }
+        element.setAttribute("document", String.valueOf(index));
+    }
+
+    /**
+     * Returns the node at the location stored in the element by {@link #locate(Element, Node, Map)}.
+     */
+    private Node resolve(final Element element, final List<Document> documents) {
+        final int index = Integer.parseInt(element.getAttribute("document"));
+        if (index < 0 || index >= documents.size()) {
+            throw new IllegalArgumentException("The snapshot contains no document " + index + ".");
+        }
+        final Document document = documents.get(index);
+        if (!element.hasAttribute("path")) {
+            return document;
+        }
+        Element node = document.getDocumentElement();
+        for (final String position : element.getAttribute("path").split("/")) {
+            if (!position.isEmpty()) {
+                node = getChildElement(node, Integer.parseInt(position));
+            }
+        }
+        return node;
+    }
+
+    private TBoundaryDefinitions getBoundaryDefinitions(final List<Definitions> definitionsOfCSAR,
+                                                        final QName serviceTemplateID) {
+        for (final Definitions definitions : definitionsOfCSAR) {
+            final List<TExtensibleElements> elements =
+                definitions.getServiceTemplateOrNodeTypeOrNodeTypeImplementation();
+            for (final TExtensibleElements element : elements) {
+                if (element instanceof TServiceTemplate) {
+                    final TServiceTemplate serviceTemplate = (TServiceTemplate) element;
+                    // the same ID as given by the ServiceTemplateResolver
+                    String targetNamespace = serviceTemplate.getTargetNamespace();
+                    if (targetNamespace == null || targetNamespace.trim().equals("")) {
+                        targetNamespace = definitions.getTargetNamespace();
+                    }
+                    if (serviceTemplateID.equals(new QName(targetNamespace, serviceTemplate.getId()))
+                        && serviceTemplate.getBoundaryDefinitions() != null) {
+                        return serviceTemplate.getBoundaryDefinitions();
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("The ServiceTemplate \"" + serviceTemplateID
+            + "\" has no boundary definitions.");
+    }
+
+    private TExportedInterface getExportedInterface(final List<Definitions> definitionsOfCSAR,
+                                                    final QName serviceTemplateID, final String name) {
+        final TBoundaryDefinitions boundaryDefinitions = getBoundaryDefinitions(definitionsOfCSAR, serviceTemplateID);
+        if (boundaryDefinitions.getInterfaces() != null) {
+            for (final TExportedInterface iface : boundaryDefinitions.getInterfaces().getInterface()) {
+                if (Objects.equals(name, iface.getName())) {
+                    return iface;
+                }
+            }
+        }
+        throw new IllegalArgumentException("The ServiceTemplate \"" + serviceTemplateID
+            + "\" exports no interface \"" + name + "\".");
+    }
+
+    private void appendTemplateIDs(final Element root, final String name, final Map<QName, List<String>> templateIDs) {
+        if (templateIDs != null) {
+            for (final Map.Entry<QName, List<String>> entry : templateIDs.entrySet()) {
+                for (final String templateID : entry.getValue()) {
+                    append(root, name, "serviceTemplate", entry.getKey(), "id", templateID);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends a new element with the given attributes, QName values are stored as "{namespace}local".
+     */
+    private static Element append(final Element parent, final String name, final Object... attributes) {
+        final Element element = parent.getOwnerDocument().createElement(name);
+        for (int i = 0; i < attributes.length; i += 2) {
+            element.setAttribute((String) attributes[i], String.valueOf(attributes[i + 1]));
+        }
+        parent.appendChild(element);
+        return element;
+    }
+
+    private static QName getQName(final Element element, final String attribute) {
+        if (!element.hasAttribute(attribute)) {
+            throw new IllegalArgumentException("The element \"" + element.getTagName() + "\" has no attribute \""
+                + attribute + "\".");
+        }
+        return QName.valueOf(element.getAttribute(attribute));
+    }
+
+    private static List<Element> getChildElements(final Node parent) {
+        final List<Element> elements = new ArrayList<>();
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                elements.add((Element) child);
+            }
+        }
+        return elements;
+    }
+
+    private static int getPosition(final Node element) {
+        int position = 0;
+        for (Node sibling = element.getPreviousSibling(); sibling != null; sibling = sibling.getPreviousSibling()) {
+            if (sibling.getNodeType() == Node.ELEMENT_NODE) {
+                position++;
+            }
+        }
+        return position;
+    }
+
+    private static Element getChildElement(final Node parent, final int index) {
+        final List<Element> elements = getChildElements(parent);
+        if (index < 0 || index >= elements.size()) {
+            throw new IllegalArgumentException("The snapshot contains no element at position " + index + " of \""
+                + parent.getNodeName() + "\".");
+        }
+        return elements.get(index);
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        // configured like the DocumentBuilder of the DefinitionsResolver
+        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        dbf.setIgnoringComments(true);
+        try {
+            return dbf.newDocumentBuilder();
+        }
+        catch (final ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean isModelFile(final String path) {
+        final String lowerCasePath = path.toLowerCase();
+        return lowerCasePath.startsWith("definitions/") || lowerCasePath.startsWith("tosca-metadata/")
+            || MODEL_FILE_EXTENSIONS.stream().anyMatch(lowerCasePath::endsWith);
+    }
+
+    private static void deleteQuietly(final Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        }
+        catch (final IOException e) {
+            LOG.debug("Could not delete \"{}\": {}", path, e.getMessage());
+        }
+    }
+
+    private static String toVersionString(final Bundle bundle) {
+        return Objects.isNull(bundle) ? "none" : bundle.getSymbolicName() + "_" + bundle.getVersion();
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -60,6 +60,9 @@ public class DefinitionsResolver {
     private LinkedList<AbstractFile> listOfNewlyImportedDocuments = null;
     private Set<AbstractFile> alreadyImportedDocuments = null;
 
+    // parsed documents by path, so files imported more than once are parsed once
+    private Map<String, Document> parsedDocuments = null;
+
 
     private void init() {
         this.csarContent = null;
@@ -70,6 +73,7 @@ public class DefinitionsResolver {
         this.mapOfNSToDocuments = new HashMap<>();
         this.listOfNewlyImportedDocuments = new LinkedList<>();
         this.alreadyImportedDocuments = new HashSet<>();
+        this.parsedDocuments = new HashMap<>();
     }
 
     /**
@@ -87,6 +91,7 @@ public class DefinitionsResolver {
 
         // first of all search all documents
         boolean errorOccured = !this.resolveImports(csarID);
+        PreparsedDocuments.discard(csarID);
         if (errorOccured) {
             this.LOG.error("There was an error while searching for the imports of the TOSCA documents.");
             return false;
@@ -203,8 +208,7 @@ public class DefinitionsResolver {
             // parse the file
             Document doc = null;
             try {
-                doc = builder.parse(file.getFileAsInputStream());
-                doc.getDocumentElement().normalize();
+                doc = parse(builder, csarID, file);
             }
             catch (SAXException | IOException | SystemException e) {
                 e.printStackTrace();
@@ -289,8 +293,7 @@ public class DefinitionsResolver {
                             return false;
                         }
 
-                        doc = builder.parse(newFile.getFileAsInputStream());
-                        doc.getDocumentElement().normalize();
+                        doc = parse(builder, csarID, newFile);
                     }
                     catch (SAXException | IOException | SystemException e) {
                         e.printStackTrace();
@@ -335,4 +338,21 @@ public class DefinitionsResolver {
         return true;
     }
 
+    /**
+     * Parses a file of the CSAR once per resolution, the document is taken from the documents parsed
+     * in advance if available.
+     */
+    private Document parse(final DocumentBuilder builder, final CSARID csarID,
+                           final AbstractFile file) throws SAXException, IOException, SystemException {
+        Document doc = this.parsedDocuments.get(file.getPath());
+        if (doc == null) {
+            doc = PreparsedDocuments.take(csarID, file);
+        }
+        if (doc == null) {
+            doc = builder.parse(file.getFileAsInputStream());
+            doc.getDocumentElement().normalize();
+        }
+        this.parsedDocuments.put(file.getPath(), doc);
+        return doc;
+    }
 }
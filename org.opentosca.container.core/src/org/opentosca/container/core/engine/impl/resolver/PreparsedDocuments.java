@@ -0,0 +1,188 @@
+package org.opentosca.container.core.engine.impl.resolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.common.UserException;
+import org.opentosca.container.core.engine.impl.ServiceHandler;
+import org.opentosca.container.core.model.AbstractFile;
+import org.opentosca.container.core.model.csar.CSARContent;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * Parses the XML documents of CSARs ahead of their resolution. The documents of different CSARs are
+ * independent of each other, so they are parsed in parallel, e.g. for all stored CSARs at startup,
+ * while the resolution itself stays sequential. Each parsed document is handed out once.<br>
+ * <br>
+ *
+ * To bound the memory held by parsed documents, only the documents of the next {@link #READ_AHEAD}
+ * CSARs are parsed at a time. The next CSAR is parsed as soon as one of them is discarded.
+ */
+public class PreparsedDocuments {
+
+    private final static Logger LOG = LoggerFactory.getLogger(PreparsedDocuments.class);
+
+    private static final List<String> XML_FILE_EXTENSIONS = Arrays.asList(".tosca", ".xml", ".xsd", ".wsdl");
+
+    // number of CSARs whose documents are kept parsed ahead of their resolution
+    private static final int READ_AHEAD = 2;
+
+    private static final ExecutorService executor;
+
+    static {
+        final AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            final Thread thread = new Thread(r, "definitions-parser-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // DocumentBuilders aren't thread-safe, they are configured like the one of the DefinitionsResolver
+    private static final ThreadLocal<DocumentBuilder> builder = ThreadLocal.withInitial(() -> {
+        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        dbf.setIgnoringComments(true);
+        try {
+            return dbf.newDocumentBuilder();
+        }
+        catch (final ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private static final Map<CSARID, Map<String, CompletableFuture<Document>>> documents = new ConcurrentHashMap<>();
+
+    // CSARs which are going to be resolved but aren't parsed yet, guarded by the class
+    private static final Deque<CSARID> pending = new ArrayDeque<>();
+
+    // CSARs which are parsed, in the order they are going to be resolved, guarded by the class
+    private static final Deque<CSARID> parsed = new ArrayDeque<>();
+
+
+    private PreparsedDocuments() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Starts parsing the XML documents of the given CSARs in the background. The documents are parsed
+     * in the order of the CSARs, which has to be the order they are resolved in.
+     *
+     * @param csarIDs the CSARs which are going to be resolved
+     */
+    public static synchronized void parse(final Collection<CSARID> csarIDs) {
+        if (ServiceHandler.coreFileService == null) {
+            return;
+        }
+        pending.addAll(csarIDs);
+        parseAhead();
+    }
+
+    /**
+     * Takes the document parsed in advance from the given file.
+     *
+     * @param csarID the CSAR containing the file
+     * @param file the file to parse
+     * @return the parsed and normalized document or <code>null</code> if the file wasn't parsed in
+     *         advance or parsing failed
+     */
+    static Document take(final CSARID csarID, final AbstractFile file) {
+        final Map<String, CompletableFuture<Document>> csarDocuments = documents.get(csarID);
+        if (csarDocuments == null) {
+            return null;
+        }
+        final CompletableFuture<Document> document = csarDocuments.remove(file.getPath());
+        if (document == null) {
+            return null;
+        }
+        try {
+            return document.join();
+        }
+        catch (final CompletionException e) {
+            // parse the file again to report the error
+            return null;
+        }
+    }
+
+    /**
+     * Drops the remaining documents of the given CSAR, e.g. after it is resolved, and starts parsing
+     * the next CSAR. CSARs parsed before the given one weren't resolved, so they are dropped as well.
+     *
+     * @param csarID the CSAR
+     */
+    static synchronized void discard(final CSARID csarID) {
+        if (parsed.contains(csarID)) {
+            CSARID discarded;
+            do {
+                discarded = parsed.removeFirst();
+                final Map<String, CompletableFuture<Document>> csarDocuments = documents.remove(discarded);
+                csarDocuments.values().forEach(document -> document.cancel(false));
+            } while (!discarded.equals(csarID));
+        } else {
+            pending.remove(csarID);
+        }
+        parseAhead();
+    }
+
+    private static void parseAhead() {
+        while (parsed.size() < READ_AHEAD && !pending.isEmpty()) {
+            final CSARID csarID = pending.removeFirst();
+            final CSARContent csarContent;
+            try {
+                csarContent = ServiceHandler.coreFileService.getCSAR(csarID);
+            }
+            catch (final UserException e) {
+                LOG.warn("Could not parse the documents of CSAR \"{}\" in advance: {}", csarID, e.getMessage());
+                continue;
+            }
+
+            final Map<String, CompletableFuture<Document>> csarDocuments = new ConcurrentHashMap<>();
+            for (final AbstractFile file : csarContent.getFilesRecursively()) {
+                if (isXMLFile(file.getPath())) {
+                    csarDocuments.put(file.getPath(), CompletableFuture.supplyAsync(() -> parse(file), executor));
+                }
+            }
+            documents.put(csarID, csarDocuments);
+            parsed.addLast(csarID);
+        }
+    }
+
+    private static Document parse(final AbstractFile file) {
+        try (InputStream in = file.getFileAsInputStream()) {
+            final Document doc = builder.get().parse(in);
+            doc.getDocumentElement().normalize();
+            return doc;
+        }
+        catch (SAXException | IOException | SystemException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static boolean isXMLFile(final String path) {
+        // Definitions and their imports are located in these directories, artifacts aren't parsed
+        final String lowerCasePath = path.replace('\\', '/').toLowerCase();
+        return (lowerCasePath.startsWith("definitions/") || lowerCasePath.startsWith("imports/"))
+            && XML_FILE_EXTENSIONS.stream().anyMatch(lowerCasePath::endsWith);
+    }
+}
@@ -229,6 +229,20 @@ public class CSARContent implements IBrowseable {
         return this.directories;
     }
 
+    /**
+     * Adds files and directories to this CSAR. A file that is already contained in this CSAR is mapped
+     * to the given storage provider ID.
+     *
+     * @param fileToStorageProviderIDMap - files relative to the CSAR root mapped to the ID of the
+     *        storage provider on which the file is stored.
+     * @param directories relative to the CSAR root.
+     */
+    public void putFiles(final Map<Path, String> fileToStorageProviderIDMap, final Set<Path> directories) {
+        this.fileToStorageProviderIDMap.putAll(fileToStorageProviderIDMap);
+        this.directories.addAll(directories);
+        setUpBrowsing();
+    }
+
     /**
      * @param fileExtension
      * @return All files with extension {@code fileExtension} in directory "IMPORTS" of this CSAR as Set
@@ -6,6 +6,7 @@ import java.util.Map;
 import javax.persistence.Basic;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.Table;
@@ -25,7 +26,12 @@ import org.opentosca.container.core.model.endpoint.GenericEndpoint;
 @Inheritance(strategy = InheritanceType.JOINED)
 @Table(name = WSDLEndpoint.tableName,
        uniqueConstraints = @UniqueConstraint(columnNames = {"portType", "csarId", "managingContainer",
-                                                            "serviceInstanceID"}))
+                                                            "serviceInstanceID"}),
+       indexes = {@Index(name = "IDX_WSDL_CSAR_PORT_TYPE", columnList = "triggeringContainer,csarID,PortType"),
+                  @Index(name = "IDX_WSDL_CSAR_PLAN", columnList = "triggeringContainer,csarID,PlanId"),
+                  @Index(name = "IDX_WSDL_SERVICE_INSTANCE", columnList = "triggeringContainer,serviceTemplateInstanceID"),
+                  @Index(name = "IDX_WSDL_IMPLEMENTATION",
+                         columnList = "triggeringContainer,managingContainer,IaName,TypeImplementation")})
 public class WSDLEndpoint extends GenericEndpoint {
 
     // Table Name
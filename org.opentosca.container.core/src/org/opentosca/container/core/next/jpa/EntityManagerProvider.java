@@ -28,6 +28,10 @@ public final class EntityManagerProvider {
         // Therefore, we set the "javax.persistence.jdbc.url" property via code.
         cfg.put(PersistenceUnitProperties.JDBC_URL, JDBC_URL);
         emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, cfg);
+        // EclipseLink creates missing tables lazily on first use, they have to exist before the
+        // schema of an existing database is migrated
+        emf.createEntityManager().close();
+        SchemaMigration.migrate(JDBC_URL);
     }
 
     public static AutoCloseableEntityManager createEntityManager() {
@@ -0,0 +1,134 @@
+package org.opentosca.container.core.next.jpa;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Versioned migrations of the database schema.
+ *
+ * The tables are created by EclipseLink ({@code eclipselink.ddl-generation=create-tables}), which
+ * only creates missing tables but never changes existing ones. Changes to existing tables, e.g. new
+ * indexes, are therefore listed here. The version of the schema is stored in the table
+ * {@value #VERSION_TABLE} and every migration with a higher version is applied once at startup.
+ * Statements have to be idempotent (e.g. {@code CREATE INDEX IF NOT EXISTS}), because a new
+ * database already contains everything EclipseLink generated from the annotations.
+ */
+public final class SchemaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigration.class);
+
+    public static final String VERSION_TABLE = "SCHEMA_VERSION";
+
+    private static final List<Migration> MIGRATIONS = Arrays.asList(
+        new Migration(1, "Indexes on the hot query columns of the instance data model and the WSDL endpoints",
+            "CREATE INDEX IF NOT EXISTS IDX_STI_CSAR_ID ON SERVICE_TEMPLATE_INSTANCE (CSAR_ID)",
+            "CREATE INDEX IF NOT EXISTS IDX_STI_TEMPLATE_ID ON SERVICE_TEMPLATE_INSTANCE (TEMPLATE_ID)",
+            "CREATE INDEX IF NOT EXISTS IDX_NTI_SERVICE_TEMPLATE_INSTANCE ON NODE_TEMPLATE_INSTANCE (SERVICE_TEMPLATE_INSTANCE_ID)",
+            "CREATE INDEX IF NOT EXISTS IDX_NTI_TEMPLATE_ID ON NODE_TEMPLATE_INSTANCE (TEMPLATE_ID)",
+            "CREATE INDEX IF NOT EXISTS IDX_NTI_TEMPLATE_TYPE ON NODE_TEMPLATE_INSTANCE (TEMPLATE_TYPE)",
+            "CREATE INDEX IF NOT EXISTS IDX_RTI_SERVICE_TEMPLATE_INSTANCE ON RELATIONSHIP_TEMPLATE_INSTANCE (SERVICE_TEMPLATE_INSTANCE_ID)",
+            "CREATE INDEX IF NOT EXISTS IDX_RTI_TEMPLATE_ID ON RELATIONSHIP_TEMPLATE_INSTANCE (TEMPLATE_ID)",
+            "CREATE INDEX IF NOT EXISTS IDX_PI_SERVICE_TEMPLATE_INSTANCE ON PLAN_INSTANCE (SERVICE_TEMPLATE_INSTANCE_ID)",
+            "CREATE INDEX IF NOT EXISTS IDX_PI_TEMPLATE_ID ON PLAN_INSTANCE (TEMPLATE_ID)",
+            "CREATE INDEX IF NOT EXISTS IDX_WSDL_CSAR_PORT_TYPE ON WSDLENDPOINT (TRIGGERINGCONTAINER, CSARID, PORTTYPE)",
+            "CREATE INDEX IF NOT EXISTS IDX_WSDL_CSAR_PLAN ON WSDLENDPOINT (TRIGGERINGCONTAINER, CSARID, PLANID)",
+            "CREATE INDEX IF NOT EXISTS IDX_WSDL_SERVICE_INSTANCE ON WSDLENDPOINT (TRIGGERINGCONTAINER, SERVICETEMPLATEINSTANCEID)",
+            "CREATE INDEX IF NOT EXISTS IDX_WSDL_IMPLEMENTATION ON WSDLENDPOINT (TRIGGERINGCONTAINER, MANAGINGCONTAINER, IANAME, TYPEIMPLEMENTATION)"),
+        new Migration(2, "Index on the plan instance of plan instance events",
+            "CREATE INDEX IF NOT EXISTS IDX_PIE_PLAN_INSTANCE ON PLAN_INSTANCE_EVENT (PLAN_INSTANCE_ID)"));
+
+
+    private SchemaMigration() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Applies all migrations which are newer than the version of the given database. A failed
+     * migration is logged and stops the migration, it is retried on the next start.
+     *
+     * @param jdbcUrl the JDBC URL of the H2 database
+     */
+    public static void migrate(final String jdbcUrl) {
+        try (Connection connection = new org.h2.Driver().connect(jdbcUrl, new Properties())) {
+            connection.setAutoCommit(false);
+            createVersionTable(connection);
+
+            final int currentVersion = getVersion(connection);
+            for (final Migration migration : MIGRATIONS) {
+                if (migration.version <= currentVersion) {
+                    continue;
+                }
+                logger.info("Migrating database schema to version {}: {}", migration.version, migration.description);
+                try {
+                    apply(connection, migration);
+                }
+                catch (final SQLException e) {
+                    connection.rollback();
+                    logger.error("Migration of database schema to version {} failed: {}", migration.version,
+                                 e.getMessage(), e);
+                    return;
+                }
+            }
+        }
+        catch (final SQLException e) {
+            logger.error("Could not migrate database schema: {}", e.getMessage(), e);
+        }
+    }
+
+    private static void createVersionTable(final Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + VERSION_TABLE
+                + " (VERSION INT PRIMARY KEY, DESCRIPTION VARCHAR(255), INSTALLED_AT TIMESTAMP)");
+        }
+        connection.commit();
+    }
+
+    private static int getVersion(final Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT MAX(VERSION) FROM " + VERSION_TABLE)) {
+            return result.next() ? result.getInt(1) : 0;
+        }
+    }
+
+    private static void apply(final Connection connection, final Migration migration) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (final String sql : migration.statements) {
+                logger.debug("Executing: {}", sql);
+                statement.execute(sql);
+            }
+        }
+        try (PreparedStatement statement =
+            connection.prepareStatement("INSERT INTO " + VERSION_TABLE
+                + " (VERSION, DESCRIPTION, INSTALLED_AT) VALUES (?, ?, ?)")) {
+            statement.setInt(1, migration.version);
+            statement.setString(2, migration.description);
+            statement.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            statement.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    private static class Migration {
+
+        private final int version;
+        private final String description;
+        private final List<String> statements;
+
+
+        private Migration(final int version, final String description, final String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = Arrays.asList(statements);
+        }
+    }
+}
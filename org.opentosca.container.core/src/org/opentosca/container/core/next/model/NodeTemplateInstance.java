@@ -9,9 +9,11 @@ import java.util.stream.Collectors;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -20,7 +22,7 @@ import javax.persistence.Table;
 import javax.xml.namespace.QName;
 
 import org.eclipse.persistence.annotations.Convert;
-import org.opentosca.container.core.next.xml.PropertyParser;
+import org.opentosca.container.core.next.trigger.NodeTemplateInstanceListener;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -28,7 +30,11 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 @Entity
-@Table(name = NodeTemplateInstance.TABLE_NAME)
+@Table(name = NodeTemplateInstance.TABLE_NAME,
+       indexes = {@Index(name = "IDX_NTI_SERVICE_TEMPLATE_INSTANCE", columnList = "SERVICE_TEMPLATE_INSTANCE_ID"),
+                  @Index(name = "IDX_NTI_TEMPLATE_ID", columnList = "TEMPLATE_ID"),
+                  @Index(name = "IDX_NTI_TEMPLATE_TYPE", columnList = "TEMPLATE_TYPE")})
+@EntityListeners({NodeTemplateInstanceListener.class})
 public class NodeTemplateInstance extends PersistenceObject {
 
     private static final long serialVersionUID = 6596755785422340480L;
@@ -108,12 +114,11 @@ public class NodeTemplateInstance extends PersistenceObject {
      */
     @JsonProperty("properties")
     public Map<String, String> getPropertiesAsMap() {
-        final PropertyParser parser = new PropertyParser();
         final NodeTemplateInstanceProperty prop =
             getProperties().stream().filter(p -> p.getType().equalsIgnoreCase("xml"))
                            .collect(Collectors.reducing((a, b) -> null)).orElse(null);
         if (prop != null) {
-            return parser.parse(prop.getValue());
+            return prop.getValueAsMap();
         }
         return null;
     }
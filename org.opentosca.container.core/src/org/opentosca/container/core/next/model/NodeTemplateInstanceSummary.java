@@ -0,0 +1,78 @@
+package org.opentosca.container.core.next.model;
+
+import java.util.Date;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.csar.id.CSARID;
+
+/**
+ * Read-only projection of a {@link NodeTemplateInstance} for listings. It contains the columns of
+ * the instance and the identifiers of its service template instance, so neither properties nor
+ * relations are loaded.
+ */
+public class NodeTemplateInstanceSummary {
+
+    private final Long id;
+
+    private final Date createdAt;
+
+    private final QName templateId;
+
+    private final QName templateType;
+
+    private final NodeTemplateInstanceState state;
+
+    private final Long serviceTemplateInstanceId;
+
+    private final CSARID csarId;
+
+    private final QName serviceTemplateId;
+
+
+    public NodeTemplateInstanceSummary(final Long id, final Date createdAt, final QName templateId,
+                                       final QName templateType, final NodeTemplateInstanceState state,
+                                       final Long serviceTemplateInstanceId, final CSARID csarId,
+                                       final QName serviceTemplateId) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.templateId = templateId;
+        this.templateType = templateType;
+        this.state = state;
+        this.serviceTemplateInstanceId = serviceTemplateInstanceId;
+        this.csarId = csarId;
+        this.serviceTemplateId = serviceTemplateId;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public QName getTemplateId() {
+        return this.templateId;
+    }
+
+    public QName getTemplateType() {
+        return this.templateType;
+    }
+
+    public NodeTemplateInstanceState getState() {
+        return this.state;
+    }
+
+    public Long getServiceTemplateInstanceId() {
+        return this.serviceTemplateInstanceId;
+    }
+
+    public CSARID getCsarId() {
+        return this.csarId;
+    }
+
+    public QName getServiceTemplateId() {
+        return this.serviceTemplateId;
+    }
+}
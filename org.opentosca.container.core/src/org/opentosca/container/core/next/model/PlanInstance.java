@@ -9,6 +9,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -23,7 +24,9 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 @Entity
-@Table(name = PlanInstance.TABLE_NAME)
+@Table(name = PlanInstance.TABLE_NAME,
+       indexes = {@Index(name = "IDX_PI_SERVICE_TEMPLATE_INSTANCE", columnList = "SERVICE_TEMPLATE_INSTANCE_ID"),
+                  @Index(name = "IDX_PI_TEMPLATE_ID", columnList = "TEMPLATE_ID")})
 public class PlanInstance extends PersistenceObject {
 
     private static final long serialVersionUID = -1289110419946090305L;
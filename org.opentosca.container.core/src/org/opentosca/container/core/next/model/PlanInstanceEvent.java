@@ -4,6 +4,7 @@ import java.util.Date;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -15,7 +16,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 @Entity
-@Table(name = PlanInstanceEvent.TABLE_NAME)
+@Table(name = PlanInstanceEvent.TABLE_NAME,
+       indexes = {@Index(name = "IDX_PIE_PLAN_INSTANCE", columnList = "PLAN_INSTANCE_ID")})
 @JsonInclude(Include.ALWAYS)
 public class PlanInstanceEvent extends PersistenceObject {
 
@@ -111,4 +113,12 @@ public class PlanInstanceEvent extends PersistenceObject {
             planInstance.getEvents().add(this);
         }
     }
+
+    /**
+     * Sets the plan instance of this event without adding it to the events of the plan instance, so
+     * the event can be stored without loading all other events.
+     */
+    public void setPlanInstanceReference(final PlanInstance planInstance) {
+        this.planInstance = planInstance;
+    }
 }
@@ -1,5 +1,7 @@
 package org.opentosca.container.core.next.model;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 
 import javax.persistence.Column;
@@ -7,6 +9,8 @@ import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.MappedSuperclass;
 
+import org.opentosca.container.core.next.xml.PropertyParser;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -28,6 +32,9 @@ public class Property extends PersistenceObject {
 
     private String type;
 
+    // parsed XML value, not persisted
+    private transient volatile ParsedValue parsedValue;
+
 
     public Property() {
 
@@ -61,6 +68,26 @@ public class Property extends PersistenceObject {
 
     public void setValue(final String value) {
         this.value = value;
+        this.parsedValue = null;
+    }
+
+    /**
+     * Parses the XML value into a map. The result is cached until the value changes.
+     *
+     * @return the unmodifiable map of property names to values or <tt>null</tt> if there is no value
+     */
+    Map<String, String> getValueAsMap() {
+        final String value = this.value;
+        if (value == null) {
+            return null;
+        }
+        // the value field may also be set by the persistence provider, therefore compare the source
+        ParsedValue parsed = this.parsedValue;
+        if (parsed == null || !value.equals(parsed.source)) {
+            parsed = new ParsedValue(value, Collections.unmodifiableMap(new PropertyParser().parse(value)));
+            this.parsedValue = parsed;
+        }
+        return parsed.properties;
     }
 
     public String getType() {
@@ -87,4 +114,16 @@ public class Property extends PersistenceObject {
     public int hashCode() {
         return Objects.hash(this.name);
     }
+
+    private static class ParsedValue {
+
+        private final String source;
+        private final Map<String, String> properties;
+
+
+        private ParsedValue(final String source, final Map<String, String> properties) {
+            this.source = source;
+            this.properties = properties;
+        }
+    }
 }
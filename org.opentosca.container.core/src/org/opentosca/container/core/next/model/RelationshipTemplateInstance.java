@@ -8,6 +8,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -20,7 +21,9 @@ import org.eclipse.persistence.annotations.Convert;
 import com.google.common.collect.Sets;
 
 @Entity
-@Table(name = RelationshipTemplateInstance.TABLE_NAME)
+@Table(name = RelationshipTemplateInstance.TABLE_NAME,
+       indexes = {@Index(name = "IDX_RTI_SERVICE_TEMPLATE_INSTANCE", columnList = "SERVICE_TEMPLATE_INSTANCE_ID"),
+                  @Index(name = "IDX_RTI_TEMPLATE_ID", columnList = "TEMPLATE_ID")})
 public class RelationshipTemplateInstance extends PersistenceObject {
 
     private static final long serialVersionUID = -2035127822277983705L;
@@ -11,6 +11,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
 import javax.persistence.OrderBy;
 import javax.persistence.Table;
@@ -19,7 +20,6 @@ import javax.xml.namespace.QName;
 import org.eclipse.persistence.annotations.Convert;
 import org.opentosca.container.core.common.jpa.DocumentConverter;
 import org.opentosca.container.core.model.csar.id.CSARID;
-import org.opentosca.container.core.next.xml.PropertyParser;
 import org.w3c.dom.Document;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -28,7 +28,9 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 @Entity
-@Table(name = ServiceTemplateInstance.TABLE_NAME)
+@Table(name = ServiceTemplateInstance.TABLE_NAME,
+       indexes = {@Index(name = "IDX_STI_CSAR_ID", columnList = "CSAR_ID"),
+                  @Index(name = "IDX_STI_TEMPLATE_ID", columnList = "TEMPLATE_ID")})
 public class ServiceTemplateInstance extends PersistenceObject {
 
     private static final long serialVersionUID = 6652347924001914320L;
@@ -174,12 +176,11 @@ public class ServiceTemplateInstance extends PersistenceObject {
      */
     @JsonProperty("properties")
     public Map<String, String> getPropertiesAsMap() {
-        final PropertyParser parser = new PropertyParser();
         final ServiceTemplateInstanceProperty prop =
             getProperties().stream().filter(p -> p.getType().equalsIgnoreCase("xml"))
                            .collect(Collectors.reducing((a, b) -> null)).orElse(null);
         if (prop != null) {
-            return parser.parse(prop.getValue());
+            return prop.getValueAsMap();
         }
         return null;
     }
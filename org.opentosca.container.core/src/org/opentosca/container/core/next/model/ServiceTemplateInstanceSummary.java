@@ -0,0 +1,54 @@
+package org.opentosca.container.core.next.model;
+
+import java.util.Date;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.csar.id.CSARID;
+
+/**
+ * Read-only projection of a {@link ServiceTemplateInstance} for listings. It only contains the
+ * columns of the instance itself, so neither properties nor relations are loaded.
+ */
+public class ServiceTemplateInstanceSummary {
+
+    private final Long id;
+
+    private final Date createdAt;
+
+    private final CSARID csarId;
+
+    private final QName templateId;
+
+    private final ServiceTemplateInstanceState state;
+
+
+    public ServiceTemplateInstanceSummary(final Long id, final Date createdAt, final CSARID csarId,
+                                          final QName templateId, final ServiceTemplateInstanceState state) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.csarId = csarId;
+        this.templateId = templateId;
+        this.state = state;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public CSARID getCsarId() {
+        return this.csarId;
+    }
+
+    public QName getTemplateId() {
+        return this.templateId;
+    }
+
+    public ServiceTemplateInstanceState getState() {
+        return this.state;
+    }
+}
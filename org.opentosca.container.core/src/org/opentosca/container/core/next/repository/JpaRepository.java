@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.Optional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
@@ -100,4 +101,23 @@ public abstract class JpaRepository<T> implements Repository<T, Long> {
                      .getResultList();
         }
     }
+
+    /**
+     * Restricts the given query to the requested page of results.
+     *
+     * @param query the query to restrict
+     * @param offset the position of the first result or <code>null</code> to start at the first one
+     * @param limit the maximum number of results or <code>null</code> for all results
+     * @return the given query
+     */
+    protected static <R> TypedQuery<R> paginate(final TypedQuery<R> query, final Integer offset,
+                                                final Integer limit) {
+        if (offset != null) {
+            query.setFirstResult(offset);
+        }
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query;
+    }
 }
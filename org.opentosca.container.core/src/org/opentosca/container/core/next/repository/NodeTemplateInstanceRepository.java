@@ -1,17 +1,27 @@
 package org.opentosca.container.core.next.repository;
 
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.xml.namespace.QName;
 
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceSummary;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+
+import com.google.common.collect.Lists;
 
 public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateInstance> {
 
@@ -52,4 +62,61 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
             return q.getResultList();
         }
     }
+
+    /**
+     * Finds the instances of a node template without loading their properties or relations.
+     *
+     * @param templateId the ID of the node template
+     * @param serviceTemplateId the ID of the service template the instances belong to
+     * @param serviceTemplateInstanceId only instances of this service template instance or
+     *        <code>null</code> for all
+     * @param sourceOfRelationIds only instances which are the source of one of these relationship
+     *        template instances or <code>null</code>/empty for all
+     * @param states the accepted states or <code>null</code>/empty for all states
+     * @param createdAfter only instances created after this date or <code>null</code> for all
+     * @param offset the position of the first result or <code>null</code>
+     * @param limit the maximum number of results or <code>null</code>
+     * @return the matching instances ordered by their ID
+     */
+    public List<NodeTemplateInstanceSummary> findSummariesByTemplateId(final QName templateId,
+                                                                       final QName serviceTemplateId,
+                                                                       final Long serviceTemplateInstanceId,
+                                                                       final Collection<Long> sourceOfRelationIds,
+                                                                       final Collection<NodeTemplateInstanceState> states,
+                                                                       final Date createdAfter, final Integer offset,
+                                                                       final Integer limit) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+
+            final CriteriaQuery<NodeTemplateInstanceSummary> cq = cb.createQuery(NodeTemplateInstanceSummary.class);
+            final Root<NodeTemplateInstance> nti = cq.from(NodeTemplateInstance.class);
+            final Join<NodeTemplateInstance, ServiceTemplateInstance> sti = nti.join("serviceTemplateInstance");
+
+            final List<Predicate> predicates = Lists.newArrayList();
+            predicates.add(cb.equal(nti.get("templateId"), templateId));
+            predicates.add(cb.equal(sti.get("templateId"), serviceTemplateId));
+            if (serviceTemplateInstanceId != null) {
+                predicates.add(cb.equal(sti.get("id"), serviceTemplateInstanceId));
+            }
+            if (sourceOfRelationIds != null && !sourceOfRelationIds.isEmpty()) {
+                final Join<NodeTemplateInstance, RelationshipTemplateInstance> outgoing =
+                    nti.join("outgoingRelations");
+                predicates.add(outgoing.get("id").in(sourceOfRelationIds));
+                cq.distinct(true);
+            }
+            if (states != null && !states.isEmpty()) {
+                predicates.add(nti.get("state").in(states));
+            }
+            if (createdAfter != null) {
+                predicates.add(cb.greaterThan(nti.<Date>get("createdAt"), createdAfter));
+            }
+
+            cq.select(cb.construct(NodeTemplateInstanceSummary.class, nti.get("id"), nti.get("createdAt"),
+                                   nti.get("templateId"), nti.get("templateType"), nti.get("state"), sti.get("id"),
+                                   sti.get("csarId"), sti.get("templateId")))
+              .where(predicates.toArray(new Predicate[predicates.size()])).orderBy(cb.asc(nti.get("id")));
+
+            return paginate(em.createQuery(cq), offset, limit).getResultList();
+        }
+    }
 }
@@ -0,0 +1,192 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceState;
+
+/**
+ * Notifies waiting threads in-process about changes of plan instances, i.e. about stored plan
+ * instances and new events of plan instances, so they don't have to poll the database. A pending
+ * change is only kept as long as someone waits for it, so plan instances which don't change anymore
+ * don't leave entries behind.
+ */
+public final class PlanInstanceChangeNotifier {
+
+    // time in milliseconds after which waiting threads check the database anyway, in case a change
+    // was made by another process
+    private static final long RECHECK_INTERVAL = 60000;
+
+    private static final ConcurrentMap<String, PendingChange> changes = new ConcurrentHashMap<>();
+
+    // checks the plan instances of pending terminations, so neither the waiting nor the notifying
+    // threads are blocked by it
+    private static final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "plan-instance-termination-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+
+    private PlanInstanceChangeNotifier() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a future which is completed on the next change of the given plan instance. To not miss a
+     * change, the future has to be obtained before the current state of the plan instance is read.
+     * The future has to be given back by {@link #release(String, CompletableFuture)} as soon as the
+     * caller stops waiting for it.
+     *
+     * @param correlationId the correlation ID of the plan instance
+     * @return a future completed on the next change
+     */
+    public static CompletableFuture<Void> nextChange(final String correlationId) {
+        return changes.compute(correlationId, (id, change) -> {
+            final PendingChange pending = change == null ? new PendingChange() : change;
+            pending.waiters++;
+            return pending;
+        }).future;
+    }
+
+    /**
+     * Gives back a future obtained by {@link #nextChange(String)}. The pending change is dropped when
+     * nobody waits for it anymore. Completed futures don't have to be released, but releasing them
+     * does no harm.
+     *
+     * @param correlationId the correlation ID of the plan instance
+     * @param future the future which isn't waited for anymore
+     */
+    public static void release(final String correlationId, final CompletableFuture<Void> future) {
+        changes.computeIfPresent(correlationId, (id, change) -> {
+            if (change.future != future) {
+                return change;
+            }
+            return --change.waiters > 0 ? change : null;
+        });
+    }
+
+    /**
+     * Notifies the threads waiting for a change of the given plan instance. It has to be called after
+     * the change is committed.
+     *
+     * @param correlationId the correlation ID of the plan instance
+     */
+    public static void changed(final String correlationId) {
+        if (correlationId == null) {
+            return;
+        }
+        final PendingChange change = changes.remove(correlationId);
+        if (change != null) {
+            change.future.complete(null);
+        }
+    }
+
+    /**
+     * Waits until a plan instance is finished or failed.
+     *
+     * @param correlationId the correlation ID of the plan instance
+     * @param timeout the maximum time to wait in milliseconds, {@link Long#MAX_VALUE} to wait without
+     *        timeout
+     * @return the finished or failed plan instance or <code>null</code> if the timeout elapsed
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public static PlanInstance awaitTermination(final String correlationId,
+                                                final long timeout) throws InterruptedException {
+        final CompletableFuture<PlanInstance> termination = onTermination(correlationId, timeout);
+        try {
+            return termination.get();
+        }
+        catch (final InterruptedException e) {
+            // stop checking the plan instance
+            termination.cancel(false);
+            throw e;
+        }
+        catch (final ExecutionException e) {
+            throw new IllegalStateException("Checking the plan instance failed", e.getCause());
+        }
+    }
+
+    /**
+     * Returns a future which is completed when a plan instance is finished or failed, without
+     * blocking a thread in the meantime.
+     *
+     * @param correlationId the correlation ID of the plan instance
+     * @param timeout the maximum time to wait in milliseconds, {@link Long#MAX_VALUE} to wait without
+     *        timeout
+     * @return a future completed with the finished or failed plan instance or with <code>null</code>
+     *         if the timeout elapsed
+     */
+    public static CompletableFuture<PlanInstance> onTermination(final String correlationId, final long timeout) {
+        final CompletableFuture<PlanInstance> termination = new CompletableFuture<>();
+        final long now = System.currentTimeMillis();
+        final long deadline = timeout > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeout;
+        checker.execute(() -> checkTermination(correlationId, deadline, termination));
+        return termination;
+    }
+
+    private static void checkTermination(final String correlationId, final long deadline,
+                                         final CompletableFuture<PlanInstance> termination) {
+        if (termination.isDone()) {
+            return;
+        }
+        try {
+            final CompletableFuture<Void> change = nextChange(correlationId);
+
+            PlanInstance planInstance = null;
+            try {
+                planInstance = new PlanInstanceRepository().findByCorrelationId(correlationId);
+            }
+            catch (final RuntimeException e) {
+                // the plan instance isn't stored yet
+            }
+            if (planInstance != null && (planInstance.getState().equals(PlanInstanceState.FINISHED)
+                || planInstance.getState().equals(PlanInstanceState.FAILED))) {
+                release(correlationId, change);
+                termination.complete(planInstance);
+                return;
+            }
+
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                release(correlationId, change);
+                termination.complete(null);
+                return;
+            }
+
+            // check again on the next change or after the recheck interval, whatever comes first
+            final AtomicBoolean checked = new AtomicBoolean();
+            final Runnable check = () -> {
+                if (checked.compareAndSet(false, true)) {
+                    release(correlationId, change);
+                    checkTermination(correlationId, deadline, termination);
+                }
+            };
+            final ScheduledFuture<?> recheck =
+                checker.schedule(check, Math.min(remaining, RECHECK_INTERVAL), TimeUnit.MILLISECONDS);
+            change.thenRunAsync(() -> {
+                recheck.cancel(false);
+                check.run();
+            }, checker);
+        }
+        catch (final RuntimeException e) {
+            termination.completeExceptionally(e);
+        }
+    }
+
+    private static class PendingChange {
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        // number of callers waiting for the change, only accessed while the entry is computed
+        private int waiters;
+    }
+}
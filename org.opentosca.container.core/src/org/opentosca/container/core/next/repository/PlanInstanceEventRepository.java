@@ -0,0 +1,107 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
+import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the events of plan instances without loading and merging the plan instances with all their
+ * events.
+ */
+public class PlanInstanceEventRepository extends JpaRepository<PlanInstanceEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanInstanceEventRepository.class);
+
+
+    public PlanInstanceEventRepository() {
+        super(PlanInstanceEvent.class);
+    }
+
+    /**
+     * Appends events to plan instances in one transaction. Events of unknown plan instances are
+     * dropped.
+     *
+     * @param events the events to add grouped by the correlation ID of their plan instance
+     */
+    public void add(final Map<String, List<PlanInstanceEvent>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final EntityManager em = EntityManagerProvider.createEntityManager();
+        try {
+            final Map<String, Long> planInstanceIds = new HashMap<>();
+            em.createQuery("SELECT p.correlationId, p.id FROM PlanInstance p WHERE p.correlationId IN :correlationIds",
+                           Object[].class)
+              .setParameter("correlationIds", events.keySet()).getResultList()
+              .forEach(row -> planInstanceIds.put((String) row[0], (Long) row[1]));
+
+            em.getTransaction().begin();
+            for (final Map.Entry<String, List<PlanInstanceEvent>> entry : events.entrySet()) {
+                final Long planInstanceId = planInstanceIds.get(entry.getKey());
+                if (planInstanceId == null) {
+                    logger.warn("Dropping {} events of unknown plan instance {}", entry.getValue().size(),
+                                entry.getKey());
+                    continue;
+                }
+                final PlanInstance planInstance = em.getReference(PlanInstance.class, planInstanceId);
+                for (final PlanInstanceEvent event : entry.getValue()) {
+                    event.setPlanInstanceReference(planInstance);
+                    em.persist(event);
+                }
+            }
+            em.getTransaction().commit();
+
+            // the cached plan instances don't know the new events
+            planInstanceIds.values()
+                           .forEach(id -> em.getEntityManagerFactory().getCache().evict(PlanInstance.class, id));
+        }
+        finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    /**
+     * Finds the events of a plan instance.
+     *
+     * @param planInstanceId the ID of the plan instance
+     * @param offset the position of the first result or <code>null</code>
+     * @param limit the maximum number of results or <code>null</code>
+     * @return the events, the latest event first
+     */
+    public List<PlanInstanceEvent> findByPlanInstance(final Long planInstanceId, final Integer offset,
+                                                      final Integer limit) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final TypedQuery<PlanInstanceEvent> query =
+                em.createQuery("SELECT e FROM PlanInstanceEvent e WHERE e.planInstance.id = :planInstanceId ORDER BY e.createdAt DESC, e.id DESC",
+                               PlanInstanceEvent.class);
+            query.setParameter("planInstanceId", planInstanceId);
+            return paginate(query, offset, limit).getResultList();
+        }
+    }
+
+    /**
+     * @param planInstanceId the ID of the plan instance
+     * @return the number of events of the plan instance
+     */
+    public long countByPlanInstance(final Long planInstanceId) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            return em.createQuery("SELECT COUNT(e) FROM PlanInstanceEvent e WHERE e.planInstance.id = :planInstanceId",
+                                  Long.class)
+                     .setParameter("planInstanceId", planInstanceId).getSingleResult();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.next.model.PlanInstanceEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends events to plan instances asynchronously. The events are queued and written in batches by a
+ * background thread, so logging doesn't wait for the database and doesn't merge the whole plan
+ * instance. If the queue is full, callers wait until there is space again. A batch which can't be
+ * written is retried once and then written per plan instance and per event, so a failing event
+ * doesn't discard the other events of its batch.
+ */
+public final class PlanInstanceEventWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanInstanceEventWriter.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final BlockingQueue<PendingEvent> queue =
+        new LinkedBlockingQueue<>(Math.max(1, Integer.parseInt(Settings.PLAN_INSTANCE_EVENT_QUEUE_SIZE)));
+
+    private static final PlanInstanceEventRepository repository = new PlanInstanceEventRepository();
+
+    // time in milliseconds to wait for queued events to be written before events are read
+    private static final long FLUSH_TIMEOUT = 10000;
+
+    static {
+        final Thread writer = new Thread(PlanInstanceEventWriter::run, "plan-instance-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+
+    private PlanInstanceEventWriter() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Queues an event of a plan instance.
+     *
+     * @param correlationId the correlation ID of the plan instance
+     * @param event the event to add
+     */
+    public static void append(final String correlationId, final PlanInstanceEvent event) {
+        try {
+            queue.put(new PendingEvent(correlationId, event, null));
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while queuing event of plan instance {}", correlationId);
+        }
+    }
+
+    /**
+     * Waits until all events queued before are written, e.g. before the events of a plan instance are
+     * read.
+     */
+    public static void flush() {
+        final CountDownLatch written = new CountDownLatch(1);
+        try {
+            queue.put(new PendingEvent(null, null, written));
+            if (!written.await(FLUSH_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                logger.warn("Timed out waiting for queued plan instance events to be written");
+            }
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void run() {
+        while (true) {
+            final List<PendingEvent> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+            }
+            catch (final InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+
+            final Map<String, List<PlanInstanceEvent>> events = new LinkedHashMap<>();
+            final List<CountDownLatch> flushes = new ArrayList<>();
+            for (final PendingEvent pending : batch) {
+                if (pending.written != null) {
+                    flushes.add(pending.written);
+                } else {
+                    events.computeIfAbsent(pending.correlationId, id -> new ArrayList<>()).add(pending.event);
+                }
+            }
+
+            try {
+                write(events);
+            }
+            finally {
+                flushes.forEach(CountDownLatch::countDown);
+            }
+        }
+    }
+
+    private static void write(final Map<String, List<PlanInstanceEvent>> events) {
+        if (add(events) || add(events)) {
+            return;
+        }
+
+        // write the batch in smaller parts, so only the failing events are lost
+        logger.warn("Writing the events of {} plan instances separately", events.size());
+        for (final Map.Entry<String, List<PlanInstanceEvent>> entry : events.entrySet()) {
+            if (add(Collections.singletonMap(entry.getKey(), entry.getValue())) || entry.getValue().size() == 1) {
+                continue;
+            }
+            for (final PlanInstanceEvent event : entry.getValue()) {
+                add(Collections.singletonMap(entry.getKey(), Collections.singletonList(event)));
+            }
+        }
+    }
+
+    private static boolean add(final Map<String, List<PlanInstanceEvent>> events) {
+        try {
+            repository.add(events);
+            logger.debug("Wrote {} plan instance events", events.values().stream().mapToInt(List::size).sum());
+            events.keySet().forEach(PlanInstanceChangeNotifier::changed);
+            return true;
+        }
+        catch (final RuntimeException e) {
+            logger.error("Error writing events of plan instances {}: {}", events.keySet(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private static class PendingEvent {
+
+        private final String correlationId;
+
+        private final PlanInstanceEvent event;
+
+        // marks a flush, counted down when the events queued before are written
+        private final CountDownLatch written;
+
+
+        private PendingEvent(final String correlationId, final PlanInstanceEvent event,
+                             final CountDownLatch written) {
+            this.correlationId = correlationId;
+            this.event = event;
+            this.written = written;
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.csar.id.CSARID;
 
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceState;
+import org.opentosca.container.core.next.model.PlanType;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+
+import com.google.common.collect.Lists;
 
 public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
 
@@ -16,6 +30,24 @@ public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
         super(PlanInstance.class);
     }
 
+    @Override
+    public void add(final PlanInstance entity) {
+        super.add(entity);
+        PlanInstanceChangeNotifier.changed(entity.getCorrelationId());
+    }
+
+    @Override
+    public void add(final Iterable<PlanInstance> items) {
+        super.add(items);
+        items.forEach(item -> PlanInstanceChangeNotifier.changed(item.getCorrelationId()));
+    }
+
+    @Override
+    public void update(final PlanInstance entity) {
+        super.update(entity);
+        PlanInstanceChangeNotifier.changed(entity.getCorrelationId());
+    }
+
     public PlanInstance findByCorrelationId(final String correlationId) {
         try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -32,4 +64,50 @@ public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
             return q.getSingleResult();
         }
     }
+
+    /**
+     * Finds the instances of a plan.
+     *
+     * @param templateId the ID of the plan
+     * @param csarId only instances of service template instances of this CSAR
+     * @param serviceTemplateInstanceId only instances of this service template instance or
+     *        <code>null</code> for all
+     * @param types the accepted plan types
+     * @param states the accepted states or <code>null</code>/empty for all states
+     * @param createdAfter only instances created after this date or <code>null</code> for all
+     * @param offset the position of the first result or <code>null</code>
+     * @param limit the maximum number of results or <code>null</code>
+     * @return the matching instances ordered by their ID
+     */
+    public List<PlanInstance> findByTemplateId(final QName templateId, final CSARID csarId,
+                                               final Long serviceTemplateInstanceId,
+                                               final Collection<PlanType> types,
+                                               final Collection<PlanInstanceState> states, final Date createdAfter,
+                                               final Integer offset, final Integer limit) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            // Build the Criteria Query
+            final CriteriaQuery<PlanInstance> cq = cb.createQuery(PlanInstance.class);
+            final Root<PlanInstance> pi = cq.from(PlanInstance.class);
+            final Join<PlanInstance, ServiceTemplateInstance> sti = pi.join("serviceTemplateInstance");
+
+            final List<Predicate> predicates = Lists.newArrayList();
+            predicates.add(cb.equal(pi.get("templateId"), templateId));
+            predicates.add(cb.equal(sti.get("csarId"), csarId));
+            predicates.add(pi.get("type").in(types));
+            if (serviceTemplateInstanceId != null) {
+                predicates.add(cb.equal(sti.get("id"), serviceTemplateInstanceId));
+            }
+            if (states != null && !states.isEmpty()) {
+                predicates.add(pi.get("state").in(states));
+            }
+            if (createdAfter != null) {
+                predicates.add(cb.greaterThan(pi.<Date>get("createdAt"), createdAfter));
+            }
+
+            cq.select(pi).where(predicates.toArray(new Predicate[predicates.size()])).orderBy(cb.asc(pi.get("id")));
+            // Execute
+            return paginate(em.createQuery(cq), offset, limit).getResultList();
+        }
+    }
 }
@@ -1,18 +1,28 @@
 package org.opentosca.container.core.next.repository;
 
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.xml.namespace.QName;
 
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
+
+import com.google.common.collect.Lists;
 
 public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemplateInstance> {
 
@@ -53,4 +63,68 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
             return q.getResultList();
         }
     }
+
+    /**
+     * Finds the service template instance a plan instance with the given correlation ID belongs to.
+     *
+     * @param correlationId the correlation ID of the plan instance
+     * @return the service template instance or an empty Optional if no plan instance matches
+     */
+    public Optional<ServiceTemplateInstance> findByPlanInstanceCorrelationId(final String correlationId) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            // Parameters
+            final ParameterExpression<String> correlationIdParameter = cb.parameter(String.class);
+            // Build the Criteria Query
+            final CriteriaQuery<ServiceTemplateInstance> cq = cb.createQuery(ServiceTemplateInstance.class);
+            final Root<ServiceTemplateInstance> sti = cq.from(ServiceTemplateInstance.class);
+            final Join<ServiceTemplateInstance, PlanInstance> pi = sti.join("planInstances");
+            cq.select(sti).where(cb.equal(pi.get("correlationId"), correlationIdParameter));
+            // Create a TypedQuery
+            final TypedQuery<ServiceTemplateInstance> q = em.createQuery(cq);
+            q.setParameter(correlationIdParameter, correlationId);
+            q.setMaxResults(1);
+            // Execute
+            return q.getResultList().stream().findFirst();
+        }
+    }
+
+    /**
+     * Finds the instances of a service template without loading their properties or relations.
+     *
+     * @param templateId the ID of the service template
+     * @param states the accepted states or <code>null</code>/empty for all states
+     * @param createdAfter only instances created after this date or <code>null</code> for all
+     * @param offset the position of the first result or <code>null</code>
+     * @param limit the maximum number of results or <code>null</code>
+     * @return the matching instances ordered by their ID
+     */
+    public List<ServiceTemplateInstanceSummary> findSummariesByTemplateId(final QName templateId,
+                                                                          final Collection<ServiceTemplateInstanceState> states,
+                                                                          final Date createdAfter,
+                                                                          final Integer offset,
+                                                                          final Integer limit) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            // Build the Criteria Query
+            final CriteriaQuery<ServiceTemplateInstanceSummary> cq =
+                cb.createQuery(ServiceTemplateInstanceSummary.class);
+            final Root<ServiceTemplateInstance> sti = cq.from(ServiceTemplateInstance.class);
+
+            final List<Predicate> predicates = Lists.newArrayList();
+            predicates.add(cb.equal(sti.get("templateId"), templateId));
+            if (states != null && !states.isEmpty()) {
+                predicates.add(sti.get("state").in(states));
+            }
+            if (createdAfter != null) {
+                predicates.add(cb.greaterThan(sti.<Date>get("createdAt"), createdAfter));
+            }
+
+            cq.select(cb.construct(ServiceTemplateInstanceSummary.class, sti.get("id"), sti.get("createdAt"),
+                                   sti.get("csarId"), sti.get("templateId"), sti.get("state")))
+              .where(predicates.toArray(new Predicate[predicates.size()])).orderBy(cb.asc(sti.get("id")));
+            // Execute
+            return paginate(em.createQuery(cq), offset, limit).getResultList();
+        }
+    }
 }
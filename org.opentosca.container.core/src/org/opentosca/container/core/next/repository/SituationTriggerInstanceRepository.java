@@ -2,10 +2,16 @@ package org.opentosca.container.core.next.repository;
 
 import java.util.List;
 
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
+
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
+import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.SituationTriggerInstance;
 
-import com.google.common.collect.Lists;
-
 public class SituationTriggerInstanceRepository extends JpaRepository<SituationTriggerInstance> {
 
     public SituationTriggerInstanceRepository() {
@@ -13,15 +19,20 @@ public class SituationTriggerInstanceRepository extends JpaRepository<SituationT
     }
 
     public List<SituationTriggerInstance> findBySituationTriggerId(final Long situationTriggerId) {
-        final List<SituationTriggerInstance> result = Lists.newArrayList();
-
-        findAll().forEach(x -> {
-            if (x.getSituationTrigger().getId() == situationTriggerId) {
-                result.add(x);
-            }
-        });
-
-        return result;
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            // Parameters
+            final ParameterExpression<Long> situationTriggerIdParameter = cb.parameter(Long.class);
+            // Build the Criteria Query
+            final CriteriaQuery<SituationTriggerInstance> cq = cb.createQuery(SituationTriggerInstance.class);
+            final Root<SituationTriggerInstance> sti = cq.from(SituationTriggerInstance.class);
+            cq.select(sti).where(cb.equal(sti.get("situationTrigger").get("id"), situationTriggerIdParameter));
+            // Create a TypedQuery
+            final TypedQuery<SituationTriggerInstance> q = em.createQuery(cq);
+            q.setParameter(situationTriggerIdParameter, situationTriggerId);
+            // Execute
+            return q.getResultList();
+        }
     }
 
 }
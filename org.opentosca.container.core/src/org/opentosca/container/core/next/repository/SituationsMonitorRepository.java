@@ -1,7 +1,15 @@
 package org.opentosca.container.core.next.repository;
 
-import java.util.Collection;import java.util.stream.Collectors;
+import java.util.Collection;
 
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
+
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
+import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.SituationsMonitor;
 
 import com.google.common.collect.Lists;
@@ -26,4 +34,21 @@ public class SituationsMonitorRepository extends JpaRepository<SituationsMonitor
         return result;
     }
 
+    public Collection<SituationsMonitor> findByServiceInstanceId(final Long serviceInstanceId) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            // Parameters
+            final ParameterExpression<Long> serviceInstanceIdParameter = cb.parameter(Long.class);
+            // Build the Criteria Query
+            final CriteriaQuery<SituationsMonitor> cq = cb.createQuery(SituationsMonitor.class);
+            final Root<SituationsMonitor> monitor = cq.from(SituationsMonitor.class);
+            cq.select(monitor).where(cb.equal(monitor.get("serviceInstance").get("id"), serviceInstanceIdParameter));
+            // Create a TypedQuery
+            final TypedQuery<SituationsMonitor> q = em.createQuery(cq);
+            q.setParameter(serviceInstanceIdParameter, serviceInstanceId);
+            // Execute
+            return q.getResultList();
+        }
+    }
+
 }
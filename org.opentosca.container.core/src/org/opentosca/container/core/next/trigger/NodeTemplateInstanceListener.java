@@ -0,0 +1,69 @@
+package org.opentosca.container.core.next.trigger;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Posts an OSGi event when a NodeTemplateInstance is (re-)created or deleted, so other bundles can
+ * forget what they remembered about the instance, e.g. the packages installed on a machine.
+ */
+public class NodeTemplateInstanceListener {
+
+    final private static Logger LOG = LoggerFactory.getLogger(NodeTemplateInstanceListener.class);
+
+    public static final String TOPIC = "org_opentosca_nodetemplateinstances/changes";
+
+    // states in which the component represented by an instance is (re-)created or removed
+    private static final Set<NodeTemplateInstanceState> RESET_STATES =
+        EnumSet.of(NodeTemplateInstanceState.INITIAL, NodeTemplateInstanceState.CREATING,
+                   NodeTemplateInstanceState.DELETING, NodeTemplateInstanceState.DELETED);
+
+    @PostUpdate
+    void nodeTemplateInstanceAfterUpdate(final NodeTemplateInstance instance) {
+        if (RESET_STATES.contains(instance.getState())) {
+            sendChangeEvent(instance);
+        }
+    }
+
+    @PostRemove
+    void nodeTemplateInstanceAfterRemove(final NodeTemplateInstance instance) {
+        sendChangeEvent(instance);
+    }
+
+    private void sendChangeEvent(final NodeTemplateInstance instance) {
+        final EventAdmin eventAdmin = getEventAdminService();
+        if (eventAdmin == null) {
+            LOG.debug("No EventAdmin available. Change of NodeTemplateInstance {} isn't posted.", instance.getId());
+            return;
+        }
+
+        final Map<String, Object> eventProperties = Maps.newHashMap();
+        eventProperties.put("NODETEMPLATEINSTANCEID", instance.getId());
+        eventProperties.put("STATE", String.valueOf(instance.getState()));
+        eventAdmin.postEvent(new Event(TOPIC, eventProperties));
+    }
+
+    private EventAdmin getEventAdminService() {
+        final BundleContext ctx = org.opentosca.container.core.Activator.getContext();
+        if (ctx == null) {
+            return null;
+        }
+        final ServiceReference<?> ref = ctx.getServiceReference(EventAdmin.class.getName());
+        return ref == null ? null : (EventAdmin) ctx.getService(ref);
+    }
+}
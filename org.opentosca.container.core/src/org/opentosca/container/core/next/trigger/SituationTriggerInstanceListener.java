@@ -2,8 +2,11 @@ package org.opentosca.container.core.next.trigger;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.util.List;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.persistence.PostPersist;
 import javax.xml.namespace.QName;
@@ -13,12 +16,11 @@ import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.engine.IToscaEngineService;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.PlanInstance;
-import org.opentosca.container.core.next.model.PlanInstanceState;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.SituationTriggerInstance;
 import org.opentosca.container.core.next.model.SituationTriggerInstanceProperty;
 import org.opentosca.container.core.next.model.SituationTriggerProperty;
-import org.opentosca.container.core.next.repository.PlanInstanceRepository;
+import org.opentosca.container.core.next.repository.PlanInstanceChangeNotifier;
 import org.opentosca.container.core.next.repository.SituationTriggerInstanceRepository;
 import org.opentosca.container.core.service.IPlanInvocationEngine;
 import org.opentosca.container.core.tosca.extension.TParameterDTO;
@@ -29,17 +31,30 @@ import org.osgi.framework.ServiceReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Lists;
-
 public class SituationTriggerInstanceListener {
 
-    private static final List<SituationTriggerInstanceObserver> obs = Lists.newArrayList();
+    private static final Logger LOG = LoggerFactory.getLogger(SituationTriggerInstanceListener.class);
+
+    // the observers only invoke their plans and are finished by a callback when the plan terminates,
+    // so a burst of situation changes queues up instead of starting a thread per trigger instance
+    private static final ThreadPoolExecutor executor;
+
+    static {
+        final int threads = Math.max(1, Integer.parseInt(Settings.SITUATION_TRIGGER_THREADS));
+        final AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            r -> {
+                final Thread thread = new Thread(r, "situation-trigger-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
 
     @PostPersist
     public void startSituationTriggerInstanceObserver(final SituationTriggerInstance instance) {
-        final SituationTriggerInstanceObserver obs = new SituationTriggerInstanceObserver(instance);
-        SituationTriggerInstanceListener.obs.add(obs);
-        new Thread(obs).start();
+        executor.execute(new SituationTriggerInstanceObserver(instance));
+        LOG.debug("Queued SituationTriggerInstance {}, {} queued and {} running", instance.getId(),
+                  executor.getQueue().size(), executor.getActiveCount());
     }
 
     private class SituationTriggerInstanceObserver implements Runnable {
@@ -52,10 +67,11 @@ public class SituationTriggerInstanceListener {
 
         private final IToscaEngineService toscaEngine;
 
-        private final PlanInstanceRepository planRepository = new PlanInstanceRepository();
-
         private final SituationTriggerInstance instance;
 
+        // time in nanoseconds the situation change was observed, to measure the reaction time
+        private final long created = System.nanoTime();
+
         public SituationTriggerInstanceObserver(final SituationTriggerInstance instance) {
             this.instance = instance;
             final BundleContext ctx = org.opentosca.container.core.Activator.getContext();
@@ -73,8 +89,8 @@ public class SituationTriggerInstanceListener {
             this.instance.setStarted(true);
             this.repo.update(this.instance);            
 
-            this.LOG.debug("Started SituationTriggerInstance " + this.instance.getId());
-            
+            this.LOG.debug("Started SituationTriggerInstance {} after {} ms in queue, {} queued",
+                           this.instance.getId(), elapsedMillis(), executor.getQueue().size());
 
             final String interfaceName = this.instance.getSituationTrigger().getInterfaceName();
             final String operationName = this.instance.getSituationTrigger().getOperationName();
@@ -124,34 +140,43 @@ public class SituationTriggerInstanceListener {
                         this.planInvocEngine.invokePlan(this.instance.getSituationTrigger().getCsarId(), this.toscaEngine.getServiceTemplatesInCSAR(this.instance.getSituationTrigger().getCsarId()).get(0),
                                                         -1, planDTO, correlationId);
                     }
-                    
-
-                    // now wait for finished execution
-                    PlanInstance planInstance = this.planRepository.findByCorrelationId(correlationId);
-                    while (!(planInstance.getState().equals(PlanInstanceState.FINISHED)
-                        || planInstance.getState().equals(PlanInstanceState.FAILED))) {
-                        Thread.sleep(10000);
-                        planInstance = this.planRepository.findByCorrelationId(correlationId);
-                    }
-
-                    // plan finished, write output to trigger instance
-                    planInstance.getOutputs()
-                                .forEach(x -> this.instance.getOutputs().add(new SituationTriggerInstanceProperty(
-                                    x.getName(), x.getValue(), x.getType())));
+                    this.LOG.info("Invoked plan {} for SituationTriggerInstance {} {} ms after the situation change",
+                                  planId, this.instance.getId(), elapsedMillis());
 
-                    this.instance.setFinished(true);
-                    this.repo.update(this.instance);
+                    // finish the trigger instance when the plan terminates, without occupying a worker
+                    PlanInstanceChangeNotifier.onTermination(correlationId, Long.MAX_VALUE)
+                                              .whenCompleteAsync((planInstance, e) -> finish(planId, planInstance, e),
+                                                                 executor);
                 }
 
                 catch (final UnsupportedEncodingException e) {
                     throw new RuntimeException(e);
                 }
-                catch (final InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
             } else {
                 // IA invocation
             }
         }
+
+        private void finish(final QName planId, final PlanInstance planInstance, final Throwable e) {
+            if (e != null) {
+                this.LOG.error("Waiting for plan {} of SituationTriggerInstance {} failed: {}", planId,
+                               this.instance.getId(), e.getMessage(), e);
+                return;
+            }
+
+            // plan finished, write output to trigger instance
+            planInstance.getOutputs()
+                        .forEach(x -> this.instance.getOutputs().add(new SituationTriggerInstanceProperty(x.getName(),
+                            x.getValue(), x.getType())));
+
+            this.instance.setFinished(true);
+            this.repo.update(this.instance);
+            this.LOG.debug("Finished SituationTriggerInstance {} {} ms after the situation change",
+                           this.instance.getId(), elapsedMillis());
+        }
+
+        private long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.created);
+        }
     }
 }
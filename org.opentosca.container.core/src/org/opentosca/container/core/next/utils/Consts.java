@@ -60,4 +60,14 @@ public abstract class Consts {
      * OpenTOSCA Container database location
      */
     public static final File DBDIR = new File(BASEDIR, "db");
+
+    /**
+     * OpenTOSCA Container cache of generated plans
+     */
+    public static final File PLANCACHEDIR = new File(BASEDIR, "plan-cache");
+
+    /**
+     * OpenTOSCA Container snapshots of resolved CSARs
+     */
+    public static final File RESOLVERSNAPSHOTDIR = new File(BASEDIR, "resolver-snapshots");
 }
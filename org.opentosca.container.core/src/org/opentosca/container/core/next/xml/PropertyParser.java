@@ -4,31 +4,51 @@ import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 
 /**
  * Parser to parse the properties from XML into a Map<String, String> structure.
+ *
+ * XML strings are read with a StAX stream reader instead of building a DOM. The reader factory is
+ * configured once and shared by all threads, so a parser instance is cheap to create.
  */
 public final class PropertyParser {
 
     private static Logger logger = LoggerFactory.getLogger(PropertyParser.class);
 
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+
     public Map<String, String> parse(final String xml) {
-        final Document document = createDocument(xml);
-        // Optional, but recommended
-        // http://stackoverflow.com/questions/13786607/normalization-in-dom-parsing-with-java-how-does-it-work
-        document.getDocumentElement().normalize();
-        return parse(document.getDocumentElement());
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+            return parse(reader);
+        }
+        catch (final XMLStreamException e) {
+            logger.error("Error parsing XML string", e);
+            throw new IllegalArgumentException(e);
+        }
+        finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                }
+                catch (final XMLStreamException e) {
+                    logger.debug("Error closing XML stream reader", e);
+                }
+            }
+        }
     }
 
     public Map<String, String> parse(final Element root) {
@@ -53,16 +73,89 @@ public final class PropertyParser {
         return properties;
     }
 
-    private Document createDocument(final String xml) {
-        try {
-            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            final DocumentBuilder builder = factory.newDocumentBuilder();
-            return builder.parse(new InputSource(new StringReader(xml)));
+    /*
+     * Same result as parse(Element) for the document element: each child element is mapped to its
+     * first text, the root itself only if it has no other content than its text.
+     */
+    private Map<String, String> parse(final XMLStreamReader reader) throws XMLStreamException {
+
+        final Map<String, String> properties = new HashMap<>();
+
+        reader.nextTag();
+        final String rootName = reader.getLocalName();
+        final StringBuilder rootText = new StringBuilder();
+        int rootChildren = 0;
+        boolean lastRootChildIsText = false;
+
+        String child = null;
+        StringBuilder childText = null;
+        boolean childTextComplete = false;
+
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (depth == 1) {
+                        rootChildren++;
+                        lastRootChildIsText = false;
+                        child = reader.getLocalName();
+                        childText = null;
+                        childTextComplete = false;
+                    } else if (depth == 2) {
+                        childTextComplete = childText != null;
+                    }
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    if (depth == 1) {
+                        properties.put(child, childText != null ? StringUtils.trimToNull(childText.toString()) : null);
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    rootText.append(reader.getText());
+                    if (depth == 1 && !lastRootChildIsText) {
+                        rootChildren++;
+                        lastRootChildIsText = true;
+                    } else if (depth == 2 && !childTextComplete) {
+                        if (childText == null) {
+                            childText = new StringBuilder();
+                        }
+                        childText.append(reader.getText());
+                    }
+                    break;
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    if (depth == 1) {
+                        rootChildren++;
+                        lastRootChildIsText = false;
+                    } else if (depth == 2) {
+                        childTextComplete = childText != null;
+                    }
+                    break;
+                default:
+                    break;
+            }
         }
-        catch (final Exception e) {
-            logger.error("Error parsing XML string", e);
-            throw new IllegalArgumentException(e);
+
+        if (rootChildren == 1 && !properties.containsKey(rootName)) {
+            final String value = StringUtils.trimToNull(rootText.toString());
+            if (value != null) {
+                properties.put(rootName, value);
+            }
         }
+
+        return properties;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
     }
 }
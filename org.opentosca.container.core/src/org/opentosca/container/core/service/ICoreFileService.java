@@ -126,6 +126,24 @@ public interface ICoreFileService {
      */
     public CSARID storeCSAR(Path csarFile) throws UserException, SystemException;
 
+    /**
+     * Stores the files contained in {@code directory} as files of the already stored CSAR
+     * {@code csarID}. Each file is stored at its path relative to {@code directory}. A file that
+     * already exists in the CSAR is replaced on the storage provider it is stored on, new files are
+     * stored on the active storage provider and added with their directories to the meta data of the
+     * CSAR. All other files of the CSAR remain untouched, so a CSAR can be updated without exporting,
+     * deleting and storing it again.
+     *
+     * @param csarID of CSAR
+     * @param directory containing the files to store, structured like the CSAR.
+     *
+     * @throws UserException if CSAR {@code csarID} was not found or {@code directory} is not an
+     *         existent directory.
+     * @throws SystemException if a required storage provider is not available and ready or an error
+     *         occurred during storing.
+     */
+    public void storeFilesOfCSAR(CSARID csarID, Path directory) throws UserException, SystemException;
+
     /**
      * Retrieves meta data of CSAR {@code csarID}.
      *
@@ -9,11 +9,15 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.cookie.Cookie;
+import org.apache.http.pool.PoolStats;
 
 /**
  * This interface defines the standard HTTP commands as methods, plus some specific methods mainly
  * created for the AAR plug-in of the IAEngine, that are provided by the HTTPService.
  *
+ * The connections of the service are pooled. Callers have to consume the entity of a returned
+ * response (e.g. by reading its content completely) to give the connection back to the pool.
+ *
  * @see org.opentosca.iaengine.plugins.aaraxis.service.impl
  */
 public interface IHTTPService {
@@ -136,5 +140,12 @@ public interface IHTTPService {
      */
     public HttpResponse Options(String uri) throws ClientProtocolException, IOException;
 
+    /**
+     * Returns the current statistics of the connection pool of the service.
+     *
+     * @return the numbers of leased, pending and available connections and the maximum number of
+     *         connections of the pool
+     */
+    public PoolStats getPoolStats();
 
 }
@@ -6,9 +6,15 @@ import java.net.URI;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.wsdl.WSDLException;
 import javax.xml.namespace.QName;
@@ -87,6 +93,19 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
     static private String PASSWORD = Messages.BpelPlanEnginePlugin_engineLoginPw;
     static private String URL = Messages.BpelPlanEnginePlugin_engineAddress;
     static private String SERVICESURL = Messages.BpelPlanEnginPlugin_engineServiceRootAddress;
+    // time in milliseconds between two comparisons of the recorded and the deployed packages, 0
+    // disables the reconciliation
+    static private long RECONCILIATION_INTERVAL = 3600000;
+
+    // keys of the plan endpoint metadata recording the deployment on the engine
+    private static final String METADATA_PACKAGE = "PACKAGE";
+    private static final String METADATA_PROCESS_ID = "PROCESSID";
+
+    private final ScheduledExecutorService reconciliationScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "bpel-package-reconciliation");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public BpelPlanEnginePlugin() {
         final String processEngine = Settings.getSetting("org.opentosca.container.engine.plan.plugin.bpel.engine");
@@ -118,6 +137,32 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
         if (password != null) {
             PASSWORD = password;
         }
+
+        final String reconciliationInterval =
+            Settings.getSetting("org.opentosca.container.engine.plan.plugin.bpel.reconciliation.interval");
+
+        if (reconciliationInterval != null) {
+            RECONCILIATION_INTERVAL = Long.parseLong(reconciliationInterval);
+        }
+    }
+
+    /**
+     * Called by the OSGi framework when the component is activated. Schedules the reconciliation of
+     * the deployed packages.
+     */
+    protected void activate() {
+        if (RECONCILIATION_INTERVAL > 0) {
+            this.reconciliationScheduler.scheduleWithFixedDelay(this::reconcileDeployedPackages,
+                                                                RECONCILIATION_INTERVAL, RECONCILIATION_INTERVAL,
+                                                                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Called by the OSGi framework when the component is deactivated.
+     */
+    protected void deactivate() {
+        this.reconciliationScheduler.shutdownNow();
     }
 
     /**
@@ -219,18 +264,23 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
         // deploy process
         BpelPlanEnginePlugin.LOG.info("Deploying Plan: {}", tempPlan.getName());
         String processId = "";
+        String packageName = null;
         Map<String, URI> endpoints = Collections.emptyMap();
         try {
             if (ENGINE.equalsIgnoreCase(BPS_ENGINE)) {
                 final BpsConnector connector = new BpsConnector();
 
-                processId = connector.deploy(tempPlan, URL, USERNAME, PASSWORD);
+                final BpsConnector.DeployedProcess process = connector.deploy(tempPlan, URL, USERNAME, PASSWORD);
+                processId = process != null ? process.getProcessId() : null;
+                packageName = process != null ? process.getPackageName() : null;
 
                 endpoints = connector.getEndpointsForPID(processId, URL, USERNAME, PASSWORD);
             } else {
                 final OdeConnector connector = new OdeConnector();
 
-                processId = connector.deploy(tempPlan, URL);
+                final OdeConnector.DeployedProcess process = connector.deploy(tempPlan, URL);
+                processId = process != null ? process.getProcessId() : null;
+                packageName = process != null ? process.getPackageName() : null;
 
                 endpoints = connector.getEndpointsForPID(processId, URL);
             }
@@ -241,16 +291,7 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
 
         // this will be the endpoint the container can use to instantiate the
         // BPEL Process
-        URI endpoint = null;
-        if (endpoints.keySet().size() == 1) {
-            endpoint = (URI) endpoints.values().toArray()[0];
-        } else {
-            for (final String partnerLink : endpoints.keySet()) {
-                if (partnerLink.equals("client")) {
-                    endpoint = endpoints.get(partnerLink);
-                }
-            }
-        }
+        final URI endpoint = getProcessEndpoint(endpoints);
 
         if (endpoint == null) {         
             return false;
@@ -260,10 +301,15 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
             BpelPlanEnginePlugin.LOG.debug("Endpoint for ProcessID \"" + processId + "\" is \"" + endpoints + "\".");
             BpelPlanEnginePlugin.LOG.info("Deployment of Plan was successfull: {}", tempPlan.getName());
 
-            // save endpoint
+            // save endpoint together with the deployed package, so the plan can be undeployed directly
+            final Map<String, String> metadata = new HashMap<>(endpointMetadata);
+            if (packageName != null) {
+                metadata.put(METADATA_PACKAGE, packageName);
+                metadata.put(METADATA_PROCESS_ID, processId);
+            }
             final String localContainer = Settings.OPENTOSCA_CONTAINER_HOSTNAME;
             final WSDLEndpoint wsdlEndpoint =
-                new WSDLEndpoint(endpoint, portType, localContainer, localContainer, csarId, null, planId, null, null, endpointMetadata);   
+                new WSDLEndpoint(endpoint, portType, localContainer, localContainer, csarId, null, planId, null, null, metadata);   
             this.endpointService.storeWSDLEndpoint(wsdlEndpoint);
            
         } else {
@@ -357,6 +403,32 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
      */
     @Override
     public boolean undeployPlanReference(final QName planId, final PlanModelReference planRef, final CSARID csarId) {
+        // undeploy the package recorded at deployment, so it isn't searched on the engine
+        if (this.endpointService != null) {
+            final WSDLEndpoint endpoint =
+                this.endpointService.getWSDLEndpointForPlanId(Settings.OPENTOSCA_CONTAINER_HOSTNAME, csarId, planId);
+            final String packageName = getDeployedPackage(endpoint);
+
+            if (packageName != null) {
+                BpelPlanEnginePlugin.LOG.debug("Undeploying package {} of plan {}", packageName,
+                                               planRef.getReference());
+                final boolean wasUndeployed;
+                if (ENGINE.equalsIgnoreCase(BPS_ENGINE)) {
+                    wasUndeployed = new BpsConnector().undeploy(packageName, URL, USERNAME, PASSWORD);
+                } else {
+                    wasUndeployed = new OdeConnector().undeployPackage(packageName, URL);
+                }
+                this.endpointService.removeWSDLEndpoint(endpoint);
+
+                if (wasUndeployed) {
+                    BpelPlanEnginePlugin.LOG.info("Undeployment of Plan " + planRef.getReference() + " was successful");
+                } else {
+                    BpelPlanEnginePlugin.LOG.warn("Undeployment of Plan " + planRef.getReference() + " was unsuccessful");
+                }
+                return wasUndeployed;
+            }
+        }
+
         // retrieve process
         if (this.fileService != null) {
 
@@ -454,6 +526,170 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
         }
     }
 
+    /**
+     * Returns the endpoint the container can use to instantiate the process, i.e. the only endpoint
+     * of the process or the endpoint of its "client" partner link.
+     */
+    private static URI getProcessEndpoint(final Map<String, URI> endpoints) {
+        if (endpoints.size() == 1) {
+            return endpoints.values().iterator().next();
+        }
+        return endpoints.get("client");
+    }
+
+    /**
+     * Compares the packages recorded for the plans deployed by this container with the packages
+     * deployed on the engine. Endpoints whose package isn't deployed on the engine anymore are
+     * repaired: if the process of the plan is deployed in another package, e.g. because the plan was
+     * redeployed on the engine directly, the endpoint is updated to that package, otherwise the
+     * endpoint is removed, so the plan has to be deployed again. Packages on the engine which don't
+     * belong to a deployed plan are only reported.
+     */
+    private void reconcileDeployedPackages() {
+        if (this.endpointService == null) {
+            return;
+        }
+
+        try {
+            final List<String> deployedPackages;
+            if (ENGINE.equalsIgnoreCase(BPS_ENGINE)) {
+                deployedPackages = new BpsConnector().getDeployedPackages(URL, USERNAME, PASSWORD);
+            } else {
+                deployedPackages = new OdeConnector().getDeployedPackages(URL);
+            }
+
+            final Set<String> recordedPackages = new HashSet<>();
+            final List<WSDLEndpoint> recordedEndpoints = new ArrayList<>();
+            for (final WSDLEndpoint endpoint : this.endpointService.getWSDLEndpoints()) {
+                final String packageName = getDeployedPackage(endpoint);
+                if (packageName != null
+                    && Settings.OPENTOSCA_CONTAINER_HOSTNAME.equals(endpoint.getManagingContainer())) {
+                    recordedPackages.add(packageName);
+                    recordedEndpoints.add(endpoint);
+                }
+            }
+
+            // the connectors return no packages if the engine isn't available
+            if (deployedPackages.isEmpty() && !recordedPackages.isEmpty()) {
+                BpelPlanEnginePlugin.LOG.debug("Engine reported no deployed packages, skipping reconciliation");
+                return;
+            }
+
+            // process IDs of the packages on the engine which don't belong to a deployed plan, the
+            // recorded packages are repaired with them
+            final Map<String, String> unrecordedPackages = new HashMap<>();
+            for (final String packageName : deployedPackages) {
+                if (!recordedPackages.contains(packageName)) {
+                    for (final QName processId : getProcessIds(packageName)) {
+                        unrecordedPackages.put(processId.toString(), packageName);
+                    }
+                }
+            }
+
+            final Set<String> adoptedPackages = new HashSet<>();
+            for (final WSDLEndpoint endpoint : recordedEndpoints) {
+                if (!deployedPackages.contains(getDeployedPackage(endpoint))) {
+                    final String packageName = repairEndpoint(endpoint, unrecordedPackages);
+                    if (packageName != null) {
+                        adoptedPackages.add(packageName);
+                    }
+                }
+            }
+
+            for (final String packageName : deployedPackages) {
+                if (!recordedPackages.contains(packageName) && !adoptedPackages.contains(packageName)) {
+                    BpelPlanEnginePlugin.LOG.debug("Package {} on the engine doesn't belong to a deployed plan",
+                                                   packageName);
+                }
+            }
+        }
+        catch (final RuntimeException e) {
+            BpelPlanEnginePlugin.LOG.warn("Reconciliation of the deployed packages failed", e);
+        }
+    }
+
+    /**
+     * Repairs the endpoint of a plan whose package isn't deployed on the engine anymore.
+     *
+     * @param endpoint the endpoint of the plan
+     * @param unrecordedPackages the packages on the engine which don't belong to a deployed plan by
+     *        the IDs of their processes
+     * @return the package the endpoint was updated to or null if the endpoint was removed
+     */
+    private String repairEndpoint(final WSDLEndpoint endpoint, final Map<String, String> unrecordedPackages) {
+        final String recordedPackage = getDeployedPackage(endpoint);
+        final String recordedProcessId = endpoint.getMetadata().get(METADATA_PROCESS_ID);
+
+        // the version of a process is increased on every deployment
+        String processId = null;
+        if (recordedProcessId != null) {
+            final String processName = getProcessName(recordedProcessId);
+            processId = unrecordedPackages.keySet().stream().filter(id -> processName.equals(getProcessName(id)))
+                                          .max(Comparator.comparingLong(BpelPlanEnginePlugin::getProcessVersion))
+                                          .orElse(null);
+        }
+
+        final URI uri = processId == null ? null : getProcessEndpoint(getEndpointsForProcessId(processId));
+        if (uri != null) {
+            final String packageName = unrecordedPackages.get(processId);
+            final Map<String, String> metadata = new HashMap<>(endpoint.getMetadata());
+            metadata.put(METADATA_PACKAGE, packageName);
+            metadata.put(METADATA_PROCESS_ID, processId);
+            final WSDLEndpoint repairedEndpoint =
+                new WSDLEndpoint(uri, endpoint.getPortType(), endpoint.getTriggeringContainer(),
+                    endpoint.getManagingContainer(), endpoint.getCSARId(), endpoint.getServiceTemplateInstanceID(),
+                    endpoint.getPlanId(), endpoint.getTypeImplementation(), endpoint.getIaName(), metadata);
+            this.endpointService.removeWSDLEndpoint(endpoint);
+            this.endpointService.storeWSDLEndpoint(repairedEndpoint);
+            BpelPlanEnginePlugin.LOG.info("Package {} of plan {} isn't deployed on the engine anymore, updated the endpoint to package {}",
+                                          recordedPackage, endpoint.getPlanId(), packageName);
+            return packageName;
+        }
+
+        this.endpointService.removeWSDLEndpoint(endpoint);
+        BpelPlanEnginePlugin.LOG.warn("Package {} of plan {} isn't deployed on the engine anymore, removed its endpoint",
+                                      recordedPackage, endpoint.getPlanId());
+        return null;
+    }
+
+    private List<QName> getProcessIds(final String packageName) {
+        if (ENGINE.equalsIgnoreCase(BPS_ENGINE)) {
+            return new BpsConnector().getPIDsForPackageId(packageName, URL, USERNAME, PASSWORD);
+        }
+        return new OdeConnector().getPIDsForPackageId(packageName, URL);
+    }
+
+    private Map<String, URI> getEndpointsForProcessId(final String processId) {
+        if (ENGINE.equalsIgnoreCase(BPS_ENGINE)) {
+            return new BpsConnector().getEndpointsForPID(processId, URL, USERNAME, PASSWORD);
+        }
+        return new OdeConnector().getEndpointsForPID(processId, URL);
+    }
+
+    /**
+     * @return the given process ID without the version the engine appended, e.g. "{ns}plan" for
+     *         "{ns}plan-3"
+     */
+    private static String getProcessName(final String processId) {
+        final int versionIndex = processId.lastIndexOf('-');
+        if (versionIndex > 0 && processId.substring(versionIndex + 1).matches("\\d+")) {
+            return processId.substring(0, versionIndex);
+        }
+        return processId;
+    }
+
+    private static long getProcessVersion(final String processId) {
+        final String version = processId.substring(getProcessName(processId).length());
+        return version.isEmpty() ? 0 : Long.parseLong(version.substring(1));
+    }
+
+    private static String getDeployedPackage(final WSDLEndpoint endpoint) {
+        if (endpoint == null || endpoint.getMetadata() == null) {
+            return null;
+        }
+        return endpoint.getMetadata().get(METADATA_PACKAGE);
+    }
+
     /**
      * Bind method for IFileServices
      *
@@ -0,0 +1,303 @@
+package org.opentosca.container.core.engine.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opentosca.container.core.engine.impl.consolidation.DefinitionsConsolidation;
+import org.opentosca.container.core.engine.impl.resolver.DefinitionsResolver;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.tosca.model.TBoundaryDefinitions.Policies;
+import org.opentosca.container.core.tosca.model.TDefinitions;
+import org.opentosca.container.core.tosca.model.TExportedInterface;
+import org.opentosca.container.core.tosca.model.TExportedOperation;
+import org.opentosca.container.core.tosca.model.TPlan;
+import org.opentosca.container.core.tosca.model.TPolicy;
+import org.opentosca.container.integration.tests.CsarActions;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * Currently, this integration test assumes that the "MyTinyToDo_Bare_Docker" CSAR has been manually
+ * uploaded. The CSAR is resolved into fresh mappers, the global mapper of the ToscaEngine is put
+ * back afterwards.
+ */
+public class ToscaReferenceMapperSnapshotsTest {
+
+    private static final String CSAR_NAME = "MyTinyToDo_Bare_Docker.csar";
+
+    private final CSARID csarID = new CSARID(CSAR_NAME);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ToscaReferenceMapper globalMapper;
+
+    private ToscaReferenceMapperSnapshots snapshots;
+
+
+    @Before
+    public void init() throws Exception {
+        assumeTrue(CsarActions.hasCsar(CSAR_NAME));
+        this.globalMapper = ToscaEngineServiceImpl.toscaReferenceMapper;
+        this.snapshots = new ToscaReferenceMapperSnapshots(this.folder.newFolder("snapshots"));
+    }
+
+    @After
+    public void restoreGlobalMapper() {
+        if (this.globalMapper != null) {
+            ToscaEngineServiceImpl.toscaReferenceMapper = this.globalMapper;
+        }
+    }
+
+    @Test
+    public void testRestoredDataEqualsResolvedData() throws Exception {
+        final File snapshot = this.snapshots.getSnapshotFile(this.csarID);
+        assertThat(snapshot, not(nullValue()));
+        assertThat(this.snapshots.isAvailable(snapshot), is(false));
+
+        final ToscaReferenceMapper resolved = resolve();
+        this.snapshots.store(this.csarID, snapshot, resolved);
+        consolidate(resolved);
+        assertThat(this.snapshots.isAvailable(snapshot), is(true));
+        // the key only depends on the content of the CSAR
+        assertThat(this.snapshots.getSnapshotFile(this.csarID), is(snapshot));
+
+        assertRestoresResolvedData(snapshot, resolved);
+    }
+
+    @Test
+    public void testCorruptSnapshotIsResolvedAgain() throws Exception {
+        final File snapshot = this.snapshots.getSnapshotFile(this.csarID);
+        this.snapshots.store(this.csarID, snapshot, resolve());
+
+        // a truncated snapshot, e.g. after a crash
+        final String content = new String(Files.readAllBytes(snapshot.toPath()), StandardCharsets.UTF_8);
+        Files.write(snapshot.toPath(), content.substring(0, content.length() / 2).getBytes(StandardCharsets.UTF_8));
+
+        final ToscaReferenceMapper mapper = new ToscaReferenceMapper();
+        assertThat(this.snapshots.restore(this.csarID, snapshot, mapper), is(false));
+        assertThat(mapper.containsCSARData(this.csarID), is(false));
+
+        // a snapshot with a dangling reference
+        final String dangling = "<Snapshot><Reference id=\"{http://example.org}Dangling\" document=\"0\"/></Snapshot>";
+        Files.write(snapshot.toPath(), dangling.getBytes(StandardCharsets.UTF_8));
+        assertThat(this.snapshots.restore(this.csarID, snapshot, mapper), is(false));
+        assertThat(mapper.containsCSARData(this.csarID), is(false));
+
+        assertResolvedAgain(snapshot);
+    }
+
+    @Test
+    public void testSnapshotOfOtherVersionIsResolvedAgain() throws Exception {
+        final File snapshot = this.snapshots.getSnapshotFile(this.csarID);
+        this.snapshots.store(this.csarID, snapshot, resolve());
+
+        // the resolver version is part of the key, a snapshot of another version has another name
+        final File otherVersion = new File(snapshot.getParentFile(), "0" + snapshot.getName());
+        assertThat(snapshot.renameTo(otherVersion), is(true));
+
+        final ToscaReferenceMapper mapper = new ToscaReferenceMapper();
+        assertThat(this.snapshots.isAvailable(snapshot), is(false));
+        assertThat(this.snapshots.restore(this.csarID, snapshot, mapper), is(false));
+        assertThat(mapper.containsCSARData(this.csarID), is(false));
+
+        assertResolvedAgain(snapshot);
+        // the outdated snapshot is replaced
+        assertThat(otherVersion.exists(), is(false));
+    }
+
+    /**
+     * Resolves the CSAR like the ToscaEngine does after a failed restore and checks that the new
+     * snapshot can be restored.
+     */
+    private void assertResolvedAgain(final File snapshot) throws Exception {
+        final ToscaReferenceMapper resolved = resolve();
+        this.snapshots.store(this.csarID, snapshot, resolved);
+        consolidate(resolved);
+        assertRestoresResolvedData(snapshot, resolved);
+    }
+
+    private void assertRestoresResolvedData(final File snapshot, final ToscaReferenceMapper resolved) throws Exception {
+        final Map<String, List<QName>> plans = getPlanIDsByType(resolved);
+
+        final ToscaReferenceMapper restored = new ToscaReferenceMapper();
+        assertThat(this.snapshots.restore(this.csarID, snapshot, restored), is(true));
+        // the plans by type are shared by all mappers, they have to be consolidated from the restored data
+        restored.getCSARIDToPlans(this.csarID).clear();
+        consolidate(restored);
+
+        assertThat(getPlanIDsByType(restored), is(plans));
+        assertSameData(resolved, restored);
+    }
+
+    private ToscaReferenceMapper resolve() {
+        final ToscaReferenceMapper mapper = new ToscaReferenceMapper();
+        // the resolvers store the data in the global mapper
+        ToscaEngineServiceImpl.toscaReferenceMapper = mapper;
+        assertThat(new DefinitionsResolver().resolveDefinitions(this.csarID), is(true));
+        return mapper;
+    }
+
+    private void consolidate(final ToscaReferenceMapper mapper) {
+        ToscaEngineServiceImpl.toscaReferenceMapper = mapper;
+        assertThat(new DefinitionsConsolidation().consolidateCSAR(this.csarID), is(true));
+    }
+
+    private void assertSameData(final ToscaReferenceMapper expected,
+                                final ToscaReferenceMapper actual) throws Exception {
+        // references and documents
+        assertThat(actual.getReferences(this.csarID).keySet(), is(expected.getReferences(this.csarID).keySet()));
+        for (final Map.Entry<QName, Node> reference : expected.getReferences(this.csarID).entrySet()) {
+            assertThat(toString(actual.getReferences(this.csarID).get(reference.getKey())),
+                       is(toString(reference.getValue())));
+        }
+        assertThat(actual.getDocuments(this.csarID).keySet(), is(expected.getDocuments(this.csarID).keySet()));
+        for (final Map.Entry<QName, Document> document : expected.getDocuments(this.csarID).entrySet()) {
+            assertThat(toString(actual.getDocuments(this.csarID).get(document.getKey())),
+                       is(toString(document.getValue())));
+        }
+        assertThat(toStrings(actual.getListOfWSDLForCSAR(this.csarID)),
+                   is(toStrings(expected.getListOfWSDLForCSAR(this.csarID))));
+
+        // definitions
+        assertThat(actual.getDefinitionIDsOfCSAR(this.csarID), is(expected.getDefinitionIDsOfCSAR(this.csarID)));
+        assertThat(getIDs(actual.getDefinitionsOfCSAR(this.csarID)),
+                   is(getIDs(expected.getDefinitionsOfCSAR(this.csarID))));
+        assertThat(actual.getDefinitionsLocations(this.csarID), is(expected.getDefinitionsLocations(this.csarID)));
+        assertThat(actual.getContainingDefinitionsIDs(this.csarID),
+                   is(expected.getContainingDefinitionsIDs(this.csarID)));
+        assertThat(actual.getServiceTemplateIDsContainedInCSAR(this.csarID),
+                   is(expected.getServiceTemplateIDsContainedInCSAR(this.csarID)));
+        assertThat(actual.getServiceTemplatesAndNodeTemplatesInCSAR(this.csarID),
+                   is(expected.getServiceTemplatesAndNodeTemplatesInCSAR(this.csarID)));
+        assertThat(actual.getServiceTemplate2RelationshipTemplateMap(this.csarID),
+                   is(expected.getServiceTemplate2RelationshipTemplateMap(this.csarID)));
+        assertThat(actual.getServiceTemplateBoundsPropertiesContents(this.csarID),
+                   is(expected.getServiceTemplateBoundsPropertiesContents(this.csarID)));
+
+        // plans
+        final Map<QName, List<QName>> planIDs = expected.getMapCsarIDToServiceTemplateIDToPlanID().get(this.csarID);
+        assertThat(actual.getMapCsarIDToServiceTemplateIDToPlanID().get(this.csarID), is(planIDs));
+        assertThat(actual.getNamespacesOfPlans(this.csarID), is(expected.getNamespacesOfPlans(this.csarID)));
+        if (planIDs != null) {
+            for (final List<QName> planIDsOfServiceTemplate : planIDs.values()) {
+                for (final QName planID : planIDsOfServiceTemplate) {
+                    final TPlan plan = expected.getPlanForCSARIDAndPlanID(this.csarID, planID);
+                    assertThat(actual.getPlanForCSARIDAndPlanID(this.csarID, planID).getId(), is(plan.getId()));
+                    assertThat(actual.getPlanInputMessageID(this.csarID, planID),
+                               is(expected.getPlanInputMessageID(this.csarID, planID)));
+                    assertThat(actual.isPlanAsynchronous(this.csarID, planID),
+                               is(expected.isPlanAsynchronous(this.csarID, planID)));
+                    assertThat(actual.getIntferaceNameOfPlan(this.csarID, planID),
+                               is(expected.getIntferaceNameOfPlan(this.csarID, planID)));
+                    assertThat(actual.getOperationNameOfPlan(this.csarID, planID),
+                               is(expected.getOperationNameOfPlan(this.csarID, planID)));
+                }
+            }
+        }
+
+        // exported interfaces
+        final Map<QName, List<TExportedInterface>> exportedInterfaces =
+            expected.getExportedInterfacesOfCSAR(this.csarID);
+        assertThat(getNames(actual.getExportedInterfacesOfCSAR(this.csarID)), is(getNames(exportedInterfaces)));
+        assertThat(actual.getBoundaryInterfacesOfCSAR(this.csarID),
+                   is(expected.getBoundaryInterfacesOfCSAR(this.csarID)));
+        for (final List<TExportedInterface> ifaces : exportedInterfaces.values()) {
+            for (final TExportedInterface iface : ifaces) {
+                for (final TExportedOperation operation : iface.getOperation()) {
+                    assertThat(actual.getBoundaryPlanOfCSARInterface(this.csarID, iface.getName(),
+                                                                     operation.getName()),
+                               is(expected.getBoundaryPlanOfCSARInterface(this.csarID, iface.getName(),
+                                                                          operation.getName())));
+                }
+            }
+        }
+
+        // consolidated policies of the ServiceTemplates and NodeTemplates
+        final List<QName> serviceTemplateIDs = expected.getServiceTemplateIDsContainedInCSAR(this.csarID);
+        assertThat(serviceTemplateIDs, not(empty()));
+        for (final QName serviceTemplateID : serviceTemplateIDs) {
+            final List<QName> templateIDs = new ArrayList<>();
+            templateIDs.add(serviceTemplateID);
+            final List<String> nodeTemplateIDs =
+                expected.getServiceTemplatesAndNodeTemplatesInCSAR(this.csarID).get(serviceTemplateID);
+            if (nodeTemplateIDs != null) {
+                for (final String nodeTemplateID : nodeTemplateIDs) {
+                    templateIDs.add(new QName(serviceTemplateID.getNamespaceURI(), nodeTemplateID));
+                }
+            }
+            for (final QName templateID : templateIDs) {
+                assertThat(getNames(actual.getPolicies(this.csarID, templateID)),
+                           is(getNames(expected.getPolicies(this.csarID, templateID))));
+            }
+        }
+    }
+
+    private Map<String, List<QName>> getPlanIDsByType(final ToscaReferenceMapper mapper) {
+        final Map<String, List<QName>> planIDs = new LinkedHashMap<>();
+        mapper.getCSARIDToPlans(this.csarID)
+              .forEach((type, plans) -> planIDs.put(String.valueOf(type), new ArrayList<>(plans.keySet())));
+        return planIDs;
+    }
+
+    private static List<QName> getIDs(final List<TDefinitions> definitions) {
+        return definitions.stream().map(d -> new QName(d.getTargetNamespace(), d.getId()))
+                          .collect(Collectors.toList());
+    }
+
+    private static Map<QName, List<String>> getNames(final Map<QName, List<TExportedInterface>> ifaces) {
+        final Map<QName, List<String>> names = new LinkedHashMap<>();
+        ifaces.forEach((id, list) -> names.put(id, list.stream().map(TExportedInterface::getName)
+                                                       .collect(Collectors.toList())));
+        return names;
+    }
+
+    private static List<String> getNames(final Policies policies) {
+        if (policies == null) {
+            return null;
+        }
+        return policies.getPolicy().stream().map(TPolicy::getName).collect(Collectors.toList());
+    }
+
+    private static List<String> toStrings(final List<Document> documents) throws Exception {
+        final List<String> strings = new ArrayList<>();
+        for (final Document document : documents) {
+            strings.add(toString(document));
+        }
+        return strings;
+    }
+
+    private static String toString(final Node node) throws Exception {
+        final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        final StringWriter writer = new StringWriter();
+        transformer.transform(new DOMSource(node), new StreamResult(writer));
+        return writer.toString();
+    }
+}
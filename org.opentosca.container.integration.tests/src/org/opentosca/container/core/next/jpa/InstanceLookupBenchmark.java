@@ -0,0 +1,236 @@
+package org.opentosca.container.core.next.jpa;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.xml.namespace.QName;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the latency of the instance lookups with and without the indexes of the instance data
+ * model while the number of node template instances grows (default: 1k to 1M). The correlation ID
+ * of a plan instance is always indexed by its unique constraint and serves as reference.
+ *
+ * The benchmark runs against a separate H2 database in a temporary directory and is skipped unless
+ * it is enabled with <tt>-Dorg.opentosca.benchmark=true</tt>. The sizes can be changed with
+ * <tt>-Dorg.opentosca.benchmark.sizes=1000,10000</tt>.
+ */
+public class InstanceLookupBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceLookupBenchmark.class);
+
+    private static final String NAMESPACE = "http://opentosca.org/benchmark";
+
+    // every node template is instantiated this many times, every service template instance has
+    // this many node template instances
+    private static final int INSTANCES_PER_TEMPLATE = 10;
+
+    private static final int LOOKUPS = 200;
+
+    private static final List<String> INDEXES =
+        Arrays.asList("CREATE INDEX IF NOT EXISTS IDX_STI_CSAR_ID ON SERVICE_TEMPLATE_INSTANCE (CSAR_ID)",
+                      "CREATE INDEX IF NOT EXISTS IDX_STI_TEMPLATE_ID ON SERVICE_TEMPLATE_INSTANCE (TEMPLATE_ID)",
+                      "CREATE INDEX IF NOT EXISTS IDX_NTI_TEMPLATE_ID ON NODE_TEMPLATE_INSTANCE (TEMPLATE_ID)",
+                      "CREATE INDEX IF NOT EXISTS IDX_NTI_TEMPLATE_TYPE ON NODE_TEMPLATE_INSTANCE (TEMPLATE_TYPE)",
+                      "CREATE INDEX IF NOT EXISTS IDX_PI_TEMPLATE_ID ON PLAN_INSTANCE (TEMPLATE_ID)");
+
+    private final Random random = new Random(42);
+
+    private File directory;
+    private String jdbcUrl;
+    private EntityManagerFactory emf;
+
+
+    @Before
+    public void setUp() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("org.opentosca.benchmark"));
+
+        this.directory = Files.createTempDirectory("opentosca-benchmark").toFile();
+        this.jdbcUrl = "jdbc:h2:file:" + new File(this.directory, "benchmark").getAbsolutePath();
+
+        final Map<String, Object> cfg = new HashMap<>();
+        cfg.put("javax.persistence.jdbc.url", this.jdbcUrl);
+        this.emf = Persistence.createEntityManagerFactory(EntityManagerProvider.PERSISTENCE_UNIT, cfg);
+        this.emf.createEntityManager().close();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (this.emf != null) {
+            this.emf.close();
+        }
+        if (this.directory != null) {
+            FileUtils.deleteQuietly(this.directory);
+        }
+    }
+
+    @Test
+    public void benchmarkLookups() throws Exception {
+        final List<Integer> sizes =
+            Arrays.stream(System.getProperty("org.opentosca.benchmark.sizes", "1000,10000,100000,1000000").split(","))
+                  .map(String::trim).map(Integer::valueOf).sorted().collect(Collectors.toList());
+
+        logger.info(String.format("%10s | %-32s | %12s | %12s", "instances", "lookup", "indexed [us]",
+                                  "no index [us]"));
+        int count = 0;
+        for (final int size : sizes) {
+            insert(count, size);
+            count = size;
+
+            final int nodeTemplates = Math.max(1, size / INSTANCES_PER_TEMPLATE);
+            final int serviceInstances = Math.max(1, size / INSTANCES_PER_TEMPLATE);
+
+            final Map<String, Consumer<EntityManager>> lookups = new HashMap<>();
+            lookups.put("NodeTemplateInstance by template", em -> em
+                .createQuery("SELECT n FROM NodeTemplateInstance n WHERE n.templateId = :templateId",
+                             NodeTemplateInstance.class)
+                .setParameter("templateId", nodeTemplate(this.random.nextInt(nodeTemplates))).getResultList());
+            lookups.put("ServiceTemplateInstance by CSAR", em -> {
+                final int i = this.random.nextInt(serviceInstances);
+                em.createQuery("SELECT s FROM ServiceTemplateInstance s WHERE s.csarId = :csarId AND s.templateId = :templateId",
+                               ServiceTemplateInstance.class)
+                  .setParameter("csarId", csar(i)).setParameter("templateId", serviceTemplate(i)).getResultList();
+            });
+            lookups.put("PlanInstance by correlation ID", em -> em
+                .createQuery("SELECT p FROM PlanInstance p WHERE p.correlationId = :correlationId", PlanInstance.class)
+                .setParameter("correlationId", correlationId(this.random.nextInt(serviceInstances))).getResultList());
+
+            final Map<String, Double> indexed = new HashMap<>();
+            lookups.forEach((name, lookup) -> indexed.put(name, measure(lookup)));
+            executeStatements(INDEXES.stream().map(sql -> "DROP INDEX IF EXISTS " + sql.split(" ")[5])
+                                     .collect(Collectors.toList()));
+            lookups.forEach((name, lookup) -> logger.info(String.format("%10d | %-32s | %12.1f | %12.1f", size, name,
+                                                                        indexed.get(name), measure(lookup))));
+            executeStatements(INDEXES);
+        }
+    }
+
+    private double measure(final Consumer<EntityManager> lookup) {
+        final EntityManager em = this.emf.createEntityManager();
+        try {
+            // warm up the statement cache
+            for (int i = 0; i < 10; i++) {
+                lookup.accept(em);
+                em.clear();
+            }
+            final long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                lookup.accept(em);
+                em.clear();
+            }
+            return (System.nanoTime() - start) / 1000.0 / LOOKUPS;
+        }
+        finally {
+            em.close();
+        }
+    }
+
+    /*
+     * The instances are inserted with JDBC, persisting a million entities with JPA takes too long.
+     */
+    private void insert(final int from, final int to) throws SQLException {
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            final Timestamp now = new Timestamp(System.currentTimeMillis());
+            try (
+                PreparedStatement service =
+                    connection.prepareStatement("INSERT INTO SERVICE_TEMPLATE_INSTANCE (ID, CREATED_AT, STATE, CSAR_ID, TEMPLATE_ID) VALUES (?, ?, 'CREATED', ?, ?)");
+                PreparedStatement plan =
+                    connection.prepareStatement("INSERT INTO PLAN_INSTANCE (ID, CREATED_AT, CORRELATIONID, STATE, TYPE, LANGUAGE, SERVICE_TEMPLATE_INSTANCE_ID, TEMPLATE_ID) VALUES (?, ?, ?, 'FINISHED', 'BUILD', 'BPEL', ?, ?)");
+                PreparedStatement node =
+                    connection.prepareStatement("INSERT INTO NODE_TEMPLATE_INSTANCE (ID, CREATED_AT, STATE, SERVICE_TEMPLATE_INSTANCE_ID, TEMPLATE_ID, TEMPLATE_TYPE) VALUES (?, ?, 'STARTED', ?, ?, ?)")) {
+
+                for (int i = from; i < to; i++) {
+                    final int serviceInstance = i / INSTANCES_PER_TEMPLATE;
+                    if (i % INSTANCES_PER_TEMPLATE == 0) {
+                        service.setLong(1, serviceInstance);
+                        service.setTimestamp(2, now);
+                        service.setString(3, csar(serviceInstance).toString());
+                        service.setString(4, serviceTemplate(serviceInstance).toString());
+                        service.addBatch();
+
+                        plan.setLong(1, serviceInstance);
+                        plan.setTimestamp(2, now);
+                        plan.setString(3, correlationId(serviceInstance));
+                        plan.setLong(4, serviceInstance);
+                        plan.setString(5, new QName(NAMESPACE, "buildPlan").toString());
+                        plan.addBatch();
+                    }
+
+                    node.setLong(1, i);
+                    node.setTimestamp(2, now);
+                    node.setLong(3, serviceInstance);
+                    node.setString(4, nodeTemplate(i % Math.max(1, to / INSTANCES_PER_TEMPLATE)).toString());
+                    node.setString(5, new QName(NAMESPACE, "Type" + i % 100).toString());
+                    node.addBatch();
+
+                    if (i % 10000 == 0) {
+                        service.executeBatch();
+                        plan.executeBatch();
+                        node.executeBatch();
+                        connection.commit();
+                    }
+                }
+                service.executeBatch();
+                plan.executeBatch();
+                node.executeBatch();
+                connection.commit();
+            }
+        }
+    }
+
+    private void executeStatements(final List<String> statements) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (final String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return new org.h2.Driver().connect(this.jdbcUrl, new Properties());
+    }
+
+    private static CSARID csar(final int i) {
+        return new CSARID("Application" + i + ".csar");
+    }
+
+    private static QName serviceTemplate(final int i) {
+        return new QName(NAMESPACE, "ServiceTemplate" + i);
+    }
+
+    private static QName nodeTemplate(final int i) {
+        return new QName(NAMESPACE, "NodeTemplate" + i);
+    }
+
+    private static String correlationId(final int i) {
+        return "correlation-" + i;
+    }
+}
@@ -177,4 +177,62 @@ public class PropertyParserTest {
         assertThat(properties.get("TestMethod"), is("GET"));
         assertThat(properties.get("testMethod"), is(nullValue()));
     }
+
+    @Test
+    public void testParseCDATAProperties() {
+        final String xml = "<Properties xmlns=\"http://opentosca.org/nodetypes/properties\">\r\n"
+                + "  <Script><![CDATA[echo \"a < b\" && exit 0]]></Script>\r\n"
+                + "  <Mixed>before <![CDATA[<inside>]]> after</Mixed>\r\n" + "</Properties>";
+        final PropertyParser parser = new PropertyParser();
+        final Map<String, String> properties = parser.parse(xml);
+        assertThat(properties.size(), is(2));
+        assertThat(properties.get("Script"), is("echo \"a < b\" && exit 0"));
+        // text and CDATA sections are coalesced into one value
+        assertThat(properties.get("Mixed"), is("before <inside> after"));
+    }
+
+    @Test
+    public void testParseCDATAServiceTemplateProperties() {
+        final String xml =
+                "<ns0:selfserviceApplicationUrl xmlns:ns0=\"http://www.eclipse.org/winery/model/selfservice\"><![CDATA[http://dind:9990]]></ns0:selfserviceApplicationUrl>";
+        final PropertyParser parser = new PropertyParser();
+        final Map<String, String> properties = parser.parse(xml);
+        assertThat(properties.size(), is(1));
+        assertThat(properties.get("selfserviceApplicationUrl"), is("http://dind:9990"));
+    }
+
+    @Test
+    public void testParseEntityProperties() {
+        final String xml = "<Properties xmlns=\"http://opentosca.org/nodetypes/properties\">\r\n"
+                + "  <URL>http://dind:9990/?a=1&amp;b=&lt;2&gt;</URL>\r\n"
+                + "  <Quote>&quot;&apos;&#65;&#x42;</Quote>\r\n" + "</Properties>";
+        final PropertyParser parser = new PropertyParser();
+        final Map<String, String> properties = parser.parse(xml);
+        assertThat(properties.size(), is(2));
+        assertThat(properties.get("URL"), is("http://dind:9990/?a=1&b=<2>"));
+        assertThat(properties.get("Quote"), is("\"'AB"));
+    }
+
+    @Test
+    public void testParseWhitespaceOnlyProperties() {
+        final String xml = "<Properties xmlns=\"http://opentosca.org/nodetypes/properties\">\r\n"
+                + "  <Blank>   \r\n   </Blank>\r\n" + "  <BlankCDATA><![CDATA[  ]]></BlankCDATA>\r\n"
+                + "  <Padded>  value  </Padded>\r\n" + "</Properties>";
+        final PropertyParser parser = new PropertyParser();
+        final Map<String, String> properties = parser.parse(xml);
+        assertThat(properties.size(), is(3));
+        assertThat(properties.containsKey("Blank"), is(true));
+        assertThat(properties.get("Blank"), is(nullValue()));
+        assertThat(properties.get("BlankCDATA"), is(nullValue()));
+        assertThat(properties.get("Padded"), is("value"));
+    }
+
+    @Test
+    public void testParseWhitespaceOnlyServiceTemplateProperties() {
+        final String xml =
+                "<ns0:selfserviceApplicationUrl xmlns:ns0=\"http://www.eclipse.org/winery/model/selfservice\">  \r\n  </ns0:selfserviceApplicationUrl>";
+        final PropertyParser parser = new PropertyParser();
+        final Map<String, String> properties = parser.parse(xml);
+        assertThat(properties.size(), is(0));
+    }
 }
@@ -14,7 +14,7 @@ import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanInstanceState;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.repository.DeploymentTestRepository;
-import org.opentosca.container.core.next.repository.PlanInstanceRepository;
+import org.opentosca.container.core.next.repository.PlanInstanceChangeNotifier;
 import org.opentosca.planbuilder.importer.Importer;
 import org.opentosca.planbuilder.model.tosca.AbstractDefinitions;
 import org.opentosca.planbuilder.model.tosca.AbstractServiceTemplate;
@@ -42,33 +42,21 @@ public class DeploymentTestService {
         logger.info("Trigger deployment test after plan has been finished; correlation_id={}, csar={}", correlationId,
                     csarId);
         this.pool.submit(() -> {
-            final long sleep = 1000;
-            final long timeout = TimeUnit.MINUTES.toMillis(45);
-            long waited = 0;
-            while (true) {
-                PlanInstance pi = null;
-                boolean finished = false;
-                try {
-                    pi = new PlanInstanceRepository().findByCorrelationId(correlationId);
-                    finished = pi.getState().equals(PlanInstanceState.FINISHED);
-                }
-                catch (final Exception e) {
-                    finished = false;
-                }
-                if (finished) {
-                    run(csarId, pi.getServiceTemplateInstance());
-                    break;
-                }
-                if (waited >= timeout) {
-                    logger.warn("Timeout reached, deployment test has not been executed");
-                    break;
-                }
-                try {
-                    Thread.sleep(sleep);
-                }
-                catch (final InterruptedException e) {
-                }
-                waited += sleep;
+            final PlanInstance pi;
+            try {
+                pi = PlanInstanceChangeNotifier.awaitTermination(correlationId, TimeUnit.MINUTES.toMillis(45));
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (pi == null) {
+                logger.warn("Timeout reached, deployment test has not been executed");
+            } else if (pi.getState().equals(PlanInstanceState.FINISHED)) {
+                run(csarId, pi.getServiceTemplateInstance());
+            } else {
+                logger.info("Plan has failed, deployment test has not been executed; correlation_id={}",
+                            correlationId);
             }
         });
     }
@@ -8,9 +8,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -21,6 +21,7 @@ import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
 import org.opentosca.planbuilder.model.plan.bpel.BPELPlan.VariableType;
 import org.opentosca.planbuilder.model.tosca.AbstractNodeTemplate;
 import org.opentosca.planbuilder.model.tosca.AbstractPolicy;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,8 +40,11 @@ public class BPELProcessFragments {
 
     private final static Logger LOG = LoggerFactory.getLogger(BPELProcessFragments.class);
 
+    // the fragments are bundle resources and never change at runtime
+    private final static Map<String, String> FRAGMENT_CACHE = new ConcurrentHashMap<>();
+
     private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
+    private final ThreadLocalDocumentBuilder docBuilder;
 
     /**
      * Constructor
@@ -50,13 +54,18 @@ public class BPELProcessFragments {
     public BPELProcessFragments() throws ParserConfigurationException {
         this.docFactory = DocumentBuilderFactory.newInstance();
         this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        this.docBuilder = new ThreadLocalDocumentBuilder();
     }
 
     private String loadFragmentResourceAsString(final String fileName) throws IOException {
+        final String cached = FRAGMENT_CACHE.get(fileName);
+        if (cached != null) {
+            return cached;
+        }
         final URL url = FrameworkUtil.getBundle(this.getClass()).getResource(fileName);
         final File bpelfragmentfile = new File(FileLocator.toFileURL(url).getPath());
         String template = FileUtils.readFileToString(bpelfragmentfile);
+        FRAGMENT_CACHE.putIfAbsent(fileName, template);
         return template;
     }
 
@@ -10,13 +10,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.opentosca.planbuilder.model.plan.AbstractPlan.Link;
 import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
 import org.opentosca.planbuilder.model.plan.bpel.BPELScope;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -42,7 +42,7 @@ public class BPELFinalizer {
 
     private final static Logger LOG = LoggerFactory.getLogger(BPELFinalizer.class);
     private DocumentBuilderFactory docFactory;
-    private DocumentBuilder docBuilder;
+    private ThreadLocalDocumentBuilder docBuilder;
     private BPELPlanHandler buildPlanHandler;
 
     private BPELScopeHandler scopeHandler;
@@ -51,7 +51,7 @@ public class BPELFinalizer {
         try {
             this.docFactory = DocumentBuilderFactory.newInstance();
             this.docFactory.setNamespaceAware(true);
-            this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            this.docBuilder = new ThreadLocalDocumentBuilder();
             this.buildPlanHandler = new BPELPlanHandler();
             this.scopeHandler = new BPELScopeHandler();
         }
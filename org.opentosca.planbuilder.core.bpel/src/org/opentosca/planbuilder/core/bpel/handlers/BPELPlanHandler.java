@@ -11,8 +11,6 @@ import java.util.Map;
 
 import javax.xml.crypto.dom.DOMURIReference;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.ode.schemas.dd._2007._03.ObjectFactory;
@@ -35,6 +33,7 @@ import org.opentosca.planbuilder.model.plan.bpel.GenericWsdlWrapper;
 import org.opentosca.planbuilder.model.utils.ModelUtils;
 import org.opentosca.planbuilder.plugins.context.PropertyVariable;
 import org.opentosca.planbuilder.plugins.context.Variable;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.CDATASection;
@@ -61,8 +60,7 @@ public class BPELPlanHandler {
 
     private final static Logger LOG = LoggerFactory.getLogger(BPELPlanHandler.class);
 
-    private final DocumentBuilderFactory documentBuilderFactory;
-    private final DocumentBuilder documentBuilder;
+    private final ThreadLocalDocumentBuilder documentBuilder;
 
     private final ObjectFactory ddFactory;
 
@@ -75,9 +73,7 @@ public class BPELPlanHandler {
      *         initialized
      */
     public BPELPlanHandler() throws ParserConfigurationException {
-        this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        this.documentBuilderFactory.setNamespaceAware(true);
-        this.documentBuilder = this.documentBuilderFactory.newDocumentBuilder();
+        this.documentBuilder = new ThreadLocalDocumentBuilder(true);
         this.bpelScopeHandler = new BPELScopeHandler();
         this.ddFactory = new ObjectFactory();
     }
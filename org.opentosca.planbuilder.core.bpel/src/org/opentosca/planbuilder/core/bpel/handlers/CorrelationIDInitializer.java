@@ -3,11 +3,11 @@ package org.opentosca.planbuilder.core.bpel.handlers;
 import java.io.IOException;
 import java.io.StringReader;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -18,14 +18,14 @@ public class CorrelationIDInitializer {
 
     private BPELPlanHandler buildPlanHandler;
     private DocumentBuilderFactory docFactory;
-    private DocumentBuilder docBuilder;
+    private ThreadLocalDocumentBuilder docBuilder;
 
     public CorrelationIDInitializer() {
         try {
             this.buildPlanHandler = new BPELPlanHandler();
             this.docFactory = DocumentBuilderFactory.newInstance();
             this.docFactory.setNamespaceAware(true);
-            this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            this.docBuilder = new ThreadLocalDocumentBuilder();
         }
         catch (final ParserConfigurationException e) {
             e.printStackTrace();
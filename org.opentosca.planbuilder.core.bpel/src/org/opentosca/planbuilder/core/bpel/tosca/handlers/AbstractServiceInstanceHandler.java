@@ -4,13 +4,13 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.opentosca.planbuilder.core.bpel.fragments.BPELProcessFragments;
 import org.opentosca.planbuilder.core.bpel.handlers.BPELPlanHandler;
 import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
@@ -29,14 +29,14 @@ public abstract class AbstractServiceInstanceHandler {
     protected final BPELPlanHandler bpelProcessHandler;
 
     protected final DocumentBuilderFactory docFactory;
-    protected final DocumentBuilder docBuilder;
+    protected final ThreadLocalDocumentBuilder docBuilder;
 
     public AbstractServiceInstanceHandler() throws ParserConfigurationException {
         this.bpelProcessHandler = new BPELPlanHandler();
         this.fragments = new BPELProcessFragments();
         this.docFactory = DocumentBuilderFactory.newInstance();
         this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        this.docBuilder = new ThreadLocalDocumentBuilder();
     }
 
     public String getLowestId(Collection<String> ids, String keyword) {
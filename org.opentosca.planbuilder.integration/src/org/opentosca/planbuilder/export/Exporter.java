@@ -66,6 +66,8 @@ public class Exporter extends AbstractExporter {
 
     private final static Logger LOG = LoggerFactory.getLogger(Exporter.class);
 
+    private static final String SELFSERVICE_DIR = "SELFSERVICE-Metadata";
+
     private final SimpleFileExporter simpleExporter;
 
     private final ObjectFactory toscaFactory;
@@ -106,13 +108,7 @@ public class Exporter extends AbstractExporter {
 
     public File exportBPELToCSAR(final List<BPELPlan> plans, final CSARID csarId) {
 
-        CSARContent csarContent = null;
-        try {
-            csarContent = this.handler.getCSARContentForID(csarId);
-        }
-        catch (final UserException e1) {
-            Exporter.LOG.error("Error occured while trying to retrieve CSAR content", e1);
-        }
+        final CSARContent csarContent = getCSARContent(csarId);
 
         if (csarContent == null) {
             return null;
@@ -130,79 +126,6 @@ public class Exporter extends AbstractExporter {
             final Set<AbstractFile> files = csarContent.getFilesRecursively();
             final AbstractFile mainDefFile = csarContent.getRootTOSCA();
             final File rootDefFile = mainDefFile.getFile().toFile();
-            final Definitions defs = parseDefinitionsFile(rootDefFile);
-            final List<TServiceTemplate> servTemps = getServiceTemplates(defs);
-
-            final List<BPELPlan> plansToExport = new ArrayList<>();
-
-            // add plans element to servicetemplates
-            for (final TServiceTemplate serviceTemplate : servTemps) {
-                TPlans toscaPlansElement = serviceTemplate.getPlans();
-                if (toscaPlansElement == null) {
-                    toscaPlansElement = this.toscaFactory.createTPlans();
-                    serviceTemplate.setPlans(toscaPlansElement);
-                }
-                final List<TPlan> planList = toscaPlansElement.getPlan();
-
-                // add the plan as an operation to the boundary
-                // definitions
-                TBoundaryDefinitions boundary = serviceTemplate.getBoundaryDefinitions();
-                if (boundary == null) {
-                    boundary = this.toscaFactory.createTBoundaryDefinitions();
-                    serviceTemplate.setBoundaryDefinitions(boundary);
-                }
-
-                org.oasis_open.docs.tosca.ns._2011._12.TBoundaryDefinitions.Interfaces ifaces =
-                    boundary.getInterfaces();
-
-                if (ifaces == null) {
-                    ifaces = this.toscaFactory.createTBoundaryDefinitionsInterfaces();
-                    boundary.setInterfaces(ifaces);
-                }
-
-                for (final BPELPlan plan : plans) {
-                    if (plan.getServiceTemplate().getQName().equals(buildQName(defs, serviceTemplate))) {
-
-                        final TPlan generatedPlanElement = generateTPlanElement(plan);
-                        planList.add(generatedPlanElement);
-                        plansToExport.add(plan);
-
-
-                        TExportedInterface exportedIface = null;
-
-                        // find already set openTOSCA lifecycle interface
-                        for (final TExportedInterface exIface : ifaces.getInterface()) {
-
-                            if (exIface.getName() != null && exIface.getName().equals(plan.getTOSCAInterfaceName())) {
-                                exportedIface = exIface;
-                            }
-                        }
-
-                        if (exportedIface == null) {
-                            exportedIface = this.toscaFactory.createTExportedInterface();
-                            exportedIface.setName(plan.getTOSCAInterfaceName());
-                            ifaces.getInterface().add(exportedIface);
-                        }
-
-                        boolean alreadySpecified = false;
-                        for (final TExportedOperation op : exportedIface.getOperation()) {
-                            if (op.getName().equals(plan.getTOSCAOperationName())) {
-                                alreadySpecified = true;
-                            }
-                        }
-
-                        if (!alreadySpecified) {
-                            final TExportedOperation newOp = this.toscaFactory.createTExportedOperation();
-                            newOp.setName(plan.getTOSCAOperationName());
-                            final org.oasis_open.docs.tosca.ns._2011._12.TExportedOperation.Plan newPlanRefElement =
-                                this.toscaFactory.createTExportedOperationPlan();
-                            newPlanRefElement.setPlanRef(generatedPlanElement);
-                            newOp.setPlan(newPlanRefElement);
-                            exportedIface.getOperation().add(newOp);
-                        }
-                    }
-                }
-            }
 
             for (final AbstractFile file : files) {
                 if (file.getFile().toFile().toString().equals(rootDefFile.toString())) {
@@ -221,141 +144,278 @@ public class Exporter extends AbstractExporter {
 
             }
 
-            // write new defs file
-            final File newDefsFile = new File(tempDir, mainDefFile.getPath());
-            newDefsFile.createNewFile();
+            writeChangedFiles(plans, csarContent, csarName, tempDir);
+        }
+        catch (final IOException e) {
+            Exporter.LOG.error("Some IO Exception occured", e);
+        }
+        catch (final JAXBException e) {
+            Exporter.LOG.error("Some error while marshalling with JAXB", e);
+        }
+        catch (final SystemException e) {
+            Exporter.LOG.error("Some error in the openTOSCA Core", e);
+        }
+        service.zip(tempDir, repackagedCsar);
+        Exporter.LOG.debug(repackagedCsar.toString());
+        return repackagedCsar;
+    }
 
-            final JAXBContext jaxbContext = JAXBContext.newInstance(Definitions.class);
+    /**
+     * Writes only the files of the given CSAR which change by adding the given plans to a new temporary
+     * directory: the Definitions document containing the service templates, the plan archives and the
+     * self-service metadata. The directory is structured like the CSAR, so its content can be stored
+     * directly into the already stored CSAR instead of repackaging the whole CSAR.
+     *
+     * @param plans the plans to add to the CSAR
+     * @param csarId the id of the CSAR the plans were generated for
+     * @return a directory containing the changed files, or null if an error occurred
+     */
+    public File exportToCSARDirectory(final List<AbstractPlan> plans, final CSARID csarId) {
+        final List<BPELPlan> bpelPlans = new ArrayList<>();
+
+        for (final AbstractPlan plan : plans) {
+            if (plan instanceof BPELPlan) {
+                bpelPlans.add((BPELPlan) plan);
+            }
+        }
 
-            final Marshaller m = jaxbContext.createMarshaller();
+        final CSARContent csarContent = getCSARContent(csarId);
 
-            final FileWriter writer = new FileWriter(newDefsFile);
+        if (csarContent == null) {
+            return null;
+        }
 
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            // output to the console: m.marshal(defs, System.out);
-            try {
-                m.marshal(defs, writer);
+        final File changedFilesDir = getFileAccessService().getTemp();
+
+        try {
+            writeChangedFiles(bpelPlans, csarContent, csarId.getFileName(), changedFilesDir);
+            return changedFilesDir;
+        }
+        catch (final IOException e) {
+            Exporter.LOG.error("Some IO Exception occured", e);
+        }
+        catch (final JAXBException e) {
+            Exporter.LOG.error("Some error while marshalling with JAXB", e);
+        }
+        catch (final SystemException e) {
+            Exporter.LOG.error("Some error in the openTOSCA Core", e);
+        }
+        FileUtils.deleteQuietly(changedFilesDir);
+        return null;
+    }
+
+    private CSARContent getCSARContent(final CSARID csarId) {
+        try {
+            return this.handler.getCSARContentForID(csarId);
+        }
+        catch (final UserException e) {
+            Exporter.LOG.error("Error occured while trying to retrieve CSAR content", e);
+        }
+        return null;
+    }
+
+    /**
+     * Adds the given plans to the Definitions document of the CSAR and writes the files changed by this
+     * to the given directory, which is structured like the CSAR.
+     */
+    private void writeChangedFiles(final List<BPELPlan> plans, final CSARContent csarContent, final String csarName,
+                                   final File targetDir) throws IOException, JAXBException, SystemException {
+
+        final AbstractFile mainDefFile = csarContent.getRootTOSCA();
+        final File rootDefFile = mainDefFile.getFile().toFile();
+        final Definitions defs = parseDefinitionsFile(rootDefFile);
+        final List<TServiceTemplate> servTemps = getServiceTemplates(defs);
+
+        final List<BPELPlan> plansToExport = new ArrayList<>();
+
+        // add plans element to servicetemplates
+        for (final TServiceTemplate serviceTemplate : servTemps) {
+            TPlans toscaPlansElement = serviceTemplate.getPlans();
+            if (toscaPlansElement == null) {
+                toscaPlansElement = this.toscaFactory.createTPlans();
+                serviceTemplate.setPlans(toscaPlansElement);
             }
-            catch (final FactoryConfigurationError e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
+            final List<TPlan> planList = toscaPlansElement.getPlan();
+
+            // add the plan as an operation to the boundary
+            // definitions
+            TBoundaryDefinitions boundary = serviceTemplate.getBoundaryDefinitions();
+            if (boundary == null) {
+                boundary = this.toscaFactory.createTBoundaryDefinitions();
+                serviceTemplate.setBoundaryDefinitions(boundary);
             }
 
-            // write plans
-            for (final BPELPlan plan : plansToExport) {
-                final File planPath = new File(tempDir, generateRelativePlanPath(plan));
-                Exporter.LOG.debug(planPath.toString());
-                planPath.getParentFile().mkdirs();
-                planPath.createNewFile();
-                this.simpleExporter.export(planPath.toURI(), plan);
+            org.oasis_open.docs.tosca.ns._2011._12.TBoundaryDefinitions.Interfaces ifaces =
+                boundary.getInterfaces();
+
+            if (ifaces == null) {
+                ifaces = this.toscaFactory.createTBoundaryDefinitionsInterfaces();
+                boundary.setInterfaces(ifaces);
             }
 
-            // Check if selfservice is already available
-            final File selfServiceDir = new File(tempDir, "SELFSERVICE-Metadata");
-            final File selfServiceDataXml = new File(selfServiceDir, "data.xml");
-            final JAXBContext jaxbContextWineryApplication = JAXBContext.newInstance(Application.class);
-
-            if (selfServiceDir.exists() && selfServiceDataXml.exists()) {
-                final Unmarshaller u = jaxbContextWineryApplication.createUnmarshaller();
-                final Application appDesc = (Application) u.unmarshal(selfServiceDataXml);
-
-                if (appDesc.getOptions() != null) {
-                    // check if planInput etc. is set properly
-                    final List<BPELPlan> exportedPlans = new ArrayList<>();
-                    for (final ApplicationOption option : appDesc.getOptions().getOption()) {
-                        for (final BPELPlan plan : plansToExport) {
-                            if (option.getPlanServiceName()
-                                      .equals(getBuildPlanServiceName(plan.getDeploymentDeskriptor()).getLocalPart())) {
-                                if (!new File(selfServiceDir, option.getPlanInputMessageUrl()).exists()) {
-                                    // the planinput file is defined in the xml,
-                                    // but
-                                    // no file exists in the csar -> write one
-                                    final File planInputFile =
-                                        new File(selfServiceDir, option.getPlanInputMessageUrl());
-                                    writePlanInputMessageInstance(plan, planInputFile);
-                                    exportedPlans.add(plan);
-                                }
-                            }
+            for (final BPELPlan plan : plans) {
+                if (plan.getServiceTemplate().getQName().equals(buildQName(defs, serviceTemplate))) {
+
+                    final TPlan generatedPlanElement = generateTPlanElement(plan);
+                    planList.add(generatedPlanElement);
+                    plansToExport.add(plan);
+
+
+                    TExportedInterface exportedIface = null;
+
+                    // find already set openTOSCA lifecycle interface
+                    for (final TExportedInterface exIface : ifaces.getInterface()) {
+
+                        if (exIface.getName() != null && exIface.getName().equals(plan.getTOSCAInterfaceName())) {
+                            exportedIface = exIface;
                         }
                     }
 
-                    if (exportedPlans.size() != plansToExport.size()) {
+                    if (exportedIface == null) {
+                        exportedIface = this.toscaFactory.createTExportedInterface();
+                        exportedIface.setName(plan.getTOSCAInterfaceName());
+                        ifaces.getInterface().add(exportedIface);
+                    }
 
-                        int optionCounter = 1 + appDesc.getOptions().getOption().size();
-                        for (final BPELPlan plan : plansToExport) {
-                            if (exportedPlans.contains(plan)) {
-                                continue;
-                            }
+                    boolean alreadySpecified = false;
+                    for (final TExportedOperation op : exportedIface.getOperation()) {
+                        if (op.getName().equals(plan.getTOSCAOperationName())) {
+                            alreadySpecified = true;
+                        }
+                    }
 
-                            final ApplicationOption option = createApplicationOption(plan, optionCounter);
-                            writePlanInputMessageInstance(plan, new File(selfServiceDir,
-                                "plan.input.default." + optionCounter + ".xml"));
+                    if (!alreadySpecified) {
+                        final TExportedOperation newOp = this.toscaFactory.createTExportedOperation();
+                        newOp.setName(plan.getTOSCAOperationName());
+                        final org.oasis_open.docs.tosca.ns._2011._12.TExportedOperation.Plan newPlanRefElement =
+                            this.toscaFactory.createTExportedOperationPlan();
+                        newPlanRefElement.setPlanRef(generatedPlanElement);
+                        newOp.setPlan(newPlanRefElement);
+                        exportedIface.getOperation().add(newOp);
+                    }
+                }
+            }
+        }
 
-                            appDesc.getOptions().getOption().add(option);
-                            optionCounter++;
-                        }
+        // write new defs file
+        final File newDefsFile = new File(targetDir, mainDefFile.getPath());
+        newDefsFile.getParentFile().mkdirs();
+
+        final JAXBContext jaxbContext = JAXBContext.newInstance(Definitions.class);
+
+        final Marshaller m = jaxbContext.createMarshaller();
+
+        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        try (FileWriter writer = new FileWriter(newDefsFile)) {
+            m.marshal(defs, writer);
+        }
+        catch (final FactoryConfigurationError e) {
+            Exporter.LOG.error("Error while writing the Definitions file", e);
+        }
+
+        // write plans
+        for (final BPELPlan plan : plansToExport) {
+            final File planPath = new File(targetDir, generateRelativePlanPath(plan));
+            Exporter.LOG.debug(planPath.toString());
+            planPath.getParentFile().mkdirs();
+            planPath.createNewFile();
+            this.simpleExporter.export(planPath.toURI(), plan);
+        }
+
+        // Check if selfservice is already available
+        final File selfServiceDir = new File(targetDir, SELFSERVICE_DIR);
+        final File selfServiceDataXml = new File(selfServiceDir, "data.xml");
+        final AbstractFile storedDataXml = csarContent.getFile(SELFSERVICE_DIR + "/data.xml");
+        final JAXBContext jaxbContextWineryApplication = JAXBContext.newInstance(Application.class);
+
+        if (storedDataXml != null) {
+            final Unmarshaller u = jaxbContextWineryApplication.createUnmarshaller();
+            final Application appDesc = (Application) u.unmarshal(storedDataXml.getFile().toFile());
 
-                        final Marshaller wineryAppMarshaller = jaxbContextWineryApplication.createMarshaller();
-                        wineryAppMarshaller.marshal(appDesc, selfServiceDataXml);
+            if (appDesc.getOptions() != null) {
+                // check if planInput etc. is set properly
+                final List<BPELPlan> exportedPlans = new ArrayList<>();
+                for (final ApplicationOption option : appDesc.getOptions().getOption()) {
+                    for (final BPELPlan plan : plansToExport) {
+                        if (option.getPlanServiceName()
+                                  .equals(getBuildPlanServiceName(plan.getDeploymentDeskriptor()).getLocalPart())) {
+                            if (csarContent.getFile(SELFSERVICE_DIR + "/" + option.getPlanInputMessageUrl()) == null) {
+                                // the planinput file is defined in the xml,
+                                // but
+                                // no file exists in the csar -> write one
+                                final File planInputFile = new File(selfServiceDir, option.getPlanInputMessageUrl());
+                                writePlanInputMessageInstance(plan, planInputFile);
+                                exportedPlans.add(plan);
+                            }
+                        }
                     }
+                }
 
-                } else {
-                    int optionCounter = 1;
-                    final Application.Options options = new Application.Options();
+                if (exportedPlans.size() != plansToExport.size()) {
 
+                    int optionCounter = 1 + appDesc.getOptions().getOption().size();
                     for (final BPELPlan plan : plansToExport) {
+                        if (exportedPlans.contains(plan)) {
+                            continue;
+                        }
+
                         final ApplicationOption option = createApplicationOption(plan, optionCounter);
-                        writePlanInputMessageInstance(plan, new File(selfServiceDir,
-                            "plan.input.default." + optionCounter + ".xml"));
+                        writePlanInputMessageInstance(plan,
+                                                      new File(selfServiceDir,
+                                                          "plan.input.default." + optionCounter + ".xml"));
+
+                        appDesc.getOptions().getOption().add(option);
                         optionCounter++;
-                        options.getOption().add(option);
                     }
-                    appDesc.setOptions(options);
 
+                    selfServiceDir.mkdirs();
                     final Marshaller wineryAppMarshaller = jaxbContextWineryApplication.createMarshaller();
                     wineryAppMarshaller.marshal(appDesc, selfServiceDataXml);
                 }
 
             } else {
-                // write SELFSERVICE-Metadata folder and files
-                if (selfServiceDir.mkdirs() && selfServiceDataXml.createNewFile()) {
-                    final Application appDesc = new Application();
+                int optionCounter = 1;
+                final Application.Options options = new Application.Options();
+
+                for (final BPELPlan plan : plansToExport) {
+                    final ApplicationOption option = createApplicationOption(plan, optionCounter);
+                    writePlanInputMessageInstance(plan, new File(selfServiceDir,
+                        "plan.input.default." + optionCounter + ".xml"));
+                    optionCounter++;
+                    options.getOption().add(option);
+                }
+                appDesc.setOptions(options);
 
-                    appDesc.setDisplayName(csarName);
-                    appDesc.setDescription("No description available. This application was partially generated");
-                    appDesc.setIconUrl("");
-                    appDesc.setImageUrl("");
+                selfServiceDir.mkdirs();
+                final Marshaller wineryAppMarshaller = jaxbContextWineryApplication.createMarshaller();
+                wineryAppMarshaller.marshal(appDesc, selfServiceDataXml);
+            }
 
-                    int optionCounter = 1;
-                    final Application.Options options = new Application.Options();
+        } else {
+            // write SELFSERVICE-Metadata folder and files
+            selfServiceDir.mkdirs();
+            final Application appDesc = new Application();
 
-                    for (final BPELPlan plan : plansToExport) {
-                        final ApplicationOption option = createApplicationOption(plan, optionCounter);
-                        writePlanInputMessageInstance(plan, new File(selfServiceDir,
-                            "plan.input.default." + optionCounter + ".xml"));
-                        optionCounter++;
-                        options.getOption().add(option);
-                    }
-                    appDesc.setOptions(options);
+            appDesc.setDisplayName(csarName);
+            appDesc.setDescription("No description available. This application was partially generated");
+            appDesc.setIconUrl("");
+            appDesc.setImageUrl("");
 
-                    final Marshaller wineryAppMarshaller = jaxbContextWineryApplication.createMarshaller();
-                    wineryAppMarshaller.marshal(appDesc, selfServiceDataXml);
-                }
+            int optionCounter = 1;
+            final Application.Options options = new Application.Options();
+
+            for (final BPELPlan plan : plansToExport) {
+                final ApplicationOption option = createApplicationOption(plan, optionCounter);
+                writePlanInputMessageInstance(plan,
+                                              new File(selfServiceDir, "plan.input.default." + optionCounter + ".xml"));
+                optionCounter++;
+                options.getOption().add(option);
             }
+            appDesc.setOptions(options);
 
+            final Marshaller wineryAppMarshaller = jaxbContextWineryApplication.createMarshaller();
+            wineryAppMarshaller.marshal(appDesc, selfServiceDataXml);
         }
-        catch (final IOException e) {
-            Exporter.LOG.error("Some IO Exception occured", e);
-        }
-        catch (final JAXBException e) {
-            Exporter.LOG.error("Some error while marshalling with JAXB", e);
-        }
-        catch (final SystemException e) {
-            Exporter.LOG.error("Some error in the openTOSCA Core", e);
-        }
-        service.zip(tempDir, repackagedCsar);
-        Exporter.LOG.debug(repackagedCsar.toString());
-        return repackagedCsar;
     }
 
     private ApplicationOption createApplicationOption(final BPELPlan plan, final int optionCounter) {
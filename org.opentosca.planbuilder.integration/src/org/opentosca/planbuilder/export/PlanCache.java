@@ -0,0 +1,221 @@
+package org.opentosca.planbuilder.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.model.AbstractFile;
+import org.opentosca.container.core.model.csar.CSARContent;
+import org.opentosca.container.core.next.utils.Consts;
+import org.opentosca.planbuilder.core.bpel.typebasedplanbuilder.BPELBuildProcessBuilder;
+import org.opentosca.planbuilder.plugins.registry.PluginRegistry;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Persistent cache of generated plans. An entry holds the files written by
+ * {@link Exporter#exportToCSARDirectory(List, org.opentosca.container.core.model.csar.id.CSARID)}
+ * for a CSAR and is keyed by a digest of the CSAR's model files and the versions of the PlanBuilder
+ * and its plugins, so uploading the same CSAR again doesn't run the plan builders again.
+ * </p>
+ * The content of model files (Definitions, TOSCA meta file, self-service metadata, XML schemas and
+ * WSDLs) is part of the digest, of all other files like artifacts only the path, because the plans
+ * reference but don't contain them. An entry without files records that no plans were generated.
+ */
+public class PlanCache {
+
+    private final static Logger LOG = LoggerFactory.getLogger(PlanCache.class);
+
+    private static final List<String> MODEL_FILE_EXTENSIONS =
+        Arrays.asList(".tosca", ".xml", ".xsd", ".wsdl", ".meta", ".json", ".yml", ".yaml");
+
+    private final File cacheDir;
+
+    private final int maxEntries;
+
+
+    public PlanCache() {
+        this(Consts.PLANCACHEDIR, Integer.parseInt(Settings.PLANBUILDER_CACHE_SIZE));
+    }
+
+    public PlanCache(final File cacheDir, final int maxEntries) {
+        this.cacheDir = cacheDir;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return this.maxEntries > 0;
+    }
+
+    /**
+     * Computes the cache key of the plans generated for the given CSAR by the installed PlanBuilder.
+     *
+     * @param csarContent the content of the CSAR
+     * @return a hex encoded SHA-256 digest
+     * @throws SystemException if a file of the CSAR can't be read
+     */
+    public String computeKey(final CSARContent csarContent) throws SystemException {
+        final MessageDigest digest = newDigest();
+
+        // the name of the CSAR is part of the generated plans
+        update(digest, "csar:" + csarContent.getCSARID().getFileName());
+
+        for (final String bundle : new PluginRegistry().getPluginBundleVersions()) {
+            update(digest, "bundle:" + bundle);
+        }
+        update(digest, "bundle:" + toVersionString(FrameworkUtil.getBundle(PlanCache.class)));
+        update(digest, "bundle:" + toVersionString(FrameworkUtil.getBundle(BPELBuildProcessBuilder.class)));
+
+        final Map<String, AbstractFile> files = new TreeMap<>();
+        for (final AbstractFile file : csarContent.getFilesRecursively()) {
+            files.put(file.getPath().replace('\\', '/'), file);
+        }
+
+        final byte[] buffer = new byte[8192];
+        for (final Map.Entry<String, AbstractFile> entry : files.entrySet()) {
+            update(digest, "file:" + entry.getKey());
+            if (isModelFile(entry.getKey())) {
+                try (InputStream in = new DigestInputStream(entry.getValue().getFileAsInputStream(), digest)) {
+                    while (in.read(buffer) != -1) {
+                        // the stream updates the digest
+                    }
+                }
+                catch (final IOException e) {
+                    throw new SystemException("Could not read file \"" + entry.getKey() + "\" of CSAR \""
+                        + csarContent.getCSARID() + "\".", e);
+                }
+            }
+        }
+
+        final StringBuilder key = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Copies the cached plan generation result for the given key to a new temporary directory.
+     *
+     * @param key the cache key computed with {@link #computeKey(CSARContent)}
+     * @return the directory containing the cached files, it is empty if no plans were generated, or
+     *         null if the cache has no entry for the key
+     */
+    public File get(final String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        final File entry = new File(this.cacheDir, key);
+        if (!entry.isDirectory()) {
+            LOG.debug("No cached plans found for key {}", key);
+            return null;
+        }
+
+        try {
+            final File directory = Files.createTempDirectory("opentosca-plans").toFile();
+            FileUtils.copyDirectory(entry, directory);
+            // remember the usage for the eviction of the least recently used entries
+            entry.setLastModified(System.currentTimeMillis());
+            LOG.debug("Found cached plans for key {}", key);
+            return directory;
+        }
+        catch (final IOException e) {
+            LOG.warn("Could not read cached plans for key {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores a plan generation result in the cache.
+     *
+     * @param key the cache key computed with {@link #computeKey(CSARContent)}
+     * @param directory the directory containing the files written by the exporter or null if no plans
+     *        were generated
+     */
+    public void put(final String key, final File directory) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final File entry = new File(this.cacheDir, key);
+        File tempEntry = null;
+        try {
+            this.cacheDir.mkdirs();
+            // entries are written aside and moved into place, so concurrent imports of the same CSAR
+            // never see a partially written entry
+            tempEntry = Files.createTempDirectory(this.cacheDir.toPath(), ".tmp-").toFile();
+            if (directory != null) {
+                FileUtils.copyDirectory(directory, tempEntry);
+            }
+            Files.move(tempEntry.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Cached plans for key {}", key);
+        }
+        catch (final IOException e) {
+            if (!entry.isDirectory()) {
+                LOG.warn("Could not cache plans for key {}: {}", key, e.getMessage());
+            }
+        }
+        finally {
+            FileUtils.deleteQuietly(tempEntry);
+        }
+
+        evict();
+    }
+
+    private void evict() {
+        final File[] entries = this.cacheDir.listFiles(file -> file.isDirectory() && !file.getName().startsWith("."));
+        if (entries == null || entries.length <= this.maxEntries) {
+            return;
+        }
+
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < entries.length - this.maxEntries; i++) {
+            LOG.debug("Evicting cached plans {}", entries[i].getName());
+            FileUtils.deleteQuietly(entries[i]);
+        }
+    }
+
+    private boolean isModelFile(final String path) {
+        final String lowerCasePath = path.toLowerCase();
+        return lowerCasePath.startsWith("definitions/") || lowerCasePath.startsWith("tosca-metadata/")
+            || lowerCasePath.startsWith("selfservice-metadata/")
+            || MODEL_FILE_EXTENSIONS.stream().anyMatch(lowerCasePath::endsWith);
+    }
+
+    private static String toVersionString(final Bundle bundle) {
+        return Objects.isNull(bundle) ? "none" : bundle.getSymbolicName() + "_" + bundle.getVersion();
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
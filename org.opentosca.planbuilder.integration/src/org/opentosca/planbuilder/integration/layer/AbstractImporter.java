@@ -3,6 +3,12 @@ package org.opentosca.planbuilder.integration.layer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import javax.xml.namespace.QName;
 
@@ -35,6 +41,7 @@ import org.opentosca.planbuilder.model.tosca.AbstractServiceTemplate;
  */
 public abstract class AbstractImporter {
 
+    private static final ForkJoinPool PLAN_BUILDER_POOL = createPlanBuilderPool();
 
     protected AbstractPlan buildAdaptationPlan(final String csarName, final AbstractDefinitions definitions,
                                                final QName serviceTemplateId,
@@ -69,7 +76,9 @@ public abstract class AbstractImporter {
     }
 
     /**
-     * Generates Plans for ServiceTemplates inside the given Definitions document
+     * Generates Plans for ServiceTemplates inside the given Definitions document. The plan builders
+     * run in parallel for every plan type and ServiceTemplate, the returned plans are ordered by plan
+     * type and ServiceTemplate as if they were generated one after another.
      *
      * @param defs an AbstractDefinitions
      * @param csarName the FileName of the CSAR the given Definitions is contained in
@@ -77,15 +86,16 @@ public abstract class AbstractImporter {
      */
     public List<AbstractPlan> buildPlans(final AbstractDefinitions defs, final String csarName) {
 
-        final List<AbstractPlan> plans = new ArrayList<>();
-
-        AbstractSimplePlanBuilder buildPlanBuilder = new BPELBuildProcessBuilder();
-        final BPELSituationAwareBuildProcessBuilder sitAwareBuilder = new BPELSituationAwareBuildProcessBuilder();
-
-        if (!sitAwareBuilder.buildPlans(csarName, defs).isEmpty()) {
-            buildPlanBuilder = sitAwareBuilder;
-        }
-
+        // the situation-aware plans are generated together with the other plans, they replace the
+        // regular build plans if there are any, otherwise the regular build plans are generated
+        final CompletableFuture<List<AbstractPlan>> sitAwarePlans =
+            buildPlansAsync(BPELSituationAwareBuildProcessBuilder::new, defs, csarName);
+        final CompletableFuture<List<AbstractPlan>> buildPlans = sitAwarePlans.thenCompose(plans -> {
+            if (!plans.isEmpty()) {
+                return CompletableFuture.completedFuture(plans);
+            }
+            return buildPlansAsync(BPELBuildProcessBuilder::new, defs, csarName);
+        });
 
         // FIXME: This does not work for me (Michael W. - 2018-02-19)
         // if (!this.hasPolicies(defs)) {
@@ -100,25 +110,78 @@ public abstract class AbstractImporter {
         // buildPlanBuilder = new PolicyAwareBPELBuildProcessBuilder();
         // }
 
-        final AbstractSimplePlanBuilder terminationPlanBuilder = new BPELTerminationProcessBuilder();
-        final AbstractSimplePlanBuilder scalingPlanBuilder = new BPELScaleOutProcessBuilder();
+        final List<CompletableFuture<List<AbstractPlan>>> results = new ArrayList<>();
+        results.add(buildPlansAsync(BPELScaleOutProcessBuilder::new, defs, csarName));
+        results.add(buildPlans);
+        results.add(buildPlansAsync(BPELTerminationProcessBuilder::new, defs, csarName));
+        results.add(buildPlansAsync(BPELFreezeProcessBuilder::new, defs, csarName));
+        results.add(buildPlansAsync(BPELDefrostProcessBuilder::new, defs, csarName));
+        results.add(buildPlansAsync(BPELBackupManagementProcessBuilder::new, defs, csarName));
+        results.add(buildPlansAsync(BPELTestManagementProcessBuilder::new, defs, csarName));
 
-        final AbstractSimplePlanBuilder freezePlanBuilder = new BPELFreezeProcessBuilder();
-        final AbstractSimplePlanBuilder defreezePlanBuilder = new BPELDefrostProcessBuilder();
+        final List<AbstractPlan> plans = new ArrayList<>();
+        for (final CompletableFuture<List<AbstractPlan>> result : results) {
+            plans.addAll(join(result));
+        }
+        return plans;
+    }
 
-        final AbstractSimplePlanBuilder backupPlanBuilder = new BPELBackupManagementProcessBuilder();
-        final AbstractSimplePlanBuilder testPlanBuilder = new BPELTestManagementProcessBuilder();
+    /**
+     * Runs a new plan builder for every ServiceTemplate of the given Definitions on the plan builder
+     * pool.
+     */
+    private CompletableFuture<List<AbstractPlan>> buildPlansAsync(final Supplier<AbstractSimplePlanBuilder> builder,
+                                                                  final AbstractDefinitions defs,
+                                                                  final String csarName) {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        final List<CompletableFuture<List<AbstractPlan>>> results = new ArrayList<>();
+        for (final AbstractServiceTemplate serviceTemplate : defs.getServiceTemplates()) {
+            final AbstractDefinitions serviceTemplateDefs = new ServiceTemplateDefinitions(defs, serviceTemplate);
+            results.add(CompletableFuture.supplyAsync(() -> {
+                final Thread thread = Thread.currentThread();
+                final ClassLoader previous = thread.getContextClassLoader();
+                // plugins resolve resources with the context class loader of the calling thread
+                thread.setContextClassLoader(contextClassLoader);
+                try {
+                    return builder.get().buildPlans(csarName, serviceTemplateDefs);
+                }
+                finally {
+                    thread.setContextClassLoader(previous);
+                }
+            }, PLAN_BUILDER_POOL));
+        }
 
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[results.size()])).thenApply(v -> {
+            final List<AbstractPlan> plans = new ArrayList<>();
+            results.forEach(result -> plans.addAll(result.join()));
+            return plans;
+        });
+    }
 
-        plans.addAll(scalingPlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(buildPlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(terminationPlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(freezePlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(defreezePlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(backupPlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(testPlanBuilder.buildPlans(csarName, defs));
+    private static List<AbstractPlan> join(final CompletableFuture<List<AbstractPlan>> result) {
+        try {
+            return result.join();
+        }
+        catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
 
-        return plans;
+    private static ForkJoinPool createPlanBuilderPool() {
+        final AtomicInteger count = new AtomicInteger();
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("planbuilder-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
     }
 
     private boolean hasPolicies(final AbstractDefinitions defs) {
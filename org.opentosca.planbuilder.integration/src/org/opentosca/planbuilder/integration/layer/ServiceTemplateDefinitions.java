@@ -0,0 +1,103 @@
+package org.opentosca.planbuilder.integration.layer;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import org.opentosca.planbuilder.model.tosca.AbstractArtifactReference;
+import org.opentosca.planbuilder.model.tosca.AbstractArtifactTemplate;
+import org.opentosca.planbuilder.model.tosca.AbstractArtifactType;
+import org.opentosca.planbuilder.model.tosca.AbstractDefinitions;
+import org.opentosca.planbuilder.model.tosca.AbstractNodeType;
+import org.opentosca.planbuilder.model.tosca.AbstractNodeTypeImplementation;
+import org.opentosca.planbuilder.model.tosca.AbstractPolicyTemplate;
+import org.opentosca.planbuilder.model.tosca.AbstractPolicyType;
+import org.opentosca.planbuilder.model.tosca.AbstractRelationshipType;
+import org.opentosca.planbuilder.model.tosca.AbstractRelationshipTypeImplementation;
+import org.opentosca.planbuilder.model.tosca.AbstractServiceTemplate;
+
+/**
+ * A view on a Definitions document which contains only one of its ServiceTemplates. It allows to run
+ * a plan builder for each ServiceTemplate of a Definitions document separately.
+ */
+class ServiceTemplateDefinitions extends AbstractDefinitions {
+
+    private final AbstractDefinitions definitions;
+    private final List<AbstractServiceTemplate> serviceTemplates;
+
+
+    ServiceTemplateDefinitions(final AbstractDefinitions definitions, final AbstractServiceTemplate serviceTemplate) {
+        this.definitions = definitions;
+        this.serviceTemplates = Collections.singletonList(serviceTemplate);
+    }
+
+    @Override
+    public String getId() {
+        return this.definitions.getId();
+    }
+
+    @Override
+    public String getName() {
+        return this.definitions.getName();
+    }
+
+    @Override
+    public List<AbstractServiceTemplate> getServiceTemplates() {
+        return this.serviceTemplates;
+    }
+
+    @Override
+    public List<AbstractNodeType> getNodeTypes() {
+        return this.definitions.getNodeTypes();
+    }
+
+    @Override
+    public List<AbstractNodeTypeImplementation> getNodeTypeImplementations() {
+        return this.definitions.getNodeTypeImplementations();
+    }
+
+    @Override
+    public List<AbstractRelationshipType> getRelationshipTypes() {
+        return this.definitions.getRelationshipTypes();
+    }
+
+    @Override
+    public List<AbstractArtifactTemplate> getArtifactTemplates() {
+        return this.definitions.getArtifactTemplates();
+    }
+
+    @Override
+    public String getTargetNamespace() {
+        return this.definitions.getTargetNamespace();
+    }
+
+    @Override
+    public List<AbstractDefinitions> getImportedDefinitions() {
+        return this.definitions.getImportedDefinitions();
+    }
+
+    @Override
+    public File getAbsolutePathOfArtifactReference(final AbstractArtifactReference ref) {
+        return this.definitions.getAbsolutePathOfArtifactReference(ref);
+    }
+
+    @Override
+    public List<AbstractRelationshipTypeImplementation> getRelationshipTypeImplementations() {
+        return this.definitions.getRelationshipTypeImplementations();
+    }
+
+    @Override
+    public List<AbstractArtifactType> getArtifactTypes() {
+        return this.definitions.getArtifactTypes();
+    }
+
+    @Override
+    public List<AbstractPolicyType> getPolicyTypes() {
+        return this.definitions.getPolicyTypes();
+    }
+
+    @Override
+    public List<AbstractPolicyTemplate> getPolicyTemplates() {
+        return this.definitions.getPolicyTemplates();
+    }
+}
@@ -10,12 +10,12 @@ import java.net.URL;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.osgi.framework.FrameworkUtil;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -35,7 +35,7 @@ import org.xml.sax.SAXException;
 public class Fragments {
 
     private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
+    private final ThreadLocalDocumentBuilder docBuilder;
 
 
     /**
@@ -46,7 +46,7 @@ public class Fragments {
     public Fragments() throws ParserConfigurationException {
         this.docFactory = DocumentBuilderFactory.newInstance();
         this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        this.docBuilder = new ThreadLocalDocumentBuilder();
     }
 
     /**
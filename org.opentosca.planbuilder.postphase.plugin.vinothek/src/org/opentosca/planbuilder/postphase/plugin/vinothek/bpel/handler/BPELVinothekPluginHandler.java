@@ -18,7 +18,6 @@ import java.util.zip.ZipFile;
 
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
@@ -41,6 +40,7 @@ import org.opentosca.planbuilder.model.tosca.AbstractDeploymentArtifact;
 import org.opentosca.planbuilder.model.tosca.AbstractNodeTemplate;
 import org.opentosca.planbuilder.model.tosca.AbstractNodeTypeImplementation;
 import org.opentosca.planbuilder.model.utils.ModelUtils;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.opentosca.planbuilder.postphase.plugin.vinothek.bpel.BPELVinothekPlugin;
 import org.opentosca.planbuilder.postphase.plugin.vinothek.core.handler.VinothekPluginHandler;
 import org.osgi.framework.FrameworkUtil;
@@ -67,12 +67,12 @@ public class BPELVinothekPluginHandler implements VinothekPluginHandler<BPELPlan
 
     private final CSARHandler csarHandler = new CSARHandler();
     private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
+    private final ThreadLocalDocumentBuilder docBuilder;
 
     public BPELVinothekPluginHandler() throws ParserConfigurationException {
         this.docFactory = DocumentBuilderFactory.newInstance();
         this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        this.docBuilder = new ThreadLocalDocumentBuilder();
     }
 
     private Node createSelfserviceApplicationUrlAssign(final String serverIpVarName, final String applicationName,
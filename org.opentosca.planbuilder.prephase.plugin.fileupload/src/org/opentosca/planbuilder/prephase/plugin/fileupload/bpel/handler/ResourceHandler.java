@@ -6,12 +6,12 @@ import java.io.StringReader;
 import java.net.URL;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,7 +35,7 @@ public class ResourceHandler {
     private final static Logger LOG = LoggerFactory.getLogger(ResourceHandler.class);
 
     private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
+    private final ThreadLocalDocumentBuilder docBuilder;
 
     /**
      * Constructor
@@ -45,7 +45,7 @@ public class ResourceHandler {
     public ResourceHandler() throws ParserConfigurationException {
         this.docFactory = DocumentBuilderFactory.newInstance();
         this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        this.docBuilder = new ThreadLocalDocumentBuilder();
 
     }
 
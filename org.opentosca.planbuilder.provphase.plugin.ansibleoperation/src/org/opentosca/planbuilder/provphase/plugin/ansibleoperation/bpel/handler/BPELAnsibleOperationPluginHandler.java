@@ -8,7 +8,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -28,6 +27,7 @@ import org.opentosca.planbuilder.model.tosca.AbstractParameter;
 import org.opentosca.planbuilder.plugins.context.PlanContext;
 import org.opentosca.planbuilder.plugins.context.PropertyVariable;
 import org.opentosca.planbuilder.plugins.context.Variable;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.opentosca.planbuilder.provphase.plugin.ansibleoperation.core.handler.AnsibleOperationPluginHandler;
 import org.opentosca.planbuilder.provphase.plugin.invoker.bpel.BPELInvokerPlugin;
 import org.osgi.framework.FrameworkUtil;
@@ -58,13 +58,13 @@ public class BPELAnsibleOperationPluginHandler implements AnsibleOperationPlugin
     private final BPELInvokerPlugin invokerPlugin = new BPELInvokerPlugin();
 
     private DocumentBuilderFactory docFactory;
-    private DocumentBuilder docBuilder;
+    private ThreadLocalDocumentBuilder docBuilder;
 
     public BPELAnsibleOperationPluginHandler() {
         try {
             this.docFactory = DocumentBuilderFactory.newInstance();
             this.docFactory.setNamespaceAware(true);
-            this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            this.docBuilder = new ThreadLocalDocumentBuilder();
         }
         catch (final ParserConfigurationException e) {
             e.printStackTrace();
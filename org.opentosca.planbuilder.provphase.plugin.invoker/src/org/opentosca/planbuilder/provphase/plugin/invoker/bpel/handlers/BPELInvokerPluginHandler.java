@@ -11,7 +11,6 @@ import java.util.Map;
 import java.util.Objects;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -34,6 +33,7 @@ import org.opentosca.planbuilder.model.tosca.AbstractParameter;
 import org.opentosca.planbuilder.plugins.context.PlanContext;
 import org.opentosca.planbuilder.plugins.context.PropertyVariable;
 import org.opentosca.planbuilder.plugins.context.Variable;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,7 +52,7 @@ public class BPELInvokerPluginHandler {
     private BPELProcessFragments bpelFrags;
     private DocumentBuilderFactory docFactory;
 
-    private DocumentBuilder docBuilder;
+    private ThreadLocalDocumentBuilder docBuilder;
 
     public BPELInvokerPluginHandler() {
         try {
@@ -60,7 +60,7 @@ public class BPELInvokerPluginHandler {
             this.bpelFrags = new BPELProcessFragments();
             this.docFactory = DocumentBuilderFactory.newInstance();
             this.docFactory.setNamespaceAware(true);
-            this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            this.docBuilder = new ThreadLocalDocumentBuilder();
         }
         catch (final ParserConfigurationException e) {
             BPELInvokerPluginHandler.LOG.error("Couldn't initialize ResourceHandler", e);
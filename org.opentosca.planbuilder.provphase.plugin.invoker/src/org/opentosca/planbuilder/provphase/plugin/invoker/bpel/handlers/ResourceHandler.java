@@ -11,7 +11,6 @@ import java.nio.file.Files;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -19,6 +18,7 @@ import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
 import org.opentosca.planbuilder.core.bpel.fragments.BPELProcessFragments;
 import org.opentosca.planbuilder.plugins.context.Variable;
+import org.opentosca.planbuilder.plugins.utils.ThreadLocalDocumentBuilder;
 import org.opentosca.planbuilder.provphase.plugin.invoker.Activator;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
@@ -41,7 +41,7 @@ public class ResourceHandler {
     private final static Logger LOG = LoggerFactory.getLogger(ResourceHandler.class);
 
     private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
+    private final ThreadLocalDocumentBuilder docBuilder;
     
     private final BPELProcessFragments fragments;
 
@@ -53,7 +53,7 @@ public class ResourceHandler {
     public ResourceHandler() throws ParserConfigurationException {
         this.docFactory = DocumentBuilderFactory.newInstance();
         this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        this.docBuilder = new ThreadLocalDocumentBuilder();
         this.fragments = new BPELProcessFragments();
     }
     
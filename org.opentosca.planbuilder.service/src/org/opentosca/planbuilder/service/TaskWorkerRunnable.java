@@ -28,6 +28,7 @@ import org.apache.http.entity.mime.content.ContentBody;
 import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.entity.mime.content.StringBody;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
 import org.json.simple.JSONObject;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.service.IHTTPService;
@@ -234,6 +235,8 @@ public class TaskWorkerRunnable implements Runnable {
             }
 
             final org.apache.http.Header planLocationHeader = createPlanResponse.getHeaders("Location")[0];
+            // release the pooled connection, only status and headers are needed
+            EntityUtils.consumeQuietly(createPlanResponse.getEntity());
 
             String planLocation = planLocationHeader.getValue();
             // Remove trailing slash
@@ -254,6 +257,7 @@ public class TaskWorkerRunnable implements Runnable {
                 mpEntity.addPart("file", cb);
 
                 final HttpResponse uploadResponse = openToscaHttpService.Put(planLocation + "/file", mpEntity.build());
+                EntityUtils.consumeQuietly(uploadResponse.getEntity());
                 if (uploadResponse.getStatusLine().getStatusCode() >= 300) {
                     // we assume ,if the status code ranges from 300 to 5xx , that
                     // an error occured
@@ -308,6 +312,7 @@ public class TaskWorkerRunnable implements Runnable {
 
                     final HttpResponse optionsResponse =
                         openToscaHttpService.Post(optionsUrl.toString(), multipartBuilder.build());
+                    EntityUtils.consumeQuietly(optionsResponse.getEntity());
 
                     if (optionsResponse.getStatusLine().getStatusCode() >= 300) {
                         // we assume ,if the status code ranges from 300 to 5xx , that
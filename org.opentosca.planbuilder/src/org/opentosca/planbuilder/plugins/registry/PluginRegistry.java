@@ -1,7 +1,10 @@
 package org.opentosca.planbuilder.plugins.registry;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import org.opentosca.planbuilder.AbstractPlanBuilder;
 import org.opentosca.planbuilder.model.tosca.AbstractNodeTemplate;
@@ -18,6 +21,7 @@ import org.opentosca.planbuilder.plugins.typebased.IPlanBuilderPostPhasePlugin;
 import org.opentosca.planbuilder.plugins.typebased.IPlanBuilderPrePhasePlugin;
 import org.opentosca.planbuilder.plugins.typebased.IPlanBuilderTypePlugin;
 import org.opentosca.planbuilder.plugins.typebased.IScalingPlanBuilderSelectionPlugin;
+import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
@@ -34,6 +38,13 @@ import org.osgi.framework.ServiceReference;
  */
 public class PluginRegistry {
 
+    private static final List<Class<?>> PLUGIN_TYPES =
+        Arrays.asList(IPlanBuilderTypePlugin.class, IPlanBuilderPrePhasePlugin.class,
+                      IPlanBuilderProvPhaseOperationPlugin.class, IPlanBuilderPrePhaseIAPlugin.class,
+                      IPlanBuilderPrePhaseDAPlugin.class, IPlanBuilderPostPhasePlugin.class,
+                      IScalingPlanBuilderSelectionPlugin.class, IPlanBuilderPolicyAwareTypePlugin.class,
+                      IPlanBuilderPolicyAwarePostPhasePlugin.class, IPlanBuilderPolicyAwarePrePhasePlugin.class);
+
     private BundleContext getCtx() {
         return Activator.ctx;
     }
@@ -294,6 +305,40 @@ public class PluginRegistry {
         return plugins;
     }
 
+    /**
+     * Returns the symbolic names and versions of the PlanBuilder bundle and all bundles providing
+     * plugins. Together they determine which plans are generated for a topology.
+     *
+     * @return a sorted Set of Strings of the form "symbolicName_version"
+     */
+    public SortedSet<String> getPluginBundleVersions() {
+        final SortedSet<String> versions = new TreeSet<>();
+        final BundleContext ctx = getCtx();
+        versions.add(toVersionString(ctx.getBundle()));
+
+        for (final Class<?> pluginType : PLUGIN_TYPES) {
+            try {
+                final ServiceReference<?>[] refs = ctx.getAllServiceReferences(pluginType.getName(), null);
+
+                if (refs != null) {
+                    for (final ServiceReference<?> ref : refs) {
+                        if (ref.getBundle() != null) {
+                            versions.add(toVersionString(ref.getBundle()));
+                        }
+                    }
+                }
+            }
+            catch (final InvalidSyntaxException e) {
+                e.printStackTrace();
+            }
+        }
+        return versions;
+    }
+
+    private String toVersionString(final Bundle bundle) {
+        return bundle.getSymbolicName() + "_" + bundle.getVersion();
+    }
+
     public boolean canTypePluginHandleCreate(final AbstractNodeTemplate nodeTemplate) {
         if (this.findTypePluginForCreation(nodeTemplate) != null) {
             return true;
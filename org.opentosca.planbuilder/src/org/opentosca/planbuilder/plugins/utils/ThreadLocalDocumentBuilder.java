@@ -0,0 +1,66 @@
+package org.opentosca.planbuilder.plugins.utils;
+
+import java.io.IOException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * A {@link DocumentBuilder} which can be shared between threads. A DocumentBuilder itself isn't
+ * thread-safe, but plugins and handlers are used by plan builders running concurrently, therefore
+ * every thread gets its own DocumentBuilder.
+ */
+public class ThreadLocalDocumentBuilder {
+
+    private final DocumentBuilderFactory factory;
+
+    private final ThreadLocal<DocumentBuilder> builder = ThreadLocal.withInitial(this::newDocumentBuilder);
+
+
+    /**
+     * Creates a ThreadLocalDocumentBuilder which isn't namespace aware
+     *
+     * @throws ParserConfigurationException is thrown when the DocumentBuilder can't be created
+     */
+    public ThreadLocalDocumentBuilder() throws ParserConfigurationException {
+        this(false);
+    }
+
+    /**
+     * Creates a ThreadLocalDocumentBuilder
+     *
+     * @param namespaceAware whether the parser is namespace aware
+     * @throws ParserConfigurationException is thrown when the DocumentBuilder can't be created
+     */
+    public ThreadLocalDocumentBuilder(final boolean namespaceAware) throws ParserConfigurationException {
+        this.factory = DocumentBuilderFactory.newInstance();
+        this.factory.setNamespaceAware(namespaceAware);
+        // fail early on a broken configuration
+        this.builder.set(this.factory.newDocumentBuilder());
+    }
+
+    public Document parse(final InputSource is) throws SAXException, IOException {
+        return this.builder.get().parse(is);
+    }
+
+    public Document newDocument() {
+        return this.builder.get().newDocument();
+    }
+
+    private DocumentBuilder newDocumentBuilder() {
+        // DocumentBuilderFactory isn't thread-safe either
+        synchronized (this.factory) {
+            try {
+                return this.factory.newDocumentBuilder();
+            }
+            catch (final ParserConfigurationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}